@@ -0,0 +1,115 @@
+package com.library.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmarks JSON against the binary formats CBOR and Smile for a page of books.
+ * The factories are configured like the message converters of the application, CBOR with string
+ * references and Smile with shared names and string values. Writes the page streamed to an output
+ * stream, as the message converters do for a response, and reads it back, as for a request body.
+ *
+ * The payload size of each format, plain and gzip-compressed as by the server, is reported as the
+ * secondary results {@code bytes} and {@code gzipBytes} next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BinaryFormatBenchmark {
+
+    private static final TypeReference<List<BookDTO>> BOOK_LIST = new TypeReference<>() { };
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private String format;
+
+    @Param({"1000"})
+    private int books;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<BookDTO> page;
+    private byte[] payload;
+    private int gzipLength;
+
+    /**
+     * Reports the payload size of the format with the results of each benchmark.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytes;
+        public long gzipBytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "CBOR" -> CBORFactory.builder().enable(CBORGenerator.Feature.STRINGREF).build();
+            case "SMILE" -> SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build();
+            default -> new JsonFactory();
+        };
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().factory(factory);
+        writer = builder.build().writerFor(BOOK_LIST);
+        reader = builder.build().readerFor(BOOK_LIST);
+
+        page = new ArrayList<>(books);
+        for (int i = 0; i < books; i++) {
+            page.add(new BookDTO((long) i + 1, "Benchmark Book " + i, i % 2 == 0 ? "Fiction" : "History",
+                    BigDecimal.valueOf(999 + i % 9000, 2), (long) i % 100 + 1));
+        }
+        payload = writer.writeValueAsBytes(page);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(payload);
+        }
+        gzipLength = compressed.size();
+    }
+
+    @Benchmark
+    public OutputStream serialize(PayloadSize size) throws IOException {
+        report(size);
+        OutputStream out = OutputStream.nullOutputStream();
+        writer.writeValue(out, page);
+        return out;
+    }
+
+    @Benchmark
+    public List<BookDTO> deserialize(PayloadSize size) throws IOException {
+        report(size);
+        return reader.readValue(payload);
+    }
+
+    private void report(PayloadSize size) {
+        size.bytes = payload.length;
+        size.gzipBytes = gzipLength;
+    }
+}
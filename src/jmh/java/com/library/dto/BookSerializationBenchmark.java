@@ -0,0 +1,60 @@
+package com.library.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the JSON serialization of a large list of books.
+ * Uses an object mapper configured like the one of the application, and writes the list once into
+ * a byte array and once streamed to an output stream, as the message converters do for a response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookSerializationBenchmark {
+
+    private static final int BOOKS = 10_000;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private List<BookDTO> books;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(new TypeReference<List<BookDTO>>() { });
+        books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(new BookDTO((long) i + 1, "Benchmark Book " + i, "Fiction",
+                    BigDecimal.valueOf(999 + i % 9000, 2), (long) i % 100 + 1));
+        }
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public OutputStream toStream() throws IOException {
+        OutputStream out = OutputStream.nullOutputStream();
+        listWriter.writeValue(out, books);
+        return out;
+    }
+}
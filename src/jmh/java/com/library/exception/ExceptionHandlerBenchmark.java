@@ -0,0 +1,76 @@
+package com.library.exception;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.library.controller.BookController;
+import com.library.dto.BookDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the error paths of {@link GlobalExceptionHandler}.
+ * Each benchmark creates the exception like the failing service or controller would, including
+ * its stack trace, lets the handler map it and writes the error response as JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private ObjectWriter errorWriter;
+    private MethodParameter bookParameter;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        errorWriter = Jackson2ObjectMapperBuilder.json().build().writerFor(ErrorResponse.class);
+        bookParameter = new MethodParameter(BookController.class.getMethod("createBook", BookDTO.class), 0);
+    }
+
+    @Benchmark
+    public byte[] resourceNotFound() throws IOException {
+        return write(handler.handleResourceNotFound(new ResourceNotFoundException("Book not found")));
+    }
+
+    @Benchmark
+    public byte[] businessRule() throws IOException {
+        return write(handler.handleBusinessException(new BusinessException("Book is already loaned")));
+    }
+
+    @Benchmark
+    public byte[] validation() throws IOException {
+        BeanPropertyBindingResult result = new BeanPropertyBindingResult(new BookDTO(), "bookDTO");
+        result.addError(new FieldError("bookDTO", "title", "Title is required"));
+        return write(handler.handleValidationExceptions(new MethodArgumentNotValidException(bookParameter, result)));
+    }
+
+    @Benchmark
+    public byte[] uniqueTitleViolation() throws IOException {
+        return write(handler.handleDataIntegrityViolation(new DataIntegrityViolationException(
+                "could not execute statement; constraint [uk_book_title_author]")));
+    }
+
+    @Benchmark
+    public byte[] activeLoanViolation() throws IOException {
+        return write(handler.handleDataIntegrityViolation(new DataIntegrityViolationException(
+                "could not execute statement; constraint [uk_loan_active_book]")));
+    }
+
+    private byte[] write(ResponseEntity<ErrorResponse> response) throws IOException {
+        return errorWriter.writeValueAsBytes(response.getBody());
+    }
+}
@@ -0,0 +1,105 @@
+package com.library.repository;
+
+import com.library.LibraryManagementApplication;
+import com.library.domain.Author;
+import com.library.domain.Book;
+import com.library.dto.BookDTO;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the DTO projection read queries of {@link BookRepository}.
+ * Reads the same page of books once by loading managed entities and copying their fields, and once
+ * with the constructor expression query of the repository, against an embedded H2 database.
+ * The gc profiler reports the bytes allocated per page of both paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadProjectionBenchmark {
+
+    private static final int BOOKS = 2_000;
+    private static final int PAGE_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibraryManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.flyway.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        bookRepository = context.getBean(BookRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        Author author = new Author();
+        author.setName("Benchmark Author");
+        author.setDateOfBirth(LocalDate.of(1970, 1, 1));
+        Long authorId = context.getBean(AuthorRepository.class).save(author).getId();
+        List<BookDTO> books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(new BookDTO(null, "Benchmark Book " + i, "Fiction", new BigDecimal("9.99"), authorId));
+        }
+        transactionTemplate.executeWithoutResult(status -> bookRepository.insertBooks(books));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Reads a page of books as managed entities and copies them into DTOs.
+     */
+    @Benchmark
+    public List<BookDTO> entities() {
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("select b from Book b where b.id > :afterId order by b.id", Book.class)
+                .setParameter("afterId", 0L)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList().stream()
+                .map(book -> new BookDTO(book.getId(), book.getTitle(), book.getGenre(), book.getPrice(),
+                        book.getAuthor().getId()))
+                .toList());
+    }
+
+    /**
+     * Reads a page of books with the DTO projection query.
+     */
+    @Benchmark
+    public List<BookDTO> projection() {
+        return transactionTemplate.execute(status ->
+                bookRepository.findPageOrderById(0L, PageRequest.of(0, PAGE_SIZE)));
+    }
+}
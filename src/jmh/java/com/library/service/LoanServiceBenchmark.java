@@ -0,0 +1,119 @@
+package com.library.service;
+
+import com.library.LibraryManagementApplication;
+import com.library.dto.AuthorDTO;
+import com.library.dto.BookDTO;
+import com.library.dto.LoanDTO;
+import com.library.dto.MemberDTO;
+import com.library.exception.BusinessException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for lending and returning books through {@link LoanService}.
+ * Starts the application without a web server against an embedded H2 database, with and without
+ * the {@link LoanStateIndex}, and measures a full lend and return cycle as well as a loan request
+ * rejected because the book is already on loan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoanServiceBenchmark {
+
+    private static final int BOOKS = 100;
+
+    @Param({"false", "true"})
+    public String stateIndex;
+
+    private ConfigurableApplicationContext context;
+    private LoanService loanService;
+    private long memberId;
+    private long[] bookIds;
+    private LoanDTO rejectedLoan;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibraryManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.flyway.enabled=false",
+                        // The single-statement loan admission query is PostgreSQL-only
+                        "library.loans.single-statement-admission=false",
+                        "library.loans.state-index.enabled=" + stateIndex,
+                        "logging.level.root=WARN")
+                .run();
+        loanService = context.getBean(LoanService.class);
+
+        AuthorDTO author = new AuthorDTO(null, "Benchmark Author", LocalDate.of(1970, 1, 1));
+        Long authorId = context.getBean(AuthorService.class).createAuthor(author).getId();
+        BookService bookService = context.getBean(BookService.class);
+        bookIds = new long[BOOKS];
+        for (int i = 0; i < BOOKS; i++) {
+            BookDTO book = new BookDTO(null, "Benchmark Book " + i, "Fiction", new BigDecimal("9.99"), authorId);
+            bookIds[i] = bookService.createBook(book).getId();
+        }
+        MemberService memberService = context.getBean(MemberService.class);
+        memberId = memberService.createMember(member("borrower")).getId();
+
+        // A book held by another member, every loan request for it is rejected
+        Long holderId = memberService.createMember(member("holder")).getId();
+        BookDTO heldBook = new BookDTO(null, "Held Book", "Fiction", new BigDecimal("9.99"), authorId);
+        Long heldBookId = bookService.createBook(heldBook).getId();
+        loanService.createLoan(new LoanDTO(null, holderId, heldBookId, null, null, null));
+        rejectedLoan = new LoanDTO(null, memberId, heldBookId, null, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Lends the next of the books to the member and returns it again.
+     */
+    @Benchmark
+    public LoanDTO lendAndReturn() {
+        long bookId = bookIds[next++ % BOOKS];
+        LoanDTO loan = loanService.createLoan(new LoanDTO(null, memberId, bookId, null, null, null));
+        return loanService.returnBook(loan.getId());
+    }
+
+    /**
+     * Requests a loan of a book that is already on loan.
+     */
+    @Benchmark
+    public String rejectedLoan() {
+        try {
+            loanService.createLoan(rejectedLoan);
+            throw new IllegalStateException("Loan of a book on loan was admitted");
+        } catch (BusinessException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private static MemberDTO member(String username) {
+        return new MemberDTO(null, username, username + "@example.com", "1 Benchmark Street", "+1234567890");
+    }
+}
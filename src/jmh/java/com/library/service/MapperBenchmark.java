@@ -0,0 +1,85 @@
+package com.library.service;
+
+import com.library.domain.Author;
+import com.library.domain.Book;
+import com.library.domain.Loan;
+import com.library.domain.Member;
+import com.library.dto.AuthorDTO;
+import com.library.dto.BookDTO;
+import com.library.dto.LoanDTO;
+import com.library.dto.MemberDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the entity to DTO mappers of the services.
+ * The entities are detached and fully initialized, so only the copying itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private Author author;
+    private Book book;
+    private Member member;
+    private Loan loan;
+
+    @Setup
+    public void setUp() {
+        author = new Author();
+        author.setId(1L);
+        author.setName("Benchmark Author");
+        author.setDateOfBirth(LocalDate.of(1970, 1, 1));
+
+        book = new Book();
+        book.setId(2L);
+        book.setTitle("Benchmark Book");
+        book.setGenre("Fiction");
+        book.setPrice(new BigDecimal("19.99"));
+        book.setAuthor(author);
+
+        member = new Member();
+        member.setId(3L);
+        member.setUsername("benchmark");
+        member.setEmail("benchmark@example.com");
+        member.setAddress("1 Benchmark Street");
+        member.setPhoneNumber("+1234567890");
+
+        loan = new Loan();
+        loan.setId(4L);
+        loan.setMember(member);
+        loan.setBook(book);
+        loan.setLendDate(LocalDate.of(2024, 1, 1));
+        loan.setDueDate(LocalDate.of(2024, 1, 15));
+    }
+
+    @Benchmark
+    public AuthorDTO author() {
+        return AuthorService.convertToDTO(author);
+    }
+
+    @Benchmark
+    public BookDTO book() {
+        return BookService.convertToDTO(book);
+    }
+
+    @Benchmark
+    public MemberDTO member() {
+        return MemberService.convertToDTO(member);
+    }
+
+    @Benchmark
+    public LoanDTO loan() {
+        return LoanService.convertToDTO(loan);
+    }
+}
@@ -0,0 +1,399 @@
+package com.library.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop HTTP load generator running scripted scenarios against a started application.
+ * Requests are started at a fixed arrival rate, independent of how fast the application responds.
+ * The latency of a request is measured from the time it was scheduled to start, not from the time
+ * it was actually sent, so a stalled application or a lagging generator shows up in the percentiles
+ * instead of silently lowering the request rate (coordinated omission).
+ *
+ * Before the run, the generator creates its own author, books and members through the API, so it
+ * can be started against an empty database. Latencies are recorded per endpoint in HdrHistograms.
+ *
+ * Scenarios:
+ * - browse: book pages, book and author lookups, search and facets
+ * - loans: lends random books to random members and returns active loans again
+ * - signup: creates new members
+ * - catalog: book and author pages and lookups through the JPA endpoints
+ * - reactive: the same requests through the non-blocking endpoints under /api/reactive, for comparison
+ *
+ * Options, passed as --name=value:
+ * - url: base URL of the application (default http://localhost:8080)
+ * - scenarios: comma-separated scenarios, one is chosen at random per request (default browse)
+ * - rate: requests started per second (default 200)
+ * - warmup: warm-up seconds, not measured (default 10)
+ * - duration: measured seconds (default 60)
+ * - books: number of books to create before the run (default 200)
+ * - members: number of members to create before the run (default 100)
+ * - max-in-flight: requests in flight above which new requests are counted as errors instead
+ *   of being sent (default 10000)
+ * - hgrm: directory to write the full percentile distribution of every endpoint to, as .hgrm
+ *   files (default: not written)
+ * - label: name of the run in the report and the .hgrm file names (default "run")
+ */
+public final class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String[] WORDS =
+            {"river", "shadow", "garden", "winter", "empire", "silver", "ocean", "forest", "letter", "night"};
+    private static final String[] GENRES = {"Fiction", "Mystery", "Science", "History", "Poetry"};
+
+    private final HttpClient http;
+    private final URI baseUrl;
+    private final String runId;
+    private final List<Long> bookIds = new ArrayList<>();
+    private final List<Long> memberIds = new ArrayList<>();
+    private final Queue<Long> activeLoans = new ConcurrentLinkedQueue<>();
+    private final AtomicLong signups = new AtomicLong();
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxInFlight;
+    private long authorId;
+    private long measureFrom;
+    private long measureUntil;
+
+    private LoadGenerator(HttpClient http, URI baseUrl, String runId, int maxInFlight) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.runId = runId;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        URI baseUrl = URI.create(options.getOrDefault("url", "http://localhost:8080"));
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String name : options.getOrDefault("scenarios", "browse").split(",")) {
+            scenarios.add(Scenario.valueOf(name.trim().toUpperCase()));
+        }
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        long warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))).toNanos();
+        long duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))).toNanos();
+        int books = Integer.parseInt(options.getOrDefault("books", "200"));
+        int members = Integer.parseInt(options.getOrDefault("members", "100"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+        String hgrm = options.get("hgrm");
+        String label = options.getOrDefault("label", "run");
+
+        // A few threads complete all responses, the load generator must not be the bottleneck
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        LoadGenerator generator = new LoadGenerator(http, baseUrl, runId, maxInFlight);
+        generator.seed(books, members);
+        System.out.printf("%s: %s at %.0f req/s, %d s warm-up, %d s measured against %s%n",
+                label, scenarios, rate, warmup / 1_000_000_000, duration / 1_000_000_000, baseUrl);
+
+        generator.run(scenarios, rate, warmup, duration);
+        executor.shutdown();
+
+        generator.report(label, duration, System.out);
+        if (hgrm != null) {
+            generator.writeDistributions(label, Path.of(hgrm));
+        }
+    }
+
+    /**
+     * Creates the author, books and members used by the scenarios, one request at a time.
+     */
+    private void seed(int books, int members) {
+        authorId = create("/api/authors",
+                "{\"name\":\"Load Author " + runId + "\",\"dateOfBirth\":\"1970-01-01\"}");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < books; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + runId + " " + i;
+            String price = String.format("%d.%02d", random.nextInt(1, 100), random.nextInt(100));
+            bookIds.add(create("/api/books", "{\"title\":\"" + title + "\",\"genre\":\""
+                    + GENRES[i % GENRES.length] + "\",\"price\":" + price + ",\"authorId\":" + authorId + "}"));
+        }
+        for (int i = 0; i < members; i++) {
+            memberIds.add(create("/api/members", member("load-" + runId + "-" + i)));
+        }
+    }
+
+    private long create(String path, String json) {
+        HttpResponse<String> response = http.sendAsync(post(path, json), HttpResponse.BodyHandlers.ofString()).join();
+        Long id = response.statusCode() < 400 ? parseId(response.body()) : null;
+        if (id == null) {
+            throw new IllegalStateException("Creating " + path + " failed with " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return id;
+    }
+
+    /**
+     * Starts requests at the given rate until the end of the measurement, then waits for
+     * the requests still in flight.
+     */
+    private void run(List<Scenario> scenarios, double rate, long warmup, long duration) {
+        long interval = (long) (1_000_000_000 / rate);
+        long start = System.nanoTime();
+        measureFrom = start + warmup;
+        measureUntil = measureFrom + duration;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (long scheduled = start; scheduled < measureUntil; scheduled += interval) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Behind schedule, the request is sent at once and its latency includes the delay
+            Scenario scenario = scenarios.get(random.nextInt(scenarios.size()));
+            send(scenario.next(this, random), scheduled);
+        }
+        while (inFlight.get() > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private void send(Call call, long scheduled) {
+        Endpoint endpoint = endpoints.computeIfAbsent(call.endpoint(), name -> new Endpoint());
+        boolean measured = scheduled >= measureFrom;
+        if (inFlight.get() >= maxInFlight) {
+            if (measured) {
+                endpoint.errors.increment();
+            }
+            return;
+        }
+        inFlight.incrementAndGet();
+        http.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - scheduled;
+            if (error == null && response.statusCode() < 400 && call.onSuccess() != null) {
+                call.onSuccess().accept(response.body());
+            }
+            if (measured) {
+                endpoint.record(latency, error == null ? response.statusCode() : 0);
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private Call browse(ThreadLocalRandom random) {
+        return switch (random.nextInt(5)) {
+            case 0 -> new Call("GET /api/books", get("/api/books?size=20&sort=title"), null);
+            case 1 -> new Call("GET /api/books/{id}", get("/api/books/" + randomId(bookIds, random)), null);
+            case 2 -> new Call("GET /api/authors/{id}", get("/api/authors/" + authorId), null);
+            case 3 -> new Call("GET /api/books/search",
+                    get("/api/books/search?q=" + WORDS[random.nextInt(WORDS.length)].substring(0, 3)), null);
+            default -> new Call("GET /api/books/facets",
+                    get("/api/books/facets?genre=" + GENRES[random.nextInt(GENRES.length)]), null);
+        };
+    }
+
+    /**
+     * Catalog reads under the given path prefix, the same mix for the blocking and the reactive endpoints.
+     */
+    private Call catalog(ThreadLocalRandom random, String prefix) {
+        return switch (random.nextInt(4)) {
+            case 0 -> new Call("GET " + prefix + "/books", get(prefix + "/books?size=20&sort=title"), null);
+            case 1 -> new Call("GET " + prefix + "/books/{id}", get(prefix + "/books/" + randomId(bookIds, random)), null);
+            case 2 -> new Call("GET " + prefix + "/authors/{id}", get(prefix + "/authors/" + authorId), null);
+            default -> new Call("GET " + prefix + "/authors", get(prefix + "/authors?size=20&sort=name"), null);
+        };
+    }
+
+    private Call loans(ThreadLocalRandom random) {
+        Long loanId = random.nextBoolean() ? activeLoans.poll() : null;
+        if (loanId != null) {
+            return new Call("PUT /api/loans/{id}/return", HttpRequest.newBuilder(baseUrl.resolve(
+                    "/api/loans/" + loanId + "/return")).timeout(REQUEST_TIMEOUT)
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build(), null);
+        }
+        String json = "{\"memberId\":" + randomId(memberIds, random) + ",\"bookId\":" + randomId(bookIds, random) + "}";
+        return new Call("POST /api/loans", post("/api/loans", json), body -> {
+            Long id = parseId(body);
+            if (id != null) {
+                activeLoans.add(id);
+            }
+        });
+    }
+
+    private Call signup() {
+        String username = "signup-" + runId + "-" + signups.incrementAndGet();
+        return new Call("POST /api/members", post("/api/members", member(username)), null);
+    }
+
+    private void report(String label, long duration, PrintStream out) {
+        double seconds = duration / 1e9;
+        out.printf("%s: %-28s %9s %9s %7s %7s %9s %9s %9s %9s %9s%n", label, "endpoint", "requests", "req/s",
+                "4xx", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        long totalRejected = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            total.add(endpoint.latencies);
+            totalRejected += endpoint.rejected.sum();
+            totalErrors += endpoint.errors.sum();
+            printLine(out, label, entry.getKey(), endpoint.latencies, endpoint.rejected.sum(),
+                    endpoint.errors.sum(), seconds);
+        }
+        printLine(out, label, "total", total, totalRejected, totalErrors, seconds);
+    }
+
+    private static void printLine(PrintStream out, String label, String name, Histogram latencies,
+                                  long rejected, long errors, double seconds) {
+        long requests = latencies.getTotalCount() + errors;
+        out.printf("%s: %-28s %9d %9.0f %7d %6.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n", label, name, requests,
+                requests / seconds, rejected, requests == 0 ? 0 : 100.0 * errors / requests,
+                millis(latencies, 50), millis(latencies, 90), millis(latencies, 99), millis(latencies, 99.9),
+                latencies.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private void writeDistributions(String label, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            String name = label + "-" + entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name)))) {
+                entry.getValue().latencies.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println(label + ": percentile distributions written to " + directory);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String member(String username) {
+        return "{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                + "\"address\":\"1 Load Street\",\"phoneNumber\":\"+1234567890\"}";
+    }
+
+    private static long randomId(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static Long parseId(String body) {
+        Matcher matcher = ID.matcher(body);
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private enum Scenario {
+        BROWSE {
+            @Override
+            Call next(LoadGenerator generator, ThreadLocalRandom random) {
+                return generator.browse(random);
+            }
+        },
+        LOANS {
+            @Override
+            Call next(LoadGenerator generator, ThreadLocalRandom random) {
+                return generator.loans(random);
+            }
+        },
+        SIGNUP {
+            @Override
+            Call next(LoadGenerator generator, ThreadLocalRandom random) {
+                return generator.signup();
+            }
+        },
+        CATALOG {
+            @Override
+            Call next(LoadGenerator generator, ThreadLocalRandom random) {
+                return generator.catalog(random, "/api");
+            }
+        },
+        REACTIVE {
+            @Override
+            Call next(LoadGenerator generator, ThreadLocalRandom random) {
+                return generator.catalog(random, "/api/reactive");
+            }
+        };
+
+        abstract Call next(LoadGenerator generator, ThreadLocalRandom random);
+    }
+
+    /**
+     * A request of a scenario, the endpoint it is reported under and an optional handler of
+     * a successful response body.
+     */
+    private record Call(String endpoint, HttpRequest request, Consumer<String> onSuccess) {
+    }
+
+    /**
+     * Outcomes of the measured requests of one endpoint. Latencies of successful and rejected (4xx)
+     * requests are recorded in microseconds; failed requests (5xx, timeouts, connection errors)
+     * are only counted.
+     */
+    private static final class Endpoint {
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        final LongAdder rejected = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        void record(long latencyNanos, int status) {
+            if (status == 0 || status >= 500) {
+                errors.increment();
+                return;
+            }
+            if (status >= 400) {
+                rejected.increment();
+            }
+            latencies.recordValue(Math.min(latencyNanos / 1000, HIGHEST_LATENCY_MICROS));
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.library.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup benchmark: starts the application repeatedly and measures how fast it becomes ready.
+ * Each run launches the application jar in a new JVM, polls the health endpoint until it answers
+ * with status UP, and then reads the resident set size (RSS) of the process before stopping it.
+ * Reported per run are the time to ready measured from the process start, the startup time the
+ * application logs itself, and the RSS; the summary shows median, minimum and maximum.
+ * The application needs its database, e.g. the PostgreSQL service of docker-compose.yml.
+ * RSS is read from /proc and only reported on Linux.
+ *
+ * Options, passed as --name=value:
+ * - jar: the application jar (default build/startup/application.jar, see the startupLayout task)
+ * - jvm-args: comma-separated JVM options, e.g. -XX:SharedArchiveFile=build/startup/application.jsa
+ *   or -Dspring.aot.enabled=true (default: none)
+ * - profiles: Spring profiles to activate (default: none)
+ * - runs: number of measured runs (default 10)
+ * - warmup: unmeasured runs before them, to fill the file system cache (default 1)
+ * - port: HTTP port of the application (default 8080)
+ * - timeout: seconds to wait for a run to become ready (default 120)
+ * - csv: file to append one line per measured run to, for tracking regressions (default: not written)
+ * - label: name of the runs in the report and the CSV file (default "run")
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    private final List<String> command;
+    private final URI health;
+    private final Duration timeout;
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private StartupBenchmark(List<String> command, URI health, Duration timeout) {
+        this.command = command;
+        this.health = health;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String jar = options.getOrDefault("jar", "build/startup/application.jar");
+        int runs = Integer.parseInt(options.getOrDefault("runs", "10"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "1"));
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "120")));
+        String label = options.getOrDefault("label", "run");
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String jvmArgs = options.getOrDefault("jvm-args", "");
+        if (!jvmArgs.isBlank()) {
+            command.addAll(List.of(jvmArgs.split(",")));
+        }
+        command.add("-jar");
+        command.add(jar);
+        command.add("--server.port=" + port);
+        if (options.containsKey("profiles")) {
+            command.add("--spring.profiles.active=" + options.get("profiles"));
+        }
+
+        StartupBenchmark benchmark = new StartupBenchmark(command, URI.create(
+                "http://localhost:" + port + "/actuator/health"), timeout);
+        System.out.printf("%s: %d runs after %d warm-up runs of %s%n", label, runs, warmup, String.join(" ", command));
+
+        for (int i = 0; i < warmup; i++) {
+            benchmark.run();
+        }
+        List<Run> results = new ArrayList<>(runs);
+        for (int i = 0; i < runs; i++) {
+            Run run = benchmark.run();
+            results.add(run);
+            System.out.printf("%s: run %d ready after %d ms, started in %d ms, RSS %d MB%n",
+                    label, i + 1, run.readyMillis, run.startedMillis, run.rssKilobytes / 1024);
+        }
+
+        report(System.out, label, results);
+        if (options.containsKey("csv")) {
+            appendCsv(Path.of(options.get("csv")), label, results);
+        }
+    }
+
+    /**
+     * Starts the application once and stops it again after it has become ready.
+     */
+    private Run run() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .start();
+        CompletableFuture<Long> started = new CompletableFuture<>();
+        Thread reader = new Thread(() -> readOutput(process, started), "startup-output");
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            long ready = awaitReady(process, start);
+            long rss = rssKilobytes(process.pid());
+            return new Run(ready, startedMillis(started), rss);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Polls the health endpoint until the application reports UP.
+     *
+     * @return the milliseconds from the process start until the application was ready
+     */
+    private long awaitReady(Process process, long start) throws IOException, InterruptedException {
+        long deadline = start + timeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(5)).GET().build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with status " + process.exitValue());
+            }
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200 && response.body().contains("\"UP\"")) {
+                    return (System.nanoTime() - start) / 1_000_000;
+                }
+            } catch (ConnectException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("Application not ready after " + timeout.toSeconds() + " s");
+    }
+
+    /**
+     * Reads the output of the application and completes the future with the startup time it logs.
+     * The rest of the output is discarded, so the application never blocks on a full pipe.
+     */
+    private static void readOutput(Process process, CompletableFuture<Long> started) {
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (!started.isDone() && matcher.find()) {
+                    started.complete(Math.round(Double.parseDouble(matcher.group(1)) * 1000));
+                }
+            }
+        } catch (IOException ex) {
+            // The process has been stopped
+        }
+        started.complete(-1L);
+    }
+
+    /**
+     * Waits briefly for the startup time, which is logged just after the server starts listening.
+     *
+     * @return the startup time the application logged, -1 if it logged none
+     */
+    private static long startedMillis(CompletableFuture<Long> started) throws InterruptedException {
+        try {
+            return started.get(10, TimeUnit.SECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the resident set size of a process from /proc.
+     *
+     * @return the RSS in kilobytes, -1 if not available on this platform
+     */
+    private static long rssKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static void report(PrintStream out, String label, List<Run> runs) {
+        long[] ready = runs.stream().mapToLong(run -> run.readyMillis).sorted().toArray();
+        long[] started = runs.stream().mapToLong(run -> run.startedMillis).sorted().toArray();
+        long[] rss = runs.stream().mapToLong(run -> run.rssKilobytes / 1024).sorted().toArray();
+        out.printf("%s: ready ms median=%d min=%d max=%d%n", label, median(ready), ready[0], ready[ready.length - 1]);
+        out.printf("%s: started ms median=%d min=%d max=%d%n", label, median(started), started[0],
+                started[started.length - 1]);
+        out.printf("%s: RSS MB median=%d min=%d max=%d%n", label, median(rss), rss[0], rss[rss.length - 1]);
+    }
+
+    private static void appendCsv(Path file, String label, List<Run> runs) throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (!Files.exists(file)) {
+            lines.add("time,label,run,ready_ms,started_ms,rss_kb");
+        }
+        String time = Instant.now().toString();
+        for (int i = 0; i < runs.size(); i++) {
+            Run run = runs.get(i);
+            lines.add(String.join(",", time, label, Integer.toString(i + 1), Long.toString(run.readyMillis),
+                    Long.toString(run.startedMillis), Long.toString(run.rssKilobytes)));
+        }
+        Files.write(file, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[(sorted.length - 1) / 2];
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Measurements of one run.
+     */
+    private record Run(long readyMillis, long startedMillis, long rssKilobytes) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.library.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP benchmark for comparing request execution modes.
+ * Runs a fixed number of concurrent clients against a started application; each client sends its
+ * next request as soon as the previous response has arrived. After a warm-up period, throughput
+ * and latency percentiles of all successful requests are reported.
+ *
+ * Options, passed as --name=value:
+ * - url: base URL of the application (default http://localhost:8080)
+ * - clients: number of concurrent clients (default 1000)
+ * - warmup: warm-up seconds, not measured (default 15)
+ * - duration: measured seconds (default 60)
+ * - paths: comma-separated request paths, chosen at random per request; {id} is replaced
+ *   by a random ID between 1 and the ids option (default: book, author and member lookups
+ *   and a book page)
+ * - ids: upper bound of the random IDs (default 100)
+ * - label: name of the run in the report (default "run")
+ */
+public final class ThroughputBenchmark {
+
+    private static final String DEFAULT_PATHS =
+            "/api/books/{id},/api/authors/{id},/api/members/{id},/api/books?size=20&sort=title";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient http;
+    private final URI baseUrl;
+    private final List<String> paths;
+    private final int ids;
+    private final long measureFrom;
+    private final long measureUntil;
+
+    private ThroughputBenchmark(HttpClient http, URI baseUrl, List<String> paths, int ids,
+                                long measureFrom, long measureUntil) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.paths = paths;
+        this.ids = ids;
+        this.measureFrom = measureFrom;
+        this.measureUntil = measureUntil;
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseOptions(args);
+        URI baseUrl = URI.create(options.getOrDefault("url", "http://localhost:8080"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "1000"));
+        long warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15"))).toNanos();
+        long duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))).toNanos();
+        List<String> paths = List.of(options.getOrDefault("paths", DEFAULT_PATHS).split(","));
+        int ids = Integer.parseInt(options.getOrDefault("ids", "100"));
+        String label = options.getOrDefault("label", "run");
+
+        // A few threads complete the responses of all clients, the load generator must not be the bottleneck
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+
+        long start = System.nanoTime();
+        ThroughputBenchmark benchmark = new ThroughputBenchmark(
+                http, baseUrl, paths, ids, start + warmup, start + warmup + duration);
+        System.out.printf("%s: %d clients, %d s warm-up, %d s measured against %s%n",
+                label, clients, warmup / 1_000_000_000, duration / 1_000_000_000, baseUrl);
+
+        Client[] running = new Client[clients];
+        for (int i = 0; i < clients; i++) {
+            running[i] = new Client();
+            benchmark.next(running[i]);
+        }
+        CompletableFuture.allOf(Arrays.stream(running).map(client -> client.done)
+                .toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+
+        benchmark.report(label, running, duration);
+    }
+
+    /**
+     * Sends the next request of a client, or completes the client once the measurement has ended.
+     */
+    private void next(Client client) {
+        if (System.nanoTime() >= measureUntil) {
+            client.done.complete(null);
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(randomPath()))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        long sent = System.nanoTime();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long received = System.nanoTime();
+            if (sent >= measureFrom && received <= measureUntil) {
+                if (error == null && response.statusCode() < 400) {
+                    client.record(received - sent);
+                } else {
+                    client.errors++;
+                }
+            }
+            next(client);
+        });
+    }
+
+    private String randomPath() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String path = paths.get(random.nextInt(paths.size()));
+        return path.replace("{id}", Integer.toString(random.nextInt(ids) + 1));
+    }
+
+    private void report(String label, Client[] clients, long duration) {
+        int count = 0;
+        long errors = 0;
+        for (Client client : clients) {
+            count += client.count;
+            errors += client.errors;
+        }
+        long[] latencies = new long[count];
+        int offset = 0;
+        for (Client client : clients) {
+            System.arraycopy(client.latencies, 0, latencies, offset, client.count);
+            offset += client.count;
+        }
+        Arrays.sort(latencies);
+
+        double seconds = duration / 1e9;
+        System.out.printf("%s: %d requests, %d errors, %.0f req/s%n", label, count, errors, count / seconds);
+        System.out.printf("%s: latency ms p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n", label,
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), count == 0 ? 0 : latencies[count - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Latencies of one client. Only accessed by the client's own request chain, one request at a time.
+     */
+    private static final class Client {
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        long[] latencies = new long[1024];
+        int count;
+        long errors;
+
+        void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.library;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
 /**
  * Main entry point for the Library Management System application.
@@ -15,8 +16,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Database connectivity
  * - Web server (Tomcat)
  * - Actuator endpoints
+ *
+ * R2DBC auto-configuration is excluded: the reactive catalog reads manage their own connection pool,
+ * and an auto-configured ConnectionFactory would replace the JDBC DataSource.
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class LibraryManagementApplication {
 
     /**
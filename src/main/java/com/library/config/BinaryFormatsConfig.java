@@ -0,0 +1,54 @@
+package com.library.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuration of the binary Jackson formats the API negotiates besides JSON.
+ * Clients sending Accept: application/cbor or application/x-jackson-smile receive the same DTOs
+ * in CBOR or Smile, and may send request bodies in these formats. JSON stays the default.
+ *
+ * Both formats write a repeated field name, and a repeated short string value, as a reference
+ * to its first occurrence, so a list of DTOs carries each field name only once.
+ * The converters replace the ones Spring MVC registers by default and use the object mapper
+ * settings of the application.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    /**
+     * Writes CBOR with string references (stringref tag 25).
+     *
+     * @param builder the object mapper builder configured by Spring Boot
+     * @return the CBOR message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        CBORFactory factory = CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build();
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(factory).build());
+    }
+
+    /**
+     * Writes Smile with back-references for shared field names and string values.
+     *
+     * @param builder the object mapper builder configured by Spring Boot
+     * @return the Smile message converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+}
@@ -0,0 +1,43 @@
+package com.library.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+/**
+ * Configuration class for second-level cache monitoring.
+ * Publishes hit, miss, put and eviction counts of every Hibernate cache region
+ * as cache.* meters tagged with the region name.
+ * Regions and their size and expiry limits are configured in application.conf.
+ */
+@Configuration
+public class CacheMetricsConfig {
+
+    /**
+     * Binds the JCache statistics of all second-level cache regions to the meter registry.
+     * Statistics must be enabled for the regions, which application.conf does for all caches.
+     *
+     * @param entityManagerFactory the entity manager factory owning the cache regions
+     * @return MeterBinder registering one set of cache meters per region
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            if (!(sessionFactory.getCache().getRegionFactory() instanceof JCacheRegionFactory regionFactory)) {
+                return;
+            }
+            CacheManager cacheManager = regionFactory.getCacheManager();
+            for (String name : cacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, cacheManager.getCache(name), Tags.of("cache.type", "hibernate"));
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.library.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for application metrics.
+ * Metrics are scraped by Prometheus from /actuator/prometheus; besides the meters registered here,
+ * Spring Boot publishes HTTP, JVM, Hikari connection pool and Hibernate statistics meters.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Records the @Timed services as library.service timers tagged with class and method.
+     *
+     * @param registry the meter registry
+     * @return TimedAspect applied to all @Timed beans
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
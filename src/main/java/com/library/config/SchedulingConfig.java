@@ -0,0 +1,16 @@
+package com.library.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for scheduled background tasks.
+ * Enables processing of @Scheduled methods, such as the periodic rebuild of the book search index.
+ * The jobs share the scheduler's thread pool, sized with spring.task.scheduling.pool.size: by default it
+ * has a single thread, on which the nightly loan archive would hold back the outbox relay, the overdue
+ * loan detector and the availability stream heartbeats for the whole archive run.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,49 @@
+package com.library.config;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+/**
+ * Writes response bodies that are already serialized JSON, held in a {@link ByteBuffer}.
+ * Used for the responses of the serialized response cache, whose buffers are outside the Java heap:
+ * the bytes are copied to the response in small chunks, without reading the whole buffer into an array.
+ * The buffer's position is not changed. Request bodies are never read as byte buffers.
+ */
+public class SerializedJsonHttpMessageConverter extends AbstractHttpMessageConverter<ByteBuffer> {
+
+    public SerializedJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ByteBuffer.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ByteBuffer readInternal(Class<? extends ByteBuffer> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading serialized JSON is not supported", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(ByteBuffer buffer, MediaType contentType) {
+        return (long) buffer.remaining();
+    }
+
+    @Override
+    protected void writeInternal(ByteBuffer buffer, HttpOutputMessage outputMessage) throws IOException {
+        Channels.newChannel(outputMessage.getBody()).write(buffer.duplicate());
+    }
+}
@@ -0,0 +1,41 @@
+package com.library.config;
+
+import com.library.controller.ReactiveCatalogController;
+import com.library.repository.ReactiveCatalogRepository;
+import com.library.service.ReactiveCatalogService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Configuration class for lazy bean initialization in the fast-startup profile.
+ * With spring.main.lazy-initialization, beans are only created when first needed. The beans of the
+ * application stay eager: they serve the hot request paths, schedule jobs, listen to change events
+ * or load their state at startup, and the first requests after a scale-out should not pay for them.
+ * Lazy are the framework beans only reached by occasional requests, such as the API documentation
+ * and most actuator endpoints, and the application beans listed in {@link #COLD_TYPES}.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Application beans of rarely used endpoints, created on their first request.
+     * The reactive catalog reads also load the R2DBC driver and create their connection pool only then.
+     */
+    private static final Set<Class<?>> COLD_TYPES = Set.of(
+            ReactiveCatalogController.class, ReactiveCatalogService.class, ReactiveCatalogRepository.class);
+
+    /**
+     * Keeps the beans of the application eager when lazy initialization is enabled.
+     *
+     * @return filter excluding the application beans, except the cold ones, from lazy initialization
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerApplicationBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && beanType.getName().startsWith("com.library.")
+                && !COLD_TYPES.contains(beanType);
+    }
+}
@@ -0,0 +1,24 @@
+package com.library.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class guarding the virtual-threads profile.
+ * Spring Boot only applies spring.threads.virtual.enabled on a Java 21 runtime and silently keeps the
+ * platform thread pools on older ones, while the build still targets Java 17. Startup fails instead,
+ * so a deployment asking for virtual threads never runs, and is measured, without them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    public VirtualThreadsConfig() {
+        JavaVersion runtime = JavaVersion.getJavaVersion();
+        if (runtime.isOlderThan(JavaVersion.TWENTY_ONE)) {
+            throw new IllegalStateException("spring.threads.virtual.enabled requires a Java 21 runtime, found Java "
+                    + runtime + "; run the image or drop the virtual-threads profile");
+        }
+    }
+}
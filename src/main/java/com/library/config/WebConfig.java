@@ -1,12 +1,14 @@
 package com.library.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Web configuration class for the library management system.
- * Configures Cross-Origin Resource Sharing (CORS) settings.
+ * Configures Cross-Origin Resource Sharing (CORS) settings
+ * and the message converter of pre-serialized JSON responses.
  * Enables cross-origin requests for the API endpoints.
  * Implements WebMvcConfigurer to customize Spring MVC configuration.
  */
@@ -33,4 +35,15 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .maxAge(3600);
     }
+
+    /**
+     * Registers the converter writing cached JSON responses.
+     * Spring Boot adds it before the default converters, so it is used for all {@link java.nio.ByteBuffer} bodies.
+     *
+     * @return the converter of pre-serialized JSON
+     */
+    @Bean
+    public SerializedJsonHttpMessageConverter serializedJsonHttpMessageConverter() {
+        return new SerializedJsonHttpMessageConverter();
+    }
 }
@@ -1,17 +1,24 @@
 package com.library.controller;
 
 import com.library.dto.AuthorDTO;
+import com.library.dto.CursorPage;
 import com.library.exception.BusinessException;
 import com.library.exception.ResourceNotFoundException;
 import com.library.service.AuthorService;
+import com.library.service.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.nio.ByteBuffer;
 
 /**
  * REST controller for managing authors in the library system.
@@ -41,29 +48,63 @@ public class AuthorController {
     }
 
     /**
-     * Retrieves a specific author by their ID.
+     * Retrieves a specific author by their ID as JSON, served from the serialized response cache.
      * Returns author's basic information without book details.
+     * Handles all requests not selecting CBOR or Smile, see {@link #getAuthorBinary(Long, WebRequest)}:
+     * besides JSON it produces any type, so requests accepting any type or sending no Accept header,
+     * which match both methods, are answered with JSON.
      *
      * @param id the ID of the author to retrieve
-     * @return ResponseEntity containing the author information
+     * @param request the current request, evaluated for If-None-Match and If-Modified-Since
+     * @return ResponseEntity containing the serialized author, or 304 Not Modified
      * @throws ResourceNotFoundException if author is not found
      */
-    @GetMapping("/{id}")
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE})
     @Operation(summary = "Get an author by ID")
-    public ResponseEntity<AuthorDTO> getAuthor(@PathVariable Long id) {
-        return ResponseEntity.ok(authorService.getAuthor(id));
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = AuthorDTO.class)))
+    public ResponseEntity<ByteBuffer> getAuthor(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = authorService.getAuthorVersion(id);
+        return ConditionalResponses.ok(request, version, ConditionalResponses.PUBLIC,
+                () -> authorService.getSerializedAuthor(id, version));
     }
 
     /**
-     * Retrieves all authors in the system.
-     * Returns basic author information for all authors.
+     * Retrieves a specific author by their ID as CBOR or Smile.
+     * Selected by Spring MVC when the Accept header prefers one of these formats over JSON.
      *
-     * @return ResponseEntity containing list of all authors
+     * @param id the ID of the author to retrieve
+     * @param request the current request, evaluated for If-None-Match and If-Modified-Since
+     * @return ResponseEntity containing the author information, or 304 Not Modified
+     * @throws ResourceNotFoundException if author is not found
+     */
+    @GetMapping(value = "/{id}",
+            produces = {MediaType.APPLICATION_CBOR_VALUE, ConditionalResponses.APPLICATION_SMILE_VALUE})
+    @Operation(summary = "Get an author by ID")
+    public ResponseEntity<AuthorDTO> getAuthorBinary(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.ok(request, authorService.getAuthorVersion(id), ConditionalResponses.PUBLIC,
+                () -> authorService.getAuthor(id));
+    }
+
+    /**
+     * Retrieves one page of authors using keyset pagination.
+     * Pass the returned nextCursor to fetch the following page.
+     *
+     * @param cursor the cursor of the previous page, omitted for the first page
+     * @param size the page size, capped at 100
+     * @param sort the sort key, "id" or "name"
+     * @param request the current request, evaluated for If-None-Match
+     * @return ResponseEntity containing the page of authors, or 304 Not Modified if no author has changed
+     * @throws BusinessException if the cursor, size or sort key is invalid
      */
     @GetMapping
-    @Operation(summary = "Get all authors")
-    public ResponseEntity<List<AuthorDTO>> getAllAuthors() {
-        return ResponseEntity.ok(authorService.getAllAuthors());
+    @Operation(summary = "Get a page of authors")
+    public ResponseEntity<CursorPage<AuthorDTO>> getAuthors(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            WebRequest request) {
+        return ConditionalResponses.ok(request, authorService.getAuthorsVersion(), ConditionalResponses.PUBLIC,
+                () -> authorService.getAuthors(cursor, size, sort));
     }
 
     /**
@@ -1,17 +1,37 @@
 package com.library.controller;
 
 import com.library.dto.BookDTO;
+import com.library.dto.BookFacetsDTO;
+import com.library.dto.BookSearchResultDTO;
+import com.library.dto.CursorPage;
+import com.library.dto.ImportReportDTO;
 import com.library.exception.BusinessException;
 import com.library.exception.ResourceNotFoundException;
+import com.library.service.AvailabilityBroadcaster;
 import com.library.service.BookService;
+import com.library.service.CatalogImportService;
+import com.library.service.DataFormat;
+import com.library.service.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 /**
  * REST controller for managing books in the library system.
@@ -25,6 +45,8 @@ import java.util.List;
 @Tag(name = "Book Controller", description = "Book management endpoints")
 public class BookController {
     private final BookService bookService;
+    private final CatalogImportService catalogImportService;
+    private final AvailabilityBroadcaster availabilityBroadcaster;
 
     /**
      * Creates a new book in the system.
@@ -43,28 +65,164 @@ public class BookController {
     }
 
     /**
-     * Retrieves a specific book by its ID.
+     * Retrieves a specific book by its ID as JSON, served from the serialized response cache.
+     * Handles all requests not selecting CBOR or Smile, see {@link #getBookBinary(Long, WebRequest)}:
+     * besides JSON it produces any type, so requests accepting any type or sending no Accept header,
+     * which match both methods, are answered with JSON.
      *
      * @param id the ID of the book to retrieve
-     * @return ResponseEntity containing the book information
+     * @param request the current request, evaluated for If-None-Match and If-Modified-Since
+     * @return ResponseEntity containing the serialized book, or 304 Not Modified
      * @throws ResourceNotFoundException if book is not found
      */
-    @GetMapping("/{id}")
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE})
     @Operation(summary = "Get a book by ID")
-    public ResponseEntity<BookDTO> getBook(@PathVariable Long id) {
-        return ResponseEntity.ok(bookService.getBook(id));
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BookDTO.class)))
+    public ResponseEntity<ByteBuffer> getBook(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = bookService.getBookVersion(id);
+        return ConditionalResponses.ok(request, version, ConditionalResponses.PUBLIC,
+                () -> bookService.getSerializedBook(id, version));
     }
 
     /**
-     * Retrieves all books in the system.
-     * Returns books with their associated author information.
+     * Retrieves a specific book by its ID as CBOR or Smile.
+     * Selected by Spring MVC when the Accept header prefers one of these formats over JSON.
      *
-     * @return ResponseEntity containing list of all books
+     * @param id the ID of the book to retrieve
+     * @param request the current request, evaluated for If-None-Match and If-Modified-Since
+     * @return ResponseEntity containing the book information, or 304 Not Modified
+     * @throws ResourceNotFoundException if book is not found
+     */
+    @GetMapping(value = "/{id}",
+            produces = {MediaType.APPLICATION_CBOR_VALUE, ConditionalResponses.APPLICATION_SMILE_VALUE})
+    @Operation(summary = "Get a book by ID")
+    public ResponseEntity<BookDTO> getBookBinary(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.ok(request, bookService.getBookVersion(id), ConditionalResponses.PUBLIC,
+                () -> bookService.getBook(id));
+    }
+
+    /**
+     * Searches books by title, author name and genre.
+     * Every word of the query must match a word of the book, either exactly or as its prefix;
+     * hits are ranked by relevance, matches in the title first.
+     *
+     * @param q the search query
+     * @param limit the maximum number of hits, capped at 100
+     * @return ResponseEntity containing the matching books, most relevant first
+     * @throws BusinessException if the limit is not positive
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search books by title, author name and genre")
+    public ResponseEntity<List<BookSearchResultDTO>> searchBooks(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(bookService.searchBooks(q, limit));
+    }
+
+    /**
+     * Returns the catalog facets: the number of books per genre and per price bucket.
+     * Price buckets are "0-10", "10-20", "20-50", "50-100" and "100-".
+     * Each facet is filtered by the selection on the other facet, so a UI can show
+     * how many books each further selection would leave.
+     *
+     * @param genre the selected genres, may be repeated
+     * @param price the selected price buckets, may be repeated
+     * @return ResponseEntity containing the facet counts
+     * @throws BusinessException if a price bucket is unknown
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Get book counts per genre and price bucket")
+    public ResponseEntity<BookFacetsDTO> getFacets(
+            @RequestParam(required = false) List<String> genre,
+            @RequestParam(required = false) List<String> price) {
+        return ResponseEntity.ok(bookService.getFacets(
+                genre == null ? List.of() : genre,
+                price == null ? List.of() : price));
+    }
+
+    /**
+     * Streams book availability changes as Server-Sent Events.
+     * Sends an "availability" event with the book ID and its availability whenever a loan or return
+     * is committed. A "reset" event asks the client to reload the availability of all books, after it
+     * fell too far behind or when the changes since its Last-Event-ID are no longer known.
+     *
+     * @param lastEventId the ID of the last event received before reconnecting, if any
+     * @return the event stream
+     */
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream book availability changes as Server-Sent Events")
+    public SseEmitter streamAvailability(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return availabilityBroadcaster.subscribe(lastEventId);
+    }
+
+    /**
+     * Exports all books as a stream of NDJSON lines or CSV rows.
+     * Rows are read from a database cursor and written as they arrive,
+     * so the response size is not limited by available memory.
+     * The body is gzip-compressed when the client sends Accept-Encoding: gzip.
+     *
+     * @param format the export format, "ndjson" or "csv"
+     * @param acceptEncoding the Accept-Encoding request header
+     * @return ResponseEntity streaming the exported books
+     * @throws BusinessException if the format is not supported
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export all books as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        DataFormat dataFormat = DataFormat.fromName(format);
+        return ExportResponses.stream("books", dataFormat, acceptEncoding,
+                out -> bookService.exportBooks(out, dataFormat));
+    }
+
+    /**
+     * Imports books and their authors from an NDJSON or CSV upload.
+     * The format follows the Content-Type header; the file is read while it is uploaded
+     * and may be gzip-compressed with Content-Encoding: gzip.
+     * Invalid rows are skipped and listed in the report with their line number.
+     *
+     * @param contentType the Content-Type request header, text/csv or application/x-ndjson
+     * @param contentEncoding the Content-Encoding request header
+     * @param body the uploaded file
+     * @return ResponseEntity containing the import report
+     * @throws IOException if reading the upload fails
+     * @throws BusinessException if the CSV header is missing required columns
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import books and authors from NDJSON or CSV")
+    public ResponseEntity<ImportReportDTO> importBooks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        DataFormat dataFormat = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? DataFormat.NDJSON
+                : DataFormat.CSV;
+        InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+        return ResponseEntity.ok(catalogImportService.importBooks(in, dataFormat));
+    }
+
+    /**
+     * Retrieves one page of books using keyset pagination.
+     * Pass the returned nextCursor to fetch the following page.
+     *
+     * @param cursor the cursor of the previous page, omitted for the first page
+     * @param size the page size, capped at 100
+     * @param sort the sort key, "id" or "title"
+     * @param request the current request, evaluated for If-None-Match
+     * @return ResponseEntity containing the page of books, or 304 Not Modified if no book has changed
+     * @throws BusinessException if the cursor, size or sort key is invalid
      */
     @GetMapping
-    @Operation(summary = "Get all books")
-    public ResponseEntity<List<BookDTO>> getAllBooks() {
-        return ResponseEntity.ok(bookService.getAllBooks());
+    @Operation(summary = "Get a page of books")
+    public ResponseEntity<CursorPage<BookDTO>> getBooks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            WebRequest request) {
+        return ConditionalResponses.ok(request, bookService.getBooksVersion(), ConditionalResponses.PUBLIC,
+                () -> bookService.getBooks(cursor, size, sort));
     }
 
     /**
@@ -0,0 +1,66 @@
+package com.library.controller;
+
+import com.library.service.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Builds responses for conditional GET requests.
+ * Evaluates If-None-Match and If-Modified-Since against the resource version
+ * before the response body is built, so unchanged resources cost neither DTO mapping
+ * nor JSON serialization.
+ * The representation depends on the Accept header (JSON, CBOR or Smile), which caches are told with Vary.
+ */
+final class ConditionalResponses {
+
+    /**
+     * Catalog data may be stored by shared caches and reused for a few seconds without revalidation.
+     */
+    static final CacheControl PUBLIC = CacheControl.maxAge(Duration.ofSeconds(10)).cachePublic();
+
+    /**
+     * Member data contains personal information and may only be stored by the client.
+     */
+    static final CacheControl PRIVATE = CacheControl.maxAge(Duration.ofSeconds(10)).cachePrivate();
+
+    /**
+     * Media type of Smile responses, for handler methods producing the binary formats.
+     */
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Returns 304 Not Modified if the client's copy matches the resource version,
+     * otherwise 200 OK with the body built by the given supplier.
+     * Both responses carry ETag, Cache-Control and Vary headers, and Last-Modified if the version has a
+     * modification time.
+     *
+     * @param request the current request
+     * @param version the current version of the resource
+     * @param cacheControl the Cache-Control directives of the resource
+     * @param body builds the response body, only called if the resource was modified
+     * @return the response
+     */
+    static <T> ResponseEntity<T> ok(WebRequest request, ResourceVersion version, CacheControl cacheControl,
+                                    Supplier<T> body) {
+        long lastModified = version.lastModified() == null ? -1 : version.lastModified().toEpochMilli();
+        boolean notModified = request.checkNotModified(version.eTag(), lastModified);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(version.eTag())
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT);
+        if (version.lastModified() != null) {
+            response.lastModified(version.lastModified());
+        }
+        return notModified ? response.build() : response.body(body.get());
+    }
+}
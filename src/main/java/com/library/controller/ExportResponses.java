@@ -0,0 +1,107 @@
+package com.library.controller;
+
+import com.library.service.DataFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds streaming responses for the export endpoints.
+ * Sets content type and download file name for the requested format
+ * and gzip-compresses the body when the client accepts it.
+ */
+final class ExportResponses {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private ExportResponses() {
+    }
+
+    /**
+     * Wraps an exporter into a streaming response.
+     * The exporter runs on an async request thread after the handler method has returned.
+     *
+     * @param name the base name of the downloaded file
+     * @param format the export format
+     * @param acceptEncoding the Accept-Encoding request header, may be null
+     * @param exporter writes the export to the given stream
+     * @return the streaming response
+     */
+    static ResponseEntity<StreamingResponseBody> stream(String name, DataFormat format, String acceptEncoding,
+                                                        StreamingResponseBody exporter) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                exporter.writeTo(compressed);
+                compressed.finish();
+            } else {
+                exporter.writeTo(out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format == DataFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.extension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Checks whether the client accepts a gzip-compressed response.
+     * gzip (or x-gzip) must be listed, or covered by *, with a quality above zero;
+     * "gzip;q=0" explicitly refuses it.
+     *
+     * @param acceptEncoding the Accept-Encoding request header, may be null
+     * @return true if the response may be compressed with gzip
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double wildcard = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parameters);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = Math.max(gzip, quality);
+            } else if (name.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return (gzip >= 0 ? gzip : wildcard) > 0;
+    }
+
+    /**
+     * Returns the q parameter of a content coding, 1 if absent and 0 if malformed.
+     */
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -1,15 +1,22 @@
 package com.library.controller;
 
+import com.library.dto.BatchLoanRequestDTO;
+import com.library.dto.BatchLoanResultDTO;
+import com.library.dto.BatchReturnRequestDTO;
+import com.library.dto.CursorPage;
 import com.library.dto.LoanDTO;
 import com.library.exception.BusinessException;
 import com.library.exception.ResourceNotFoundException;
+import com.library.service.DataFormat;
 import com.library.service.LoanService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -44,6 +51,34 @@ public class LoanController {
         return ResponseEntity.ok(loanService.createLoan(loanDTO));
     }
 
+    /**
+     * Creates several loans at once.
+     * The whole batch is validated against the same rules as single loans,
+     * including the 5-book limit across all items of a member.
+     * Rejected items do not prevent the other items from being stored.
+     *
+     * @param request the loans to create
+     * @return ResponseEntity containing one result per requested loan
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Create several loans at once")
+    public ResponseEntity<List<BatchLoanResultDTO>> createLoans(@Valid @RequestBody BatchLoanRequestDTO request) {
+        return ResponseEntity.ok(loanService.createLoans(request.getLoans()));
+    }
+
+    /**
+     * Processes the return of several borrowed books at once.
+     * Loans that do not exist or were already returned are reported per item.
+     *
+     * @param request the IDs of the loans to return
+     * @return ResponseEntity containing one result per loan ID
+     */
+    @PostMapping("/returns/batch")
+    @Operation(summary = "Return several books at once")
+    public ResponseEntity<List<BatchLoanResultDTO>> returnBooks(@Valid @RequestBody BatchReturnRequestDTO request) {
+        return ResponseEntity.ok(loanService.returnBooks(request.getLoanIds()));
+    }
+
     /**
      * Retrieves a specific loan by its ID.
      *
@@ -58,15 +93,44 @@ public class LoanController {
     }
 
     /**
-     * Retrieves all loans in the system.
+     * Exports all loans as a stream of NDJSON lines or CSV rows.
+     * Rows are read from a database cursor and written as they arrive,
+     * so the response size is not limited by available memory.
+     * The body is gzip-compressed when the client sends Accept-Encoding: gzip.
+     *
+     * @param format the export format, "ndjson" or "csv"
+     * @param acceptEncoding the Accept-Encoding request header
+     * @return ResponseEntity streaming the exported loans
+     * @throws BusinessException if the format is not supported
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export all loans as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportLoans(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        DataFormat dataFormat = DataFormat.fromName(format);
+        return ExportResponses.stream("loans", dataFormat, acceptEncoding,
+                out -> loanService.exportLoans(out, dataFormat));
+    }
+
+    /**
+     * Retrieves one page of loans using keyset pagination.
      * Returns both active and completed loans.
+     * Pass the returned nextCursor to fetch the following page.
      *
-     * @return ResponseEntity containing list of all loans
+     * @param cursor the cursor of the previous page, omitted for the first page
+     * @param size the page size, capped at 100
+     * @param sort the sort key, "id"
+     * @return ResponseEntity containing the page of loans
+     * @throws BusinessException if the cursor, size or sort key is invalid
      */
     @GetMapping
-    @Operation(summary = "Get all loans")
-    public ResponseEntity<List<LoanDTO>> getAllLoans() {
-        return ResponseEntity.ok(loanService.getAllLoans());
+    @Operation(summary = "Get a page of loans")
+    public ResponseEntity<CursorPage<LoanDTO>> getLoans(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+        return ResponseEntity.ok(loanService.getLoans(cursor, size, sort));
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.library.controller;
 
+import com.library.dto.CursorPage;
 import com.library.dto.MemberDTO;
 import com.library.exception.BusinessException;
 import com.library.exception.ResourceNotFoundException;
@@ -10,8 +11,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for managing library members.
@@ -44,24 +44,37 @@ public class MemberController {
      * Retrieves a specific member by their ID.
      *
      * @param id the ID of the member to retrieve
-     * @return ResponseEntity containing the member information
+     * @param request the current request, evaluated for If-None-Match and If-Modified-Since
+     * @return ResponseEntity containing the member information, or 304 Not Modified
      * @throws ResourceNotFoundException if member is not found
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get a member by ID")
-    public ResponseEntity<MemberDTO> getMember(@PathVariable Long id) {
-        return ResponseEntity.ok(memberService.getMember(id));
+    public ResponseEntity<MemberDTO> getMember(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.ok(request, memberService.getMemberVersion(id), ConditionalResponses.PRIVATE,
+                () -> memberService.getMember(id));
     }
 
     /**
-     * Retrieves all members in the system.
+     * Retrieves one page of members using keyset pagination.
+     * Pass the returned nextCursor to fetch the following page.
      *
-     * @return ResponseEntity containing list of all members
+     * @param cursor the cursor of the previous page, omitted for the first page
+     * @param size the page size, capped at 100
+     * @param sort the sort key, "id" or "username"
+     * @param request the current request, evaluated for If-None-Match
+     * @return ResponseEntity containing the page of members, or 304 Not Modified if no member has changed
+     * @throws BusinessException if the cursor, size or sort key is invalid
      */
     @GetMapping
-    @Operation(summary = "Get all members")
-    public ResponseEntity<List<MemberDTO>> getAllMembers() {
-        return ResponseEntity.ok(memberService.getAllMembers());
+    @Operation(summary = "Get a page of members")
+    public ResponseEntity<CursorPage<MemberDTO>> getMembers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            WebRequest request) {
+        return ConditionalResponses.ok(request, memberService.getMembersVersion(), ConditionalResponses.PRIVATE,
+                () -> memberService.getMembers(cursor, size, sort));
     }
 
     /**
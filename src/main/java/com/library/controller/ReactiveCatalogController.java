@@ -0,0 +1,109 @@
+package com.library.controller;
+
+import com.library.dto.AuthorDTO;
+import com.library.dto.BookDTO;
+import com.library.dto.CursorPage;
+import com.library.exception.BusinessException;
+import com.library.exception.ResourceNotFoundException;
+import com.library.service.ReactiveCatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for non-blocking catalog reads.
+ * Offers the read endpoints of the book and author controllers under "/api/reactive",
+ * with the same parameters, DTOs and errors, backed by R2DBC instead of JPA.
+ * Requests are handled asynchronously: the servlet thread is released while the database is queried.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@RequiredArgsConstructor
+@Tag(name = "Reactive Catalog Controller", description = "Non-blocking book and author reads")
+public class ReactiveCatalogController {
+    private final ReactiveCatalogService catalogService;
+
+    /**
+     * Retrieves a specific book by its ID.
+     *
+     * @param id the ID of the book to retrieve
+     * @return the book information
+     * @throws ResourceNotFoundException if book is not found
+     */
+    @GetMapping("/books/{id}")
+    @Operation(summary = "Get a book by ID, non-blocking")
+    public Mono<ResponseEntity<BookDTO>> getBook(@PathVariable Long id) {
+        return catalogService.getBook(id).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves one page of books using keyset pagination.
+     *
+     * @param cursor the cursor of the previous page, omitted for the first page
+     * @param size the page size, capped at 100
+     * @param sort the sort key, "id" or "title"
+     * @return the page of books
+     * @throws BusinessException if the cursor, size or sort key is invalid
+     */
+    @GetMapping("/books")
+    @Operation(summary = "Get a page of books, non-blocking")
+    public Mono<ResponseEntity<CursorPage<BookDTO>>> getBooks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+        return catalogService.getBooks(cursor, size, sort).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Streams all books as NDJSON, one book per line, ordered by id.
+     * Books are read from the database as the response is written, so a slow client
+     * slows down the query instead of filling the memory.
+     *
+     * @return the stream of books
+     */
+    @GetMapping(value = "/books/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all books as NDJSON, non-blocking")
+    public Flux<BookDTO> streamBooks() {
+        return catalogService.streamBooks();
+    }
+
+    /**
+     * Retrieves a specific author by their ID.
+     *
+     * @param id the ID of the author to retrieve
+     * @return the author information
+     * @throws ResourceNotFoundException if author is not found
+     */
+    @GetMapping("/authors/{id}")
+    @Operation(summary = "Get an author by ID, non-blocking")
+    public Mono<ResponseEntity<AuthorDTO>> getAuthor(@PathVariable Long id) {
+        return catalogService.getAuthor(id).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves one page of authors using keyset pagination.
+     *
+     * @param cursor the cursor of the previous page, omitted for the first page
+     * @param size the page size, capped at 100
+     * @param sort the sort key, "id" or "name"
+     * @return the page of authors
+     * @throws BusinessException if the cursor, size or sort key is invalid
+     */
+    @GetMapping("/authors")
+    @Operation(summary = "Get a page of authors, non-blocking")
+    public Mono<ResponseEntity<CursorPage<AuthorDTO>>> getAuthors(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id") String sort) {
+        return catalogService.getAuthors(cursor, size, sort).map(ResponseEntity::ok);
+    }
+}
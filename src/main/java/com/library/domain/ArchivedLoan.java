@@ -0,0 +1,33 @@
+package com.library.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDate;
+
+/**
+ * Entity representing a returned loan that has been moved to the loan archive.
+ * Keeps the ID of the original loan, so a loan is found by the same ID before and after archiving.
+ * Member and book are referenced by ID only; archived loans are read for history and never changed.
+ */
+@Entity
+@Table(name = "loan_archive")
+@Data
+public class ArchivedLoan {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long memberId;
+
+    @Column(nullable = false)
+    private Long bookId;
+
+    @Column(nullable = false)
+    private LocalDate lendDate;
+
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    @Column(nullable = false)
+    private LocalDate returnDate;
+}
@@ -2,6 +2,13 @@ package com.library.domain;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,9 +18,12 @@ import java.util.List;
  * Maintains biographical information and manages the relationship with their books.
  * Implements a one-to-many relationship with Book entity.
  * Uses cascade operations to manage associated books.
+ * Cached in the second-level cache, as authors are read far more often than they change.
  */
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Author {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,6 +35,15 @@ public class Author {
     @Column(nullable = false)
     private LocalDate dateOfBirth;
 
+    // Excluded from toString, equals and hashCode, which would otherwise load the collection
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL)
     private List<Book> books = new ArrayList<>();
+
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
@@ -2,6 +2,13 @@ package com.library.domain;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.math.BigDecimal;
 
 /**
@@ -9,9 +16,12 @@ import java.math.BigDecimal;
  * Implements the single copy per book requirement through a unique constraint on title and author.
  * Uses optimistic locking for concurrent modifications.
  * Maintains a many-to-one relationship with Author entity.
+ * Cached in the second-level cache; the version column keeps cached copies consistent with updates.
  */
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(uniqueConstraints = {
         @UniqueConstraint(
                 name = "uk_book_title_author",
@@ -32,10 +42,16 @@ public class Book {
     @Column(nullable = false)
     private BigDecimal price;
 
+    // Excluded from toString, equals and hashCode, which would otherwise initialize the lazy proxy
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private Author author;
 
     @Version
     private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
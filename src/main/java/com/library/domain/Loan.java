@@ -2,6 +2,8 @@ package com.library.domain;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.time.LocalDate;
 
 /**
@@ -17,10 +19,15 @@ public class Loan {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Associations are excluded from toString, equals and hashCode, which would otherwise initialize the lazy proxies
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id", nullable = false)
     private Member member;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id", nullable = false)
     private Book book;
@@ -28,5 +35,8 @@ public class Loan {
     @Column(nullable = false)
     private LocalDate lendDate;
 
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
     private LocalDate returnDate;
 }
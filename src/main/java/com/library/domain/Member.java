@@ -2,6 +2,11 @@ package com.library.domain;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -30,6 +35,15 @@ public class Member {
     @Column(nullable = false)
     private String phoneNumber;
 
+    // Excluded from toString, equals and hashCode, which would otherwise load the collection
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "member")
     private List<Loan> loans = new ArrayList<>();
+
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
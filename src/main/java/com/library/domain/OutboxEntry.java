@@ -0,0 +1,45 @@
+package com.library.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+/**
+ * Entity representing an entity change event waiting in the transactional outbox.
+ * Written in the transaction of the change and deleted by the outbox relay once delivered.
+ * The payload holds the changed entity as JSON, in the form of its DTO.
+ * An entry whose delivery failed waits until its next attempt time; after too many failures it stays
+ * in the outbox as a dead letter.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Data
+public class OutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 20)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(nullable = false)
+    private boolean deadLetter;
+}
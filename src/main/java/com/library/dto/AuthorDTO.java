@@ -3,7 +3,9 @@ package com.library.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Past;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 /**
@@ -13,6 +15,8 @@ import java.time.LocalDate;
  * Authors can have multiple books associated with them.
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class AuthorDTO {
     private Long id;
 
@@ -0,0 +1,21 @@
+package com.library.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for bulk checkouts.
+ * Carries several loan requests that are validated and stored together,
+ * e.g. a stack of books checked out at a self-service kiosk.
+ */
+@Data
+public class BatchLoanRequestDTO {
+
+    @NotEmpty(message = "At least one loan is required")
+    @Size(max = 50, message = "A batch may contain at most 50 loans")
+    @Valid
+    private List<LoanDTO> loans;
+}
@@ -0,0 +1,20 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a single item of a bulk checkout or bulk return.
+ * Successful items carry the stored loan, rejected items carry the reason
+ * using the same messages as the single-item endpoints.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLoanResultDTO {
+    private int index;
+    private boolean success;
+    private LoanDTO loan;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.library.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for bulk returns.
+ * Carries the IDs of the loans whose books are returned together.
+ */
+@Data
+public class BatchReturnRequestDTO {
+
+    @NotEmpty(message = "At least one loan ID is required")
+    @Size(max = 50, message = "A batch may contain at most 50 loans")
+    private List<@NotNull(message = "Loan ID is required") Long> loanIds;
+}
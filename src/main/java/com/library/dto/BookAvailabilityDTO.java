@@ -0,0 +1,16 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A change of a book's availability, sent on the availability stream when the book is lent or returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookAvailabilityDTO {
+    private Long bookId;
+    private boolean available;
+}
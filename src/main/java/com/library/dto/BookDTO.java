@@ -6,7 +6,9 @@ import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 /**
@@ -16,6 +18,8 @@ import java.math.BigDecimal;
  * Each book must have a unique title per author (enforced at database level).
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class BookDTO {
     private Long id;
 
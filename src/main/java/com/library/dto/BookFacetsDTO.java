@@ -0,0 +1,21 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the catalog facets.
+ * Each facet is counted with the filters on the other facets applied,
+ * the total applies all filters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFacetsDTO {
+    private long total;
+    private List<FacetCountDTO> genres;
+    private List<FacetCountDTO> prices;
+}
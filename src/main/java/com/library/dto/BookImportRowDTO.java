@@ -0,0 +1,20 @@
+package com.library.dto;
+
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) for a single row of a catalog import.
+ * A row references its author either by ID or by name and date of birth;
+ * authors referenced by name that do not exist yet are created during the import.
+ */
+@Data
+public class BookImportRowDTO {
+    private String title;
+    private String genre;
+    private BigDecimal price;
+    private Long authorId;
+    private String authorName;
+    private LocalDate authorDateOfBirth;
+}
@@ -0,0 +1,23 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object (DTO) for a book search hit.
+ * Contains the book details, the author's name and the relevance score of the hit.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchResultDTO {
+    private Long id;
+    private String title;
+    private String genre;
+    private BigDecimal price;
+    private Long authorId;
+    private String authorName;
+    private double score;
+}
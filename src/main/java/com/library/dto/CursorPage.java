@@ -0,0 +1,19 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * A single page of a keyset-paginated list endpoint.
+ * Contains the items of the page and an opaque cursor pointing past the last item.
+ * The cursor is null when no further page exists.
+ *
+ * @param <T> the type of the listed DTOs
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row rejected by a catalog import.
+ * Identifies the row by its line number in the uploaded file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRejectDTO {
+    private long line;
+    private String reason;
+}
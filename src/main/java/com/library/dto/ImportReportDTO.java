@@ -0,0 +1,21 @@
+package com.library.dto;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) summarizing a catalog import.
+ * Reports throughput and lists rejected rows; the list of rejects is capped,
+ * while the rejected counter always covers all rows.
+ */
+@Data
+public class ImportReportDTO {
+    private long rowsRead;
+    private long booksCreated;
+    private long authorsCreated;
+    private long rejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<ImportRejectDTO> rejects = new ArrayList<>();
+}
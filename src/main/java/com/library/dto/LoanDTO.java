@@ -1,7 +1,9 @@
 package com.library.dto;
 
 import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 /**
@@ -9,8 +11,11 @@ import java.time.LocalDate;
  * Used for creating and managing book loans through the API.
  * Handles the relationship between members and books for lending operations.
  * Tracks loan dates without time components as per business requirements.
+ * The due date is set by the service when the loan is created.
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class LoanDTO {
     private Long id;
 
@@ -21,5 +26,6 @@ public class LoanDTO {
     private Long bookId;
 
     private LocalDate lendDate;
+    private LocalDate dueDate;
     private LocalDate returnDate;
 }
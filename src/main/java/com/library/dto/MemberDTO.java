@@ -2,7 +2,9 @@ package com.library.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
  * Data Transfer Object (DTO) for Member entities.
@@ -10,6 +12,8 @@ import lombok.Data;
  * Includes validation constraints to ensure data integrity.
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class MemberDTO {
     private Long id;
 
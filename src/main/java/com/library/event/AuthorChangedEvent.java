@@ -0,0 +1,14 @@
+package com.library.event;
+
+import com.library.dto.AuthorDTO;
+
+/**
+ * Published by the services when an author is created, updated or deleted.
+ * Deleting an author also deletes the author's books, without separate book events.
+ * Listeners registered with @TransactionalEventListener receive it once the change is committed.
+ *
+ * @param type the kind of change
+ * @param author the author after the change; only the ID is set for deletions
+ */
+public record AuthorChangedEvent(ChangeType type, AuthorDTO author) {
+}
@@ -0,0 +1,14 @@
+package com.library.event;
+
+import com.library.dto.BookDTO;
+
+/**
+ * Published by the services when a book is created, updated or deleted.
+ * Listeners registered with @TransactionalEventListener receive it once the change is committed.
+ *
+ * @param type the kind of change
+ * @param book the book after the change; only the ID is set for deletions
+ * @param authorName the name of the book's author, null if not known to the publisher
+ */
+public record BookChangedEvent(ChangeType type, BookDTO book, String authorName) {
+}
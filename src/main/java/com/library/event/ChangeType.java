@@ -0,0 +1,10 @@
+package com.library.event;
+
+/**
+ * Kind of change reported by an entity change event.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
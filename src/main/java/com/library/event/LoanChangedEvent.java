@@ -0,0 +1,15 @@
+package com.library.event;
+
+import com.library.dto.LoanDTO;
+
+/**
+ * Published by {@link com.library.service.LoanService} when a book is lent or returned.
+ * A new loan is reported as {@link ChangeType#CREATED}, a return as {@link ChangeType#UPDATED}
+ * with the return date set.
+ * Listeners registered with @TransactionalEventListener receive it once the change is committed.
+ *
+ * @param type the kind of change
+ * @param loan the loan after the change
+ */
+public record LoanChangedEvent(ChangeType type, LoanDTO loan) {
+}
@@ -0,0 +1,15 @@
+package com.library.event;
+
+import com.library.dto.LoanDTO;
+
+import java.util.List;
+
+/**
+ * Published by {@link com.library.service.OverdueLoanDetector} for loans that have passed their due date
+ * without being returned. Loans becoming overdue at the same time are reported together, in batches.
+ * The event is published outside of a transaction, so listeners register with @EventListener.
+ *
+ * @param loans the overdue loans
+ */
+public record LoansOverdueEvent(List<LoanDTO> loans) {
+}
@@ -0,0 +1,13 @@
+package com.library.event;
+
+import com.library.dto.MemberDTO;
+
+/**
+ * Published by the services when a member is created, updated or deleted.
+ * Listeners registered with @TransactionalEventListener receive it once the change is committed.
+ *
+ * @param type the kind of change
+ * @param member the member after the change; only the ID is set for deletions
+ */
+public record MemberChangedEvent(ChangeType type, MemberDTO member) {
+}
@@ -0,0 +1,19 @@
+package com.library.event;
+
+import java.time.Instant;
+
+/**
+ * An entity change event relayed from the transactional outbox to the {@link OutboxEventConsumer}s.
+ * Events of the same aggregate are delivered in the order of their IDs. Delivery is at least once:
+ * an event is delivered again if a consumer failed or the relay stopped before deleting it.
+ *
+ * @param id the outbox ID, increasing with the time the event was written
+ * @param aggregateType the changed entity: "author", "book", "member" or "loan"
+ * @param aggregateId the ID of the changed entity
+ * @param type the kind of change; the return of a book is an update of its loan with the return date set
+ * @param payload the entity after the change as JSON, in the form of its DTO; only the ID is set for deletions
+ * @param createdAt the time the event was written, just before the change was committed
+ */
+public record OutboxEvent(long id, String aggregateType, long aggregateId, ChangeType type,
+                          String payload, Instant createdAt) {
+}
@@ -0,0 +1,18 @@
+package com.library.event;
+
+/**
+ * Local consumer of the events relayed from the transactional outbox.
+ * All consumer beans receive every event. Since delivery is at least once, consumers must tolerate
+ * receiving an event twice, for example by remembering the last outbox ID seen per aggregate.
+ * Throwing an exception leaves the event in the outbox; it is delivered again with the next relay run,
+ * and later events of the same aggregate wait for it.
+ */
+public interface OutboxEventConsumer {
+
+    /**
+     * Handles one event. Called by the relay thread, inside the transaction holding the event's lock.
+     *
+     * @param event the relayed event
+     */
+    void accept(OutboxEvent event);
+}
@@ -1,5 +1,6 @@
 package com.library.exception;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -7,6 +8,8 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.Locale;
+
 /**
  * Global exception handler for the library management system.
  * Provides centralized exception handling across all controllers.
@@ -67,14 +70,23 @@ public class GlobalExceptionHandler {
     /**
      * Handles database integrity violations.
      * Occurs when database constraints are violated (e.g., unique constraints).
+     * The violated constraint is identified by the name Hibernate extracted from the database error.
      * Provides specific message for book title uniqueness violation.
+     * A violation of the single active loan per book index is a lost race between two loans
+     * and is reported like the corresponding business rule.
      *
      * @param ex the DataIntegrityViolationException
-     * @return ResponseEntity with 409 status and constraint violation details
+     * @return ResponseEntity with 409 status and constraint violation details,
+     *         or 400 status if the book is already loaned
      */
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
-        String message = ex.getMessage().contains("uk_book_title_author")
+        String constraint = constraintName(ex);
+        if (constraint.contains("uk_loan_active_book")) {
+            return handleBusinessException(new BusinessException("Book is already loaned"));
+        }
+
+        String message = constraint.contains("uk_book_title_author")
                 ? "A book with this title already exists for this author"
                 : "Database constraint violation";
 
@@ -84,4 +96,18 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
+
+    /**
+     * Returns the name of the violated constraint in lower case, as H2 reports names in upper case.
+     * Falls back to the exception message if the violation does not come with a constraint name.
+     */
+    private static String constraintName(DataIntegrityViolationException ex) {
+        String name = ex.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        if (name == null) {
+            name = ex.getMessage();
+        }
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
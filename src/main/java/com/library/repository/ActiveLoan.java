@@ -0,0 +1,10 @@
+package com.library.repository;
+
+/**
+ * Member and book of a loan that has not been returned yet.
+ *
+ * @param memberId the ID of the borrowing member
+ * @param bookId the ID of the loaned book
+ */
+public record ActiveLoan(Long memberId, Long bookId) {
+}
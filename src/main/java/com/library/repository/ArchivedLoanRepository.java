@@ -0,0 +1,80 @@
+package com.library.repository;
+
+import com.library.domain.ArchivedLoan;
+import com.library.dto.LoanDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repository interface for {@link ArchivedLoan} entity.
+ * Moves returned loans into the archive and reads them as {@link LoanDTO}s,
+ * so loan reads can combine archived and current loans.
+ */
+public interface ArchivedLoanRepository extends JpaRepository<ArchivedLoan, Long> {
+
+    /**
+     * Copies the given loans into the archive, keeping their IDs.
+     * Runs as a single INSERT ... SELECT statement.
+     *
+     * @param loanIds the IDs of the loans to copy
+     * @return the number of archived loans
+     */
+    @Modifying
+    @Query("insert into ArchivedLoan (id, memberId, bookId, lendDate, dueDate, returnDate) "
+            + "select l.id, l.member.id, l.book.id, l.lendDate, l.dueDate, l.returnDate from Loan l "
+            + "where l.id in :loanIds")
+    int copyFromLoans(@Param("loanIds") Collection<Long> loanIds);
+
+    /**
+     * Retrieves a single archived loan as DTO.
+     *
+     * @param id the loan ID
+     * @return Optional containing the loan if it is archived, empty Optional otherwise
+     */
+    @Query("select new com.library.dto.LoanDTO(a.id, a.memberId, a.bookId, a.lendDate, a.dueDate, a.returnDate) "
+            + "from ArchivedLoan a where a.id = :id")
+    Optional<LoanDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * Retrieves the archived loans with the given IDs as DTOs.
+     *
+     * @param ids the loan IDs
+     * @return the archived loans among the given IDs
+     */
+    @Query("select new com.library.dto.LoanDTO(a.id, a.memberId, a.bookId, a.lendDate, a.dueDate, a.returnDate) "
+            + "from ArchivedLoan a where a.id in :ids")
+    List<LoanDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the next page of archived loans ordered by id, see
+     * {@link LoanRepository#findPageOrderById(long, Pageable)}.
+     *
+     * @param afterId the id of the last loan of the previous page (0 for the first page)
+     * @param pageable limits the number of returned rows
+     * @return the archived loans following the given id
+     */
+    @Query("select new com.library.dto.LoanDTO(a.id, a.memberId, a.bookId, a.lendDate, a.dueDate, a.returnDate) "
+            + "from ArchivedLoan a where a.id > :afterId order by a.id")
+    List<LoanDTO> findPageOrderById(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Streams all archived loans ordered by id for exports.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return stream of all archived loans as DTOs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.library.dto.LoanDTO(a.id, a.memberId, a.bookId, a.lendDate, a.dueDate, a.returnDate) "
+            + "from ArchivedLoan a order by a.id")
+    Stream<LoanDTO> streamAllOrderById();
+}
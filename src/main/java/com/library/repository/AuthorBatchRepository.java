@@ -0,0 +1,20 @@
+package com.library.repository;
+
+import com.library.dto.AuthorDTO;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for bulk author inserts.
+ * Used by catalog imports to create missing authors with a single JDBC batch.
+ */
+public interface AuthorBatchRepository {
+
+    /**
+     * Inserts the given authors using one JDBC batch.
+     * The generated IDs are assigned to the given DTOs in input order.
+     *
+     * @param authors the authors to insert, with name and date of birth set
+     */
+    void insertAuthors(List<AuthorDTO> authors);
+}
@@ -0,0 +1,59 @@
+package com.library.repository;
+
+import com.library.dto.AuthorDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link AuthorBatchRepository}.
+ * Runs inside the surrounding JPA transaction, which exposes its connection to the JdbcTemplate.
+ */
+@RequiredArgsConstructor
+class AuthorBatchRepositoryImpl implements AuthorBatchRepository {
+
+    private static final String INSERT_AUTHOR =
+            "INSERT INTO author (name, date_of_birth, version, updated_at) VALUES (?, ?, 0, CURRENT_TIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAuthors(List<AuthorDTO> authors) {
+        if (authors.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_AUTHOR, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        AuthorDTO author = authors.get(i);
+                        ps.setString(1, author.getName());
+                        ps.setDate(2, Date.valueOf(author.getDateOfBirth()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return authors.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < authors.size(); i++) {
+            // Only the id column is requested, its key name depends on the driver
+            Number id = (Number) keys.get(i).values().iterator().next();
+            authors.get(i).setId(id.longValue());
+        }
+    }
+}
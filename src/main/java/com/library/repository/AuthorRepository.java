@@ -1,7 +1,18 @@
 package com.library.repository;
 
 import com.library.domain.Author;
+import com.library.dto.AuthorDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for {@link Author} entity.
@@ -13,10 +24,74 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * - delete
  * - count
  *
- * No custom queries are needed as basic JPA operations cover all required functionality:
+ * Custom queries cover keyset pagination of the author list, projected straight into {@link AuthorDTO}s,
+ * the lookups of catalog imports and the book search index:
  * - Author creation and updates through save()
- * - Author retrieval through findById() and findAll()
+ * - Author retrieval through findById() and the page queries
  * - Author deletion through delete()
  */
-public interface AuthorRepository extends JpaRepository<Author, Long> {
-}
\ No newline at end of file
+public interface AuthorRepository extends JpaRepository<Author, Long>, AuthorBatchRepository {
+
+    /**
+     * Retrieves the next page of authors ordered by id.
+     * Seeks past the last id of the previous page, so deep pages cost the same as the first one.
+     *
+     * @param afterId the id of the last author of the previous page (0 for the first page)
+     * @param pageable limits the number of returned rows
+     * @return the authors following the given id
+     */
+    @Query("select new com.library.dto.AuthorDTO(a.id, a.name, a.dateOfBirth) from Author a where a.id > :afterId order by a.id")
+    List<AuthorDTO> findPageOrderById(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the next page of authors ordered by name, using the id as tie breaker.
+     *
+     * @param name the name of the last author of the previous page (empty for the first page)
+     * @param afterId the id of the last author of the previous page (0 for the first page)
+     * @param pageable limits the number of returned rows
+     * @return the authors following the given name and id
+     */
+    @Query("select new com.library.dto.AuthorDTO(a.id, a.name, a.dateOfBirth) from Author a "
+            + "where a.name >= :name and (a.name > :name or a.id > :afterId) order by a.name, a.id")
+    List<AuthorDTO> findPageOrderByName(@Param("name") String name, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Returns which of the given author IDs exist.
+     * Used by catalog imports to check all author references of a chunk with one query.
+     *
+     * @param ids the author IDs to check
+     * @return the IDs of the existing authors
+     */
+    @Query("select a.id from Author a where a.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds all authors with one of the given names.
+     * Used by catalog imports to resolve author references given by name.
+     *
+     * @param names the author names to look up
+     * @return the authors with matching names
+     */
+    List<Author> findByNameIn(Collection<String> names);
+
+    /**
+     * Computes an aggregate over all authors that changes with every insert, update and delete.
+     * Used as the version of the authors collection for conditional GET requests.
+     *
+     * @return the collection stamp
+     */
+    @Query("select new com.library.repository.CollectionStamp(count(a), max(a.id), sum(a.version)) "
+            + "from Author a")
+    CollectionStamp findCollectionStamp();
+
+    /**
+     * Streams the searchable fields of all authors.
+     * Used to rebuild the in-memory book search index.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of all authors
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.library.repository.SearchableAuthor(a.id, a.name) from Author a")
+    Stream<SearchableAuthor> streamSearchable();
+}
@@ -0,0 +1,21 @@
+package com.library.repository;
+
+import com.library.dto.BookDTO;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for bulk book inserts.
+ * Book IDs use IDENTITY generation, which prevents Hibernate from batching inserts,
+ * so catalog imports write through a single JDBC batch instead.
+ */
+public interface BookBatchRepository {
+
+    /**
+     * Inserts the given books using one JDBC batch.
+     * The generated IDs are assigned to the given DTOs in input order.
+     *
+     * @param books the books to insert, with title, genre, price and author ID set
+     */
+    void insertBooks(List<BookDTO> books);
+}
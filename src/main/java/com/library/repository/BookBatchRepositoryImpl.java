@@ -0,0 +1,61 @@
+package com.library.repository;
+
+import com.library.dto.BookDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link BookBatchRepository}.
+ * Runs inside the surrounding JPA transaction, which exposes its connection to the JdbcTemplate.
+ */
+@RequiredArgsConstructor
+class BookBatchRepositoryImpl implements BookBatchRepository {
+
+    private static final String INSERT_BOOK =
+            "INSERT INTO book (title, genre, price, author_id, version, updated_at) "
+            + "VALUES (?, ?, ?, ?, 0, CURRENT_TIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertBooks(List<BookDTO> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_BOOK, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        BookDTO book = books.get(i);
+                        ps.setString(1, book.getTitle());
+                        ps.setString(2, book.getGenre());
+                        ps.setBigDecimal(3, book.getPrice());
+                        ps.setLong(4, book.getAuthorId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return books.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < books.size(); i++) {
+            // Only the id column is requested, its key name depends on the driver
+            Number id = (Number) keys.get(i).values().iterator().next();
+            books.get(i).setId(id.longValue());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.library.repository;
+
+/**
+ * Natural key of a book, matching the uk_book_title_author unique constraint.
+ *
+ * @param title the title of the book
+ * @param authorId the ID of the book's author
+ */
+public record BookKey(String title, Long authorId) {
+}
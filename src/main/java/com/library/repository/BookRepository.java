@@ -1,26 +1,41 @@
 package com.library.repository;
 
 import com.library.domain.Book;
+import com.library.dto.BookDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for {@link Book} entity.
  * Provides CRUD operations and custom queries for book management.
  * Handles unique book constraints and author relationships.
+ * Page and export queries project straight into {@link BookDTO}s, so reading does not create managed entities.
  * Extends {@link JpaRepository} to inherit standard data access operations.
  */
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookBatchRepository {
 
     /**
      * Checks if a book with the given title exists for a specific author.
      * Used to enforce the unique constraint of one copy per book per author.
+     * Results are kept in the query cache until the book table changes.
      *
      * @param title the title of the book
      * @param authorId the ID of the author
      * @return true if a book with the same title exists for the author, false otherwise
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByTitleAndAuthorId(String title, Long authorId);
 
     /**
@@ -32,4 +47,118 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      * @return Optional containing the book if found, empty Optional otherwise
      */
     Optional<Book> findByTitleAndAuthorId(String title, Long authorId);
+
+    /**
+     * Retrieves the next page of books ordered by id.
+     * Seeks past the last id of the previous page, so deep pages cost the same as the first one.
+     *
+     * @param afterId the id of the last book of the previous page (0 for the first page)
+     * @param pageable limits the number of returned rows
+     * @return the books following the given id
+     */
+    @Query("select new com.library.dto.BookDTO(b.id, b.title, b.genre, b.price, b.author.id) from Book b where b.id > :afterId order by b.id")
+    List<BookDTO> findPageOrderById(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the next page of books ordered by title, using the id as tie breaker.
+     *
+     * @param title the title of the last book of the previous page (empty for the first page)
+     * @param afterId the id of the last book of the previous page (0 for the first page)
+     * @param pageable limits the number of returned rows
+     * @return the books following the given title and id
+     */
+    @Query("select new com.library.dto.BookDTO(b.id, b.title, b.genre, b.price, b.author.id) from Book b "
+            + "where b.title >= :title and (b.title > :title or b.id > :afterId) order by b.title, b.id")
+    List<BookDTO> findPageOrderByTitle(@Param("title") String title, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Streams all books ordered by id for exports.
+     * Rows are fetched from the database cursor in batches and projected into DTOs,
+     * so the persistence context does not grow with the export.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of all books
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.library.dto.BookDTO(b.id, b.title, b.genre, b.price, b.author.id) from Book b order by b.id")
+    Stream<BookDTO> streamAllOrderById();
+
+    /**
+     * Returns which of the given book IDs exist.
+     * Used by bulk operations to check several books with one query.
+     *
+     * @param ids the book IDs to check
+     * @return the IDs of the existing books
+     */
+    @Query("select b.id from Book b where b.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams the IDs of all books, for rebuilding the loan state index.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of all book IDs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select b.id from Book b")
+    Stream<Long> streamIds();
+
+    /**
+     * Returns the title and author combinations that already exist among the given candidates.
+     * Matches the cross product of titles and author IDs, callers filter the result by exact key.
+     * Used by catalog imports to pre-check the uk_book_title_author constraint for a whole chunk.
+     *
+     * @param authorIds the author IDs of the candidate books
+     * @param titles the titles of the candidate books
+     * @return the keys of existing books matching any of the given titles and authors
+     */
+    @Query("select new com.library.repository.BookKey(b.title, b.author.id) from Book b "
+            + "where b.author.id in :authorIds and b.title in :titles")
+    List<BookKey> findExistingKeys(@Param("authorIds") Collection<Long> authorIds,
+                                   @Param("titles") Collection<String> titles);
+
+    /**
+     * Finds a book by ID and locks its row until the end of the transaction.
+     * Serializes loan admissions of the same book.
+     *
+     * @param id the book ID
+     * @return Optional containing the locked book if found, empty Optional otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id = :id")
+    Optional<Book> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Finds the books with the given IDs and locks their rows until the end of the transaction.
+     * Rows are locked in ID order, so concurrent bulk operations cannot deadlock each other.
+     * Bulk loans lock their books after their members, like a single loan does.
+     *
+     * @param ids the book IDs
+     * @return the locked books that exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id in :ids order by b.id")
+    List<Book> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Computes an aggregate over all books that changes with every insert, update and delete.
+     * Used as the version of the books collection for conditional GET requests.
+     *
+     * @return the collection stamp
+     */
+    @Query("select new com.library.repository.CollectionStamp(count(b), max(b.id), sum(b.version)) "
+            + "from Book b")
+    CollectionStamp findCollectionStamp();
+
+    /**
+     * Streams the searchable fields of all books.
+     * Used to rebuild the in-memory book search index.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of all books
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.library.repository.SearchableBook(b.id, b.title, b.genre, b.price, b.author.id) "
+            + "from Book b")
+    Stream<SearchableBook> streamSearchable();
 }
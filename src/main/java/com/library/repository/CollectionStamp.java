@@ -0,0 +1,15 @@
+package com.library.repository;
+
+/**
+ * Aggregate over all rows of a table that changes whenever a row is inserted, updated or deleted.
+ * Inserts raise the count and the maximum ID, updates raise the sum of versions
+ * and deletes lower the count.
+ * It carries no modification time: the latest update timestamp of the remaining rows does not
+ * advance when a row is deleted.
+ *
+ * @param count the number of rows
+ * @param maxId the highest ID, null for an empty table
+ * @param versionSum the sum of all row versions, null for an empty table
+ */
+public record CollectionStamp(Long count, Long maxId, Long versionSum) {
+}
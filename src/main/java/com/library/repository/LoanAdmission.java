@@ -0,0 +1,28 @@
+package com.library.repository;
+
+/**
+ * Result of the single-statement loan admission query.
+ * The outcome is one of ADMITTED, MEMBER_NOT_FOUND, BOOK_NOT_FOUND, BOOK_LOANED or LIMIT_REACHED.
+ */
+public interface LoanAdmission {
+
+    String ADMITTED = "ADMITTED";
+    String MEMBER_NOT_FOUND = "MEMBER_NOT_FOUND";
+    String BOOK_NOT_FOUND = "BOOK_NOT_FOUND";
+    String BOOK_LOANED = "BOOK_LOANED";
+    String LIMIT_REACHED = "LIMIT_REACHED";
+
+    /**
+     * Returns the outcome of the admission checks.
+     *
+     * @return the outcome
+     */
+    String getOutcome();
+
+    /**
+     * Returns the ID of the inserted loan.
+     *
+     * @return the loan ID, or null if no loan was inserted
+     */
+    Long getLoanId();
+}
@@ -0,0 +1,32 @@
+package com.library.repository;
+
+import com.library.dto.LoanDTO;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for bulk loan inserts.
+ * Loan IDs use IDENTITY generation, which prevents Hibernate from batching inserts,
+ * so bulk checkouts write through a single JDBC batch instead.
+ */
+public interface LoanBatchRepository {
+
+    /**
+     * Inserts the given loans as active loans using one JDBC batch.
+     * The generated IDs are assigned to the given DTOs in input order.
+     *
+     * @param loans the loans to insert, with member ID, book ID and lend date set
+     */
+    void insertLoans(List<LoanDTO> loans);
+
+    /**
+     * Inserts the given loans as active loans with one PostgreSQL statement, skipping every loan
+     * whose book has an active loan already, e.g. one just admitted by a concurrent transaction.
+     * Skipped loans are detected by the uk_loan_active_book partial unique index instead of failing
+     * the statement. The generated IDs are assigned to the inserted DTOs; skipped ones keep no ID.
+     *
+     * @param loans the loans to insert, with member ID, book ID and lend date set, each book once
+     * @return the skipped loans, in input order
+     */
+    List<LoanDTO> insertAvailableLoans(List<LoanDTO> loans);
+}
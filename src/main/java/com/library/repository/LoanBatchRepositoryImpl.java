@@ -0,0 +1,103 @@
+package com.library.repository;
+
+import com.library.dto.LoanDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC implementation of {@link LoanBatchRepository}.
+ * Runs inside the surrounding JPA transaction, which exposes its connection to the JdbcTemplate.
+ */
+@RequiredArgsConstructor
+class LoanBatchRepositoryImpl implements LoanBatchRepository {
+
+    private static final String INSERT_LOAN = "INSERT INTO loan (member_id, book_id, lend_date, due_date) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_AVAILABLE_LOANS = """
+            INSERT INTO loan (member_id, book_id, lend_date, due_date)
+            SELECT * FROM unnest(?::bigint[], ?::bigint[], ?::date[], ?::date[])
+            ON CONFLICT (book_id) WHERE return_date IS NULL DO NOTHING
+            RETURNING id, book_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertLoans(List<LoanDTO> loans) {
+        if (loans.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_LOAN, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        LoanDTO loan = loans.get(i);
+                        ps.setLong(1, loan.getMemberId());
+                        ps.setLong(2, loan.getBookId());
+                        ps.setDate(3, Date.valueOf(loan.getLendDate()));
+                        ps.setDate(4, Date.valueOf(loan.getDueDate()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return loans.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < loans.size(); i++) {
+            // Only the id column is requested, its key name depends on the driver
+            Number id = (Number) keys.get(i).values().iterator().next();
+            loans.get(i).setId(id.longValue());
+        }
+    }
+
+    @Override
+    public List<LoanDTO> insertAvailableLoans(List<LoanDTO> loans) {
+        if (loans.isEmpty()) {
+            return List.of();
+        }
+
+        // Columns are passed as arrays, so the statement is the same for every batch size
+        Map<Long, Long> idsByBook = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_AVAILABLE_LOANS);
+            ps.setArray(1, connection.createArrayOf("bigint", loans.stream().map(LoanDTO::getMemberId).toArray()));
+            ps.setArray(2, connection.createArrayOf("bigint", loans.stream().map(LoanDTO::getBookId).toArray()));
+            ps.setArray(3, connection.createArrayOf("date",
+                    loans.stream().map(loan -> Date.valueOf(loan.getLendDate())).toArray()));
+            ps.setArray(4, connection.createArrayOf("date",
+                    loans.stream().map(loan -> Date.valueOf(loan.getDueDate())).toArray()));
+            return ps;
+        }, (ResultSet rs) -> {
+            idsByBook.put(rs.getLong("book_id"), rs.getLong("id"));
+        });
+
+        List<LoanDTO> skipped = new ArrayList<>();
+        for (LoanDTO loan : loans) {
+            Long id = idsByBook.get(loan.getBookId());
+            if (id == null) {
+                skipped.add(loan);
+            } else {
+                loan.setId(id);
+            }
+        }
+        return skipped;
+    }
+}
@@ -1,16 +1,32 @@
 package com.library.repository;
 
 import com.library.domain.Loan;
+import com.library.dto.LoanDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for {@link Loan} entity.
  * Provides CRUD operations and custom queries for loan management.
  * Handles active loans tracking and loan limit enforcement.
- * Extends {@link JpaRepository} to inherit standard data access operations.
+ * Read queries of the API project straight into {@link LoanDTO}s, so reading does not create managed entities.
+ * Extends {@link JpaRepository} to inherit standard data access operations
+ * and {@link LoanBatchRepository} for JDBC batch inserts.
  */
-public interface LoanRepository extends JpaRepository<Loan, Long> {
+public interface LoanRepository extends JpaRepository<Loan, Long>, LoanBatchRepository {
 
     /**
      * Counts the number of active (unreturned) loans for a specific member.
@@ -38,4 +54,155 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
      * @return list of active loans for the member
      */
     List<Loan> findByMemberIdAndReturnDateIsNull(Long memberId);
+
+    /**
+     * Retrieves the next page of loans ordered by id.
+     * Ids are assigned in creation order, so this is also the order in which loans were made.
+     * Seeks past the last id of the previous page, so deep pages cost the same as the first one.
+     *
+     * @param afterId the id of the last loan of the previous page (0 for the first page)
+     * @param pageable limits the number of returned rows
+     * @return the loans following the given id
+     */
+    @Query("select new com.library.dto.LoanDTO(l.id, l.member.id, l.book.id, l.lendDate, l.dueDate, l.returnDate) from Loan l where l.id > :afterId order by l.id")
+    List<LoanDTO> findPageOrderById(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves a single loan as DTO.
+     * Reads the member and book IDs from the foreign key columns without loading either entity.
+     *
+     * @param id the loan ID
+     * @return Optional containing the loan if found, empty Optional otherwise
+     */
+    @Query("select new com.library.dto.LoanDTO(l.id, l.member.id, l.book.id, l.lendDate, l.dueDate, l.returnDate) from Loan l where l.id = :id")
+    Optional<LoanDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * Streams all loans ordered by id for exports.
+     * Rows are fetched from the database cursor in batches and projected into DTOs,
+     * so the persistence context does not grow with the export.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of all loans
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.library.dto.LoanDTO(l.id, l.member.id, l.book.id, l.lendDate, l.dueDate, l.returnDate) from Loan l order by l.id")
+    Stream<LoanDTO> streamAllOrderById();
+
+    /**
+     * Returns which of the given books are currently on loan.
+     * Set-based variant of {@link #existsByBookIdAndReturnDateIsNull(Long)} used by bulk checkouts.
+     *
+     * @param bookIds the IDs of the books to check
+     * @return the IDs of the books that have an active loan
+     */
+    @Query("select l.book.id from Loan l where l.book.id in :bookIds and l.returnDate is null")
+    List<Long> findLoanedBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+    /**
+     * Counts the active loans of several members in one query.
+     * Set-based variant of {@link #countByMemberIdAndReturnDateIsNull(Long)} used by bulk checkouts.
+     * Members without active loans are not contained in the result.
+     *
+     * @param memberIds the IDs of the members to check
+     * @return the number of active loans per member
+     */
+    @Query("select new com.library.repository.MemberLoanCount(l.member.id, count(l)) from Loan l "
+            + "where l.member.id in :memberIds and l.returnDate is null group by l.member.id")
+    List<MemberLoanCount> countActiveLoansByMemberIds(@Param("memberIds") Collection<Long> memberIds);
+
+    /**
+     * Loads several loans and locks their rows until the end of the transaction.
+     * Used by bulk returns so concurrent returns of the same loan are serialized.
+     *
+     * @param ids the IDs of the loans to load
+     * @return the loans found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from Loan l where l.id in :ids")
+    List<Loan> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams member and book of all active (unreturned) loans.
+     * Used to rebuild the in-memory loan state index at startup.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of all active loans
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.library.repository.ActiveLoan(l.member.id, l.book.id) from Loan l "
+            + "where l.returnDate is null")
+    Stream<ActiveLoan> streamActiveLoans();
+
+    /**
+     * Streams all active (unreturned) loans ordered by due date.
+     * Reads the idx_loan_active_due_date partial index; used to load the overdue detector at startup.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of all active loans as DTOs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.library.dto.LoanDTO(l.id, l.member.id, l.book.id, l.lendDate, l.dueDate, l.returnDate) "
+            + "from Loan l where l.returnDate is null order by l.dueDate")
+    Stream<LoanDTO> streamActiveOrderByDueDate();
+
+    /**
+     * Selects the next chunk of loans returned before the given date and locks their rows.
+     * Rows locked by a concurrent archiver are skipped, so several instances can archive at once.
+     *
+     * @param cutoff the loans returned before this date are selected
+     * @param limit the maximum number of loans to select
+     * @return the IDs of the locked loans, in ascending order
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM loan WHERE return_date < :cutoff ORDER BY id "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED")
+    List<Long> lockReturnedBefore(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
+
+    /**
+     * Deletes the given loans with a single statement, after they have been archived.
+     *
+     * @param ids the IDs of the loans to delete
+     * @return the number of deleted loans
+     */
+    @Modifying
+    @Query("delete from Loan l where l.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Checks all loan rules and inserts the loan in a single PostgreSQL statement.
+     * The rules are evaluated in the order member exists, book available, member below the loan limit,
+     * book exists, and the first violated rule is returned as outcome.
+     * The insert skips books that a concurrent transaction has just loaned, using the
+     * uk_loan_active_book partial unique index; the outcome then stays ADMITTED without loan ID.
+     * All checks read the statement snapshot, so callers must lock the member beforehand
+     * to keep concurrent loans of the same member from both passing the limit check.
+     *
+     * @param memberId the ID of the borrowing member
+     * @param bookId the ID of the book to loan
+     * @param lendDate the lend date of the new loan
+     * @param dueDate the due date of the new loan
+     * @param maxActiveLoans the maximum number of active loans per member
+     * @return the admission outcome and the ID of the inserted loan
+     */
+    @Query(nativeQuery = true, value = """
+            WITH admission AS (
+                SELECT CASE
+                    WHEN NOT EXISTS (SELECT 1 FROM member WHERE id = :memberId) THEN 'MEMBER_NOT_FOUND'
+                    WHEN EXISTS (SELECT 1 FROM loan WHERE book_id = :bookId AND return_date IS NULL) THEN 'BOOK_LOANED'
+                    WHEN (SELECT count(*) FROM loan WHERE member_id = :memberId AND return_date IS NULL)
+                            >= :maxActiveLoans THEN 'LIMIT_REACHED'
+                    WHEN NOT EXISTS (SELECT 1 FROM book WHERE id = :bookId) THEN 'BOOK_NOT_FOUND'
+                    ELSE 'ADMITTED'
+                END AS outcome
+            ), inserted AS (
+                INSERT INTO loan (member_id, book_id, lend_date, due_date)
+                SELECT :memberId, :bookId, :lendDate, :dueDate FROM admission WHERE outcome = 'ADMITTED'
+                ON CONFLICT (book_id) WHERE return_date IS NULL DO NOTHING
+                RETURNING id
+            )
+            SELECT a.outcome AS outcome, i.id AS "loanId" FROM admission a LEFT JOIN inserted i ON true
+            """)
+    LoanAdmission admitLoan(@Param("memberId") Long memberId, @Param("bookId") Long bookId,
+                            @Param("lendDate") LocalDate lendDate, @Param("dueDate") LocalDate dueDate,
+                            @Param("maxActiveLoans") int maxActiveLoans);
 }
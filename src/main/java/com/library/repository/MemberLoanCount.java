@@ -0,0 +1,10 @@
+package com.library.repository;
+
+/**
+ * Number of active loans of a member, as returned by grouped count queries.
+ *
+ * @param memberId the ID of the member
+ * @param activeLoans the number of loans without return date
+ */
+public record MemberLoanCount(Long memberId, Long activeLoans) {
+}
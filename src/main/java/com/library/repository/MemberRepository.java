@@ -1,11 +1,26 @@
 package com.library.repository;
 
 import com.library.domain.Member;
+import com.library.dto.MemberDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for {@link Member} entity.
  * Provides CRUD operations and custom queries for member management.
+ * Page queries project straight into {@link MemberDTO}s, so reading does not create managed entities.
  * Extends {@link JpaRepository} to inherit standard data access operations.
  */
 public interface MemberRepository extends JpaRepository<Member, Long> {
@@ -27,4 +42,72 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
      * @return true if a member with the email exists, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Streams the IDs of all members, for rebuilding the loan state index.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return stream of all member IDs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select m.id from Member m")
+    Stream<Long> streamIds();
+
+    /**
+     * Retrieves the next page of members ordered by id.
+     * Seeks past the last id of the previous page, so deep pages cost the same as the first one.
+     *
+     * @param afterId the id of the last member of the previous page (0 for the first page)
+     * @param pageable limits the number of returned rows
+     * @return the members following the given id
+     */
+    @Query("select new com.library.dto.MemberDTO(m.id, m.username, m.email, m.address, m.phoneNumber) from Member m where m.id > :afterId order by m.id")
+    List<MemberDTO> findPageOrderById(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the next page of members ordered by username, using the id as tie breaker.
+     *
+     * @param username the username of the last member of the previous page (empty for the first page)
+     * @param afterId the id of the last member of the previous page (0 for the first page)
+     * @param pageable limits the number of returned rows
+     * @return the members following the given username and id
+     */
+    @Query("select new com.library.dto.MemberDTO(m.id, m.username, m.email, m.address, m.phoneNumber) from Member m "
+            + "where m.username >= :username and (m.username > :username or m.id > :afterId) "
+            + "order by m.username, m.id")
+    List<MemberDTO> findPageOrderByUsername(@Param("username") String username, @Param("afterId") long afterId,
+                                            Pageable pageable);
+
+    /**
+     * Finds a member by ID and locks its row until the end of the transaction.
+     * Serializes loan admissions of the same member, so concurrent requests cannot
+     * both pass the loan limit check.
+     *
+     * @param id the member ID
+     * @return Optional containing the locked member if found, empty Optional otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Member m where m.id = :id")
+    Optional<Member> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Finds the members with the given IDs and locks their rows until the end of the transaction.
+     * Rows are locked in ID order, so concurrent bulk operations cannot deadlock each other.
+     *
+     * @param ids the member IDs
+     * @return the locked members that exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Member m where m.id in :ids order by m.id")
+    List<Member> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Computes an aggregate over all members that changes with every insert, update and delete.
+     * Used as the version of the members collection for conditional GET requests.
+     *
+     * @return the collection stamp
+     */
+    @Query("select new com.library.repository.CollectionStamp(count(m), max(m.id), sum(m.version)) "
+            + "from Member m")
+    CollectionStamp findCollectionStamp();
 }
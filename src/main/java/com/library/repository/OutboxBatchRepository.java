@@ -0,0 +1,20 @@
+package com.library.repository;
+
+import com.library.domain.OutboxEntry;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for bulk outbox inserts.
+ * Outbox IDs use IDENTITY generation, which prevents Hibernate from batching inserts,
+ * so the events of a transaction are written through a single JDBC batch instead.
+ */
+public interface OutboxBatchRepository {
+
+    /**
+     * Inserts the given outbox entries using one JDBC batch.
+     *
+     * @param entries the entries to insert, with all columns but the ID and attempts set
+     */
+    void insertEntries(List<OutboxEntry> entries);
+}
@@ -0,0 +1,50 @@
+package com.library.repository;
+
+import com.library.domain.OutboxEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link OutboxBatchRepository}.
+ * Runs inside the surrounding JPA transaction, which exposes its connection to the JdbcTemplate.
+ */
+@RequiredArgsConstructor
+class OutboxBatchRepositoryImpl implements OutboxBatchRepository {
+
+    private static final String INSERT_ENTRY = "INSERT INTO outbox_event "
+            + "(aggregate_type, aggregate_id, event_type, payload, created_at, attempts, next_attempt_at, dead_letter) "
+            + "VALUES (?, ?, ?, ?, ?, 0, ?, FALSE)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertEntries(List<OutboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OutboxEntry entry = entries.get(i);
+                ps.setString(1, entry.getAggregateType());
+                ps.setLong(2, entry.getAggregateId());
+                ps.setString(3, entry.getEventType());
+                ps.setString(4, entry.getPayload());
+                ps.setObject(5, entry.getCreatedAt().atOffset(ZoneOffset.UTC));
+                ps.setObject(6, entry.getCreatedAt().atOffset(ZoneOffset.UTC));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package com.library.repository;
+
+import com.library.domain.OutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the transactional outbox.
+ * Entries are written in bulk through {@link OutboxBatchRepository} and drained by the outbox relay.
+ */
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEntry, Long>, OutboxBatchRepository {
+
+    /**
+     * Selects the next entries to relay and locks their rows.
+     * Only the oldest pending entry of each aggregate is selected, so the events of an aggregate
+     * are delivered in order even with several relays: a later event only becomes eligible once
+     * the earlier one has been delivered and deleted, or parked as a dead letter. Entries waiting
+     * for their next attempt hold back their aggregate as well. Rows locked by a concurrent relay are skipped.
+     *
+     * @param limit the maximum number of entries to select
+     * @param now the current time; entries whose next attempt is later are not selected
+     * @return the locked entries, in ascending ID order
+     */
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM outbox_event o
+            WHERE NOT o.dead_letter
+              AND o.next_attempt_at <= :now
+              AND NOT EXISTS (SELECT 1 FROM outbox_event p
+                              WHERE p.aggregate_type = o.aggregate_type
+                                AND p.aggregate_id = o.aggregate_id
+                                AND p.id < o.id
+                                AND NOT p.dead_letter)
+            ORDER BY o.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """)
+    List<OutboxEntry> lockNextBatch(@Param("limit") int limit, @Param("now") Instant now);
+
+    /**
+     * Returns the oldest pending entry that is not a dead letter, whose age is the lag of the relay.
+     *
+     * @return the pending entry with the lowest ID, if any
+     */
+    Optional<OutboxEntry> findFirstByDeadLetterFalseOrderByIdAsc();
+
+    /**
+     * Counts the entries parked as dead letters after too many failed deliveries.
+     *
+     * @return the number of dead letters
+     */
+    long countByDeadLetterTrue();
+
+    /**
+     * Deletes the given entries with a single statement, after they have been delivered.
+     *
+     * @param ids the IDs of the entries to delete
+     * @return the number of deleted entries
+     */
+    @Modifying
+    @Query("delete from OutboxEntry e where e.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,184 @@
+package com.library.repository;
+
+import com.library.dto.AuthorDTO;
+import com.library.dto.BookDTO;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Non-blocking read access to books and authors through R2DBC, for the reactive catalog endpoints.
+ * The queries are the SQL counterparts of the DTO projections of {@link BookRepository} and
+ * {@link AuthorRepository} and use the same indexes.
+ *
+ * The connection pool is owned by this repository and not exposed as a ConnectionFactory bean:
+ * such a bean would make Spring Boot back off from the JDBC DataSource used by JPA and Flyway.
+ * It connects to library.reactive.r2dbc.url with the credentials of the JDBC DataSource.
+ */
+@Repository
+public class ReactiveCatalogRepository implements DisposableBean {
+
+    private static final String SELECT_BOOK = "SELECT id, title, genre, price, author_id FROM book ";
+    private static final String SELECT_AUTHOR = "SELECT id, name, date_of_birth FROM author ";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+    private final int fetchSize;
+
+    public ReactiveCatalogRepository(@Value("${library.reactive.r2dbc.url}") String url,
+                                     @Value("${spring.datasource.username:}") String username,
+                                     @Value("${spring.datasource.password:}") String password,
+                                     @Value("${library.reactive.r2dbc.pool-size:10}") int poolSize,
+                                     @Value("${library.reactive.r2dbc.fetch-size:250}") int fetchSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        // Connections are opened on first use, the application starts without the reactive database
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("reactive-catalog")
+                .initialSize(0)
+                .maxSize(poolSize)
+                .build());
+        this.client = DatabaseClient.create(pool);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Retrieves a book by its ID.
+     *
+     * @param id the book ID
+     * @return the book, or empty if not found
+     */
+    public Mono<BookDTO> findBookById(long id) {
+        return client.sql(SELECT_BOOK + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::toBook)
+                .one();
+    }
+
+    /**
+     * Retrieves the next page of books ordered by id.
+     *
+     * @param afterId the id of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books
+     * @return the books of the page
+     */
+    public Flux<BookDTO> findBookPageOrderById(long afterId, int limit) {
+        return client.sql(SELECT_BOOK + "WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveCatalogRepository::toBook)
+                .all();
+    }
+
+    /**
+     * Retrieves the next page of books ordered by title, using the id as tie breaker.
+     *
+     * @param title the title of the last book of the previous page, empty for the first page
+     * @param afterId the id of the last book of the previous page, 0 for the first page
+     * @param limit the maximum number of books
+     * @return the books of the page
+     */
+    public Flux<BookDTO> findBookPageOrderByTitle(String title, long afterId, int limit) {
+        return client.sql(SELECT_BOOK + "WHERE title >= :title AND (title > :title OR id > :afterId) "
+                        + "ORDER BY title, id LIMIT :limit")
+                .bind("title", title)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveCatalogRepository::toBook)
+                .all();
+    }
+
+    /**
+     * Streams all books ordered by id.
+     * Rows are fetched in batches of library.reactive.r2dbc.fetch-size as the subscriber requests them,
+     * so a slow subscriber holds back the query instead of buffering the catalog in memory.
+     *
+     * @return all books
+     */
+    public Flux<BookDTO> streamBooks() {
+        return client.sql(SELECT_BOOK + "ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveCatalogRepository::toBook)
+                .all();
+    }
+
+    /**
+     * Retrieves an author by their ID.
+     *
+     * @param id the author ID
+     * @return the author, or empty if not found
+     */
+    public Mono<AuthorDTO> findAuthorById(long id) {
+        return client.sql(SELECT_AUTHOR + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::toAuthor)
+                .one();
+    }
+
+    /**
+     * Retrieves the next page of authors ordered by id.
+     *
+     * @param afterId the id of the last author of the previous page, 0 for the first page
+     * @param limit the maximum number of authors
+     * @return the authors of the page
+     */
+    public Flux<AuthorDTO> findAuthorPageOrderById(long afterId, int limit) {
+        return client.sql(SELECT_AUTHOR + "WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveCatalogRepository::toAuthor)
+                .all();
+    }
+
+    /**
+     * Retrieves the next page of authors ordered by name, using the id as tie breaker.
+     *
+     * @param name the name of the last author of the previous page, empty for the first page
+     * @param afterId the id of the last author of the previous page, 0 for the first page
+     * @param limit the maximum number of authors
+     * @return the authors of the page
+     */
+    public Flux<AuthorDTO> findAuthorPageOrderByName(String name, long afterId, int limit) {
+        return client.sql(SELECT_AUTHOR + "WHERE name >= :name AND (name > :name OR id > :afterId) "
+                        + "ORDER BY name, id LIMIT :limit")
+                .bind("name", name)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveCatalogRepository::toAuthor)
+                .all();
+    }
+
+    /**
+     * Closes the connection pool.
+     */
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private static BookDTO toBook(Readable row) {
+        return new BookDTO(row.get("id", Long.class), row.get("title", String.class), row.get("genre", String.class),
+                row.get("price", BigDecimal.class), row.get("author_id", Long.class));
+    }
+
+    private static AuthorDTO toAuthor(Readable row) {
+        return new AuthorDTO(row.get("id", Long.class), row.get("name", String.class),
+                row.get("date_of_birth", LocalDate.class));
+    }
+}
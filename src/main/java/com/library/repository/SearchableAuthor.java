@@ -0,0 +1,10 @@
+package com.library.repository;
+
+/**
+ * Author fields indexed by the book search.
+ *
+ * @param id the ID of the author
+ * @param name the name of the author
+ */
+public record SearchableAuthor(Long id, String name) {
+}
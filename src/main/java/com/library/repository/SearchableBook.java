@@ -0,0 +1,15 @@
+package com.library.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Book fields indexed by the book search.
+ *
+ * @param id the ID of the book
+ * @param title the title of the book
+ * @param genre the genre of the book
+ * @param price the price of the book
+ * @param authorId the ID of the book's author
+ */
+public record SearchableBook(Long id, String title, String genre, BigDecimal price, Long authorId) {
+}
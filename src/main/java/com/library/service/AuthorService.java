@@ -2,25 +2,37 @@ package com.library.service;
 
 import com.library.domain.Author;
 import com.library.dto.AuthorDTO;
+import com.library.dto.CursorPage;
+import com.library.event.AuthorChangedEvent;
+import com.library.event.ChangeType;
+import com.library.exception.BusinessException;
 import com.library.exception.ResourceNotFoundException;
 import com.library.repository.AuthorRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Service for managing authors in the library system.
  * Handles author creation, updates, deletion, and retrieval operations.
  * Authors can have multiple books associated with them.
+ * Publishes an {@link AuthorChangedEvent} for every change.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "library.service", histogram = true)
 public class AuthorService {
     private final AuthorRepository authorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SerializedResponseCache serializedResponseCache;
 
     /**
      * Creates a new author in the system.
@@ -34,7 +46,9 @@ public class AuthorService {
         author.setName(authorDTO.getName());
         author.setDateOfBirth(authorDTO.getDateOfBirth());
 
-        return convertToDTO(authorRepository.save(author));
+        AuthorDTO created = convertToDTO(authorRepository.save(author));
+        eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.CREATED, created));
+        return created;
     }
 
     /**
@@ -49,14 +63,68 @@ public class AuthorService {
     }
 
     /**
-     * Retrieves all authors in the system.
+     * Returns the current version of an author for conditional GET requests.
+     * The loaded entity stays in the request's persistence context, so a following
+     * {@link #getAuthor(Long)} does not query the database again.
      *
-     * @return list of all authors as DTOs
+     * @param id the author ID
+     * @return the author's ETag and last modification time
+     * @throws ResourceNotFoundException if the author is not found
      */
-    public List<AuthorDTO> getAllAuthors() {
-        return authorRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ResourceVersion getAuthorVersion(Long id) {
+        Author author = findAuthorById(id);
+        return ResourceVersion.of(author.getVersion(), author.getUpdatedAt());
+    }
+
+    /**
+     * Returns the JSON representation of an author in the given version.
+     * Served from the {@link SerializedResponseCache}; the author is only loaded and serialized
+     * if the cache does not hold this version yet.
+     *
+     * @param id the author ID
+     * @param version the current version of the author, from {@link #getAuthorVersion(Long)}
+     * @return the serialized author, read-only
+     * @throws ResourceNotFoundException if the author is not found
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ByteBuffer getSerializedAuthor(Long id, ResourceVersion version) {
+        return serializedResponseCache.get(SerializedResponseCache.AUTHORS, id, version.eTag(), () -> getAuthor(id));
+    }
+
+    /**
+     * Returns the current version of the author collection for conditional GET requests.
+     * Computed with a single aggregate query, independent of the requested page.
+     *
+     * @return the ETag of all authors, without modification time
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getAuthorsVersion() {
+        return ResourceVersion.of(authorRepository.findCollectionStamp());
+    }
+
+    /**
+     * Retrieves one page of authors using keyset pagination.
+     * Supported sort keys are "id" and "name".
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the requested page size, capped at {@link Cursor#MAX_PAGE_SIZE}
+     * @param sort the sort key
+     * @return the page of authors as DTOs
+     * @throws BusinessException if the cursor, size or sort key is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AuthorDTO> getAuthors(String cursor, int size, String sort) {
+        int pageSize = Cursor.pageSize(size);
+        Cursor after = Cursor.decode(cursor, sort);
+
+        List<AuthorDTO> rows = switch (sort) {
+            case Cursor.ID -> authorRepository.findPageOrderById(after.id(), Cursor.window(pageSize));
+            case "name" -> authorRepository.findPageOrderByName(after.key(), after.id(), Cursor.window(pageSize));
+            default -> throw new BusinessException("Unsupported sort key: " + sort);
+        };
+
+        return Cursor.page(rows, pageSize, sort, AuthorDTO::getName, AuthorDTO::getId, Function.identity());
     }
 
     /**
@@ -73,7 +141,9 @@ public class AuthorService {
         author.setName(authorDTO.getName());
         author.setDateOfBirth(authorDTO.getDateOfBirth());
 
-        return convertToDTO(authorRepository.save(author));
+        AuthorDTO updated = convertToDTO(authorRepository.save(author));
+        eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.UPDATED, updated));
+        return updated;
     }
 
     /**
@@ -88,6 +158,10 @@ public class AuthorService {
             throw new ResourceNotFoundException("Author not found with id: " + id);
         }
         authorRepository.deleteById(id);
+
+        AuthorDTO deleted = new AuthorDTO();
+        deleted.setId(id);
+        eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.DELETED, deleted));
     }
 
     /**
@@ -109,7 +183,7 @@ public class AuthorService {
      * @param author the author entity to convert
      * @return the author as DTO
      */
-    private AuthorDTO convertToDTO(Author author) {
+    static AuthorDTO convertToDTO(Author author) {
         AuthorDTO dto = new AuthorDTO();
         dto.setId(author.getId());
         dto.setName(author.getName());
@@ -0,0 +1,367 @@
+package com.library.service;
+
+import com.library.dto.BookAvailabilityDTO;
+import com.library.event.ChangeType;
+import com.library.event.LoanChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Broadcasts book availability changes to Server-Sent Events subscribers.
+ * A committed loan makes its book unavailable, a committed return available again.
+ *
+ * Subscribers hold no thread while idle: each stream is an async request, and changes are written
+ * by a small pool of sender threads (library.availability.stream.senders). Every subscriber has its
+ * own buffer of unsent changes, coalesced per book so only the latest availability is sent.
+ * When more than library.availability.stream.buffer-size books are waiting for a slow subscriber,
+ * its buffer is dropped and a "reset" event tells the client to reload the availability of all books.
+ * A write that has not finished after library.availability.stream.send-timeout is found at the next
+ * heartbeat: the subscriber is dropped and its sender thread interrupted, so a stalled client does not
+ * hold a sender thread for the other subscribers. A write that ignores the interrupt still ends at the
+ * write timeout of the servlet container, and the stream is then completed.
+ *
+ * Every change has an event ID. The last library.availability.stream.replay-size changes are kept,
+ * so a client reconnecting with Last-Event-ID receives the changes it missed; if they are no longer
+ * kept, or the ID is from before a restart, it receives a "reset" event instead. Like the
+ * {@link LoanStateIndex}, the stream only sees loans made and returned through this instance.
+ *
+ * Published meters:
+ * - library.availability.subscribers
+ * - library.availability.resets, buffers dropped and resumptions not possible
+ * - library.availability.stalled, subscribers dropped for a write past the send timeout
+ */
+@Slf4j
+@Component
+public class AvailabilityBroadcaster implements DisposableBean {
+
+    static final String AVAILABILITY_EVENT = "availability";
+    static final String RESET_EVENT = "reset";
+
+    /**
+     * A change, numbered in the order of the commits.
+     */
+    record Change(long sequence, long bookId, boolean available) {
+    }
+
+    /** Distinguishes the event IDs of this instance from those of earlier runs. */
+    private final String streamId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ArrayDeque<Change> replay = new ArrayDeque<>();
+    private final ExecutorService senders;
+    private final Counter resets;
+    private final Counter stalled;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final int bufferSize;
+    private final int replaySize;
+    private long sequence;
+
+    public AvailabilityBroadcaster(MeterRegistry registry,
+                                   @Value("${library.availability.stream.senders:2}") int senders,
+                                   @Value("${library.availability.stream.timeout:PT30M}") Duration timeout,
+                                   @Value("${library.availability.stream.buffer-size:256}") int bufferSize,
+                                   @Value("${library.availability.stream.replay-size:4096}") int replaySize,
+                                   @Value("${library.availability.stream.send-timeout:PT10S}") Duration sendTimeout) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("availability-sse-");
+        threadFactory.setDaemon(true);
+        this.senders = Executors.newFixedThreadPool(senders, threadFactory);
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.resets = Counter.builder("library.availability.resets")
+                .description("Availability subscribers told to reload all books")
+                .register(registry);
+        this.stalled = Counter.builder("library.availability.stalled")
+                .description("Availability subscribers dropped for a stalled write")
+                .register(registry);
+        Gauge.builder("library.availability.subscribers", subscribers, Set::size)
+                .description("Open availability streams")
+                .register(registry);
+    }
+
+    /**
+     * Opens a stream for a new subscriber.
+     *
+     * @param lastEventId the Last-Event-ID sent by a reconnecting client, or null
+     * @return the emitter of the stream
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(timeoutMillis), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+
+        synchronized (replay) {
+            if (lastEventId != null) {
+                resume(subscriber, lastEventId);
+            }
+            // Registered while holding the replay lock, so no change is missed in between
+            subscribers.add(subscriber);
+        }
+        // Sends the response headers right away
+        subscriber.heartbeat();
+        return emitter;
+    }
+
+    /**
+     * Broadcasts the availability change of a committed loan or return.
+     *
+     * @param event the loan change
+     */
+    @TransactionalEventListener
+    public void onLoanChanged(LoanChangedEvent event) {
+        if (event.type() == ChangeType.CREATED) {
+            publish(event.loan().getBookId(), false);
+        } else if (event.type() == ChangeType.UPDATED && event.loan().getReturnDate() != null) {
+            publish(event.loan().getBookId(), true);
+        }
+    }
+
+    /**
+     * Sends a comment to all subscribers, keeping idle connections open through proxies
+     * and detecting clients that have gone away. Drops the subscribers whose write is stalled.
+     */
+    @Scheduled(fixedRateString = "${library.availability.stream.heartbeat:PT30S}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.dropIfStalled(now)) {
+                subscriber.heartbeat();
+            }
+        }
+    }
+
+    /**
+     * Completes all streams on shutdown; clients reconnect with their Last-Event-ID.
+     */
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    void publish(long bookId, boolean available) {
+        synchronized (replay) {
+            Change change = new Change(++sequence, bookId, available);
+            replay.addLast(change);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(change));
+        }
+    }
+
+    /**
+     * Queues the changes after the given event ID, or a reset if they are no longer kept.
+     * Called while holding the replay lock.
+     */
+    private void resume(Subscriber subscriber, String lastEventId) {
+        long lastSequence = parseSequence(lastEventId);
+        long oldestKept = replay.isEmpty() ? sequence + 1 : replay.getFirst().sequence();
+        if (lastSequence < oldestKept - 1 || lastSequence > sequence) {
+            subscriber.reset(sequence);
+            return;
+        }
+        for (Change change : replay) {
+            if (change.sequence() > lastSequence) {
+                subscriber.offer(change);
+            }
+        }
+    }
+
+    /**
+     * Returns the sequence of an event ID of this instance, or -1 for any other ID.
+     */
+    private long parseSequence(String eventId) {
+        int separator = eventId.indexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(streamId)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return streamId + "-" + sequence;
+    }
+
+    /**
+     * One open stream with its buffer of unsent changes.
+     * At most one sender thread drains a subscriber at a time.
+     */
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final Map<Long, Change> pending = new LinkedHashMap<>();
+        private long resetSequence = -1;
+        private boolean heartbeatDue;
+        private Thread writer;
+        private long writeStartedNanos;
+        private volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Change change) {
+            synchronized (this) {
+                if (resetSequence >= 0) {
+                    // A reset is pending, the client reloads everything anyway
+                    resetSequence = change.sequence();
+                } else {
+                    // Re-inserted, so the buffer stays in sequence order
+                    pending.remove(change.bookId());
+                    pending.put(change.bookId(), change);
+                    if (pending.size() > bufferSize) {
+                        reset(change.sequence());
+                    }
+                }
+            }
+            schedule();
+        }
+
+        synchronized void reset(long sequence) {
+            pending.clear();
+            resetSequence = sequence;
+            resets.increment();
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                heartbeatDue = true;
+            }
+            schedule();
+        }
+
+        /**
+         * Drops the subscriber if a write has been in progress for longer than the send timeout,
+         * and interrupts the sender thread blocked in it.
+         *
+         * @return whether the subscriber was dropped
+         */
+        synchronized boolean dropIfStalled(long now) {
+            if (writer == null || now - writeStartedNanos < sendTimeoutNanos) {
+                return false;
+            }
+            dropped = true;
+            subscribers.remove(this);
+            stalled.increment();
+            log.debug("Dropping availability subscriber, write stalled for {} ms",
+                    Duration.ofNanos(now - writeStartedNanos).toMillis());
+            writer.interrupt();
+            return true;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException ex) {
+                    // Shutting down
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                long reset;
+                List<Change> changes;
+                boolean sendHeartbeat;
+                synchronized (this) {
+                    reset = resetSequence;
+                    changes = new ArrayList<>(pending.values());
+                    sendHeartbeat = heartbeatDue && reset < 0 && changes.isEmpty();
+                    resetSequence = -1;
+                    pending.clear();
+                    heartbeatDue = false;
+                    if (reset < 0 && changes.isEmpty() && !sendHeartbeat) {
+                        scheduled.set(false);
+                        return;
+                    }
+                }
+                try {
+                    send(reset, changes, sendHeartbeat);
+                } catch (IOException | IllegalStateException ex) {
+                    // Client gone or stream already completed
+                    subscribers.remove(this);
+                    emitter.completeWithError(ex);
+                    scheduled.set(false);
+                    return;
+                }
+                if (dropped) {
+                    // The write finished after all, but the subscriber is no longer served
+                    emitter.complete();
+                    scheduled.set(false);
+                    return;
+                }
+            }
+        }
+
+        private void send(long reset, List<Change> changes, boolean sendHeartbeat) throws IOException {
+            if (reset >= 0) {
+                write(SseEmitter.event().id(eventId(reset)).name(RESET_EVENT).data(""));
+            }
+            for (Change change : changes) {
+                write(SseEmitter.event()
+                        .id(eventId(change.sequence()))
+                        .name(AVAILABILITY_EVENT)
+                        .data(new BookAvailabilityDTO(change.bookId(), change.available()), MediaType.APPLICATION_JSON));
+            }
+            if (sendHeartbeat) {
+                write(SseEmitter.event().comment("keep-alive"));
+            }
+        }
+
+        /**
+         * Writes an event, recording the sender thread while it may block on a slow client.
+         */
+        private void write(SseEmitter.SseEventBuilder event) throws IOException {
+            synchronized (this) {
+                writer = Thread.currentThread();
+                writeStartedNanos = System.nanoTime();
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (this) {
+                    writer = null;
+                    // Clears an interrupt of a write that finished anyway, before the thread serves others
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+}
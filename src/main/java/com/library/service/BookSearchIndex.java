@@ -0,0 +1,204 @@
+package com.library.service;
+
+import com.library.dto.AuthorDTO;
+import com.library.dto.BookDTO;
+import com.library.dto.BookFacetsDTO;
+import com.library.dto.BookSearchResultDTO;
+import com.library.event.AuthorChangedEvent;
+import com.library.event.BookChangedEvent;
+import com.library.event.ChangeType;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import com.library.repository.SearchableAuthor;
+import com.library.repository.SearchableBook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory full-text index of the book catalog.
+ * Answers book searches by title, author name and genre, and computes the catalog facets
+ * (books per genre and price bucket), without database round trips.
+ * The index is built from the book and author tables at startup and kept up to date with the
+ * committed {@link BookChangedEvent}s and {@link AuthorChangedEvent}s of this instance.
+ *
+ * Changes made through other instances only show up with the periodic rebuild,
+ * scheduled with property library.search.rebuild-interval (default ten minutes).
+ */
+@Slf4j
+@Component
+public class BookSearchIndex implements SmartInitializingSingleton {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex index = new InvertedIndex();
+    /** Changes applied while a rebuild is running, replayed onto the rebuilt index. Null otherwise. */
+    private List<Consumer<InvertedIndex>> changesDuringRebuild;
+
+    public BookSearchIndex(BookRepository bookRepository,
+                           AuthorRepository authorRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Builds the index before the application starts serving requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Finds the books matching all terms of the query.
+     * Each term matches words of the title, author name or genre that equal or start with it.
+     *
+     * @param query the search query
+     * @param limit the maximum number of hits
+     * @return the best hits, highest score first
+     */
+    public List<BookSearchResultDTO> search(String query, int limit) {
+        List<String> terms = SearchTokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Computes the catalog facets from the maintained counters.
+     *
+     * @param genres the selected genres, all genres if empty
+     * @param prices the keys of the selected price buckets, all buckets if empty
+     * @return the book counts per genre and price bucket
+     * @throws com.library.exception.BusinessException if a price bucket key is unknown
+     */
+    public BookFacetsDTO facets(Collection<String> genres, Collection<String> prices) {
+        lock.readLock().lock();
+        try {
+            return index.facets(genres, prices);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed book change.
+     *
+     * @param event the book change
+     */
+    @TransactionalEventListener
+    public void onBookChanged(BookChangedEvent event) {
+        BookDTO book = event.book();
+        if (event.type() == ChangeType.DELETED) {
+            apply(target -> target.removeBook(book.getId()));
+            return;
+        }
+        apply(target -> {
+            target.putAuthor(book.getAuthorId(), event.authorName());
+            target.putBook(book.getId(), book.getTitle(), book.getGenre(), book.getPrice(), book.getAuthorId());
+        });
+    }
+
+    /**
+     * Applies a committed author change.
+     *
+     * @param event the author change
+     */
+    @TransactionalEventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        AuthorDTO author = event.author();
+        if (event.type() == ChangeType.DELETED) {
+            apply(target -> target.removeAuthor(author.getId()));
+        } else {
+            apply(target -> target.putAuthor(author.getId(), author.getName()));
+        }
+    }
+
+    /**
+     * Reloads the index from the database, picking up changes made through other instances.
+     * Searches keep using the previous index until the new one is complete.
+     */
+    @Scheduled(fixedDelayString = "${library.search.rebuild-interval:PT10M}",
+            initialDelayString = "${library.search.rebuild-interval:PT10M}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                return;
+            }
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex rebuilt = new InvertedIndex();
+        long start = System.nanoTime();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<SearchableAuthor> authors = authorRepository.streamSearchable()) {
+                    authors.forEach(author -> rebuilt.putAuthor(author.id(), author.name()));
+                }
+                try (Stream<SearchableBook> books = bookRepository.streamSearchable()) {
+                    books.forEach(book -> rebuilt.putBook(
+                            book.id(), book.title(), book.genre(), book.price(), book.authorId()));
+                }
+            });
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Replaying in commit order leaves every entry in its latest committed state
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Book search index rebuilt with {} books in {} ms",
+                rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void apply(Consumer<InvertedIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -3,27 +3,52 @@ package com.library.service;
 import com.library.domain.Author;
 import com.library.domain.Book;
 import com.library.dto.BookDTO;
+import com.library.dto.BookFacetsDTO;
+import com.library.dto.BookSearchResultDTO;
+import com.library.dto.CursorPage;
+import com.library.event.BookChangedEvent;
+import com.library.event.ChangeType;
+import com.library.exception.BusinessException;
 import com.library.exception.ResourceNotFoundException;
 import com.library.repository.AuthorRepository;
 import com.library.repository.BookRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service for managing books in the library system.
  * Handles book creation, updates, deletion, and retrieval operations.
  * Maintains relationships between books and authors.
+ * Publishes a {@link BookChangedEvent} for every change.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "library.service", histogram = true)
 public class BookService {
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
+    private final StreamingExporter streamingExporter;
+    private final BookSearchIndex bookSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SerializedResponseCache serializedResponseCache;
+
+    private static final String DUPLICATE_BOOK = "A book with this title already exists for this author";
+
+    private static final StreamingExporter.Columns<BookDTO> EXPORT_COLUMNS = new StreamingExporter.Columns<>(
+            List.of("id", "title", "genre", "price", "author_id"),
+            book -> List.of(book.getId(), book.getTitle(), book.getGenre(), book.getPrice(), book.getAuthorId()));
 
     /**
      * Creates a new book with an existing author.
@@ -32,18 +57,25 @@ public class BookService {
      * @param bookDTO the book information to create
      * @return the created book as DTO
      * @throws ResourceNotFoundException if the specified author does not exist
+     * @throws BusinessException if the author already has a book with this title
      */
     public BookDTO createBook(BookDTO bookDTO) {
         Author author = authorRepository.findById(bookDTO.getAuthorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
 
+        if (bookRepository.existsByTitleAndAuthorId(bookDTO.getTitle(), author.getId())) {
+            throw new BusinessException(DUPLICATE_BOOK);
+        }
+
         Book book = new Book();
         book.setTitle(bookDTO.getTitle());
         book.setGenre(bookDTO.getGenre());
         book.setPrice(bookDTO.getPrice());
         book.setAuthor(author);
 
-        return convertToDTO(bookRepository.save(book));
+        BookDTO created = convertToDTO(bookRepository.save(book));
+        eventPublisher.publishEvent(new BookChangedEvent(ChangeType.CREATED, created, author.getName()));
+        return created;
     }
 
 
@@ -59,14 +91,96 @@ public class BookService {
     }
 
     /**
-     * Retrieves all books in the system.
+     * Returns the current version of a book for conditional GET requests.
+     * The loaded entity stays in the request's persistence context, so a following
+     * {@link #getBook(Long)} does not query the database again.
+     *
+     * @param id the book ID
+     * @return the book's ETag and last modification time
+     * @throws ResourceNotFoundException if the book is not found
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getBookVersion(Long id) {
+        Book book = findBookById(id);
+        return ResourceVersion.of(book.getVersion(), book.getUpdatedAt());
+    }
+
+    /**
+     * Returns the JSON representation of a book in the given version.
+     * Served from the {@link SerializedResponseCache}; the book is only loaded and serialized
+     * if the cache does not hold this version yet.
      *
-     * @return list of all books as DTOs
+     * @param id the book ID
+     * @param version the current version of the book, from {@link #getBookVersion(Long)}
+     * @return the serialized book, read-only
+     * @throws ResourceNotFoundException if the book is not found
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ByteBuffer getSerializedBook(Long id, ResourceVersion version) {
+        return serializedResponseCache.get(SerializedResponseCache.BOOKS, id, version.eTag(), () -> getBook(id));
+    }
+
+    /**
+     * Returns the current version of the book collection for conditional GET requests.
+     * Computed with a single aggregate query, independent of the requested page.
+     *
+     * @return the ETag of all books, without modification time
      */
-    public List<BookDTO> getAllBooks() {
-        return bookRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ResourceVersion getBooksVersion() {
+        return ResourceVersion.of(bookRepository.findCollectionStamp());
+    }
+
+    /**
+     * Retrieves one page of books using keyset pagination.
+     * Supported sort keys are "id" and "title".
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the requested page size, capped at {@link Cursor#MAX_PAGE_SIZE}
+     * @param sort the sort key
+     * @return the page of books as DTOs
+     * @throws BusinessException if the cursor, size or sort key is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BookDTO> getBooks(String cursor, int size, String sort) {
+        int pageSize = Cursor.pageSize(size);
+        Cursor after = Cursor.decode(cursor, sort);
+
+        List<BookDTO> rows = switch (sort) {
+            case Cursor.ID -> bookRepository.findPageOrderById(after.id(), Cursor.window(pageSize));
+            case "title" -> bookRepository.findPageOrderByTitle(after.key(), after.id(), Cursor.window(pageSize));
+            default -> throw new BusinessException("Unsupported sort key: " + sort);
+        };
+
+        return Cursor.page(rows, pageSize, sort, BookDTO::getTitle, BookDTO::getId, Function.identity());
+    }
+
+    /**
+     * Searches books by title, author name and genre.
+     * Answered from the in-memory {@link BookSearchIndex}, without a database transaction.
+     *
+     * @param query the search terms; each term matches words equal to or starting with it
+     * @param limit the maximum number of hits, capped at {@link Cursor#MAX_PAGE_SIZE}
+     * @return the matching books, most relevant first
+     * @throws BusinessException if the limit is not positive
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BookSearchResultDTO> searchBooks(String query, int limit) {
+        return bookSearchIndex.search(query, Cursor.pageSize(limit));
+    }
+
+    /**
+     * Returns the number of books per genre and price bucket.
+     * Computed from counters maintained by the {@link BookSearchIndex}, without a database transaction.
+     *
+     * @param genres the genres to filter the price facet and total by, all genres if empty
+     * @param prices the price buckets to filter the genre facet and total by, all buckets if empty
+     * @return the catalog facets
+     * @throws BusinessException if a price bucket key is unknown
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BookFacetsDTO getFacets(List<String> genres, List<String> prices) {
+        return bookSearchIndex.facets(genres, prices);
     }
 
     /**
@@ -77,18 +191,27 @@ public class BookService {
      * @param bookDTO the new book information
      * @return the updated book as DTO
      * @throws ResourceNotFoundException if the book or new author is not found
+     * @throws BusinessException if the author already has another book with the new title
      */
     public BookDTO updateBook(Long id, BookDTO bookDTO) {
         Book book = findBookById(id);
         Author author = authorRepository.findById(bookDTO.getAuthorId())
                 .orElseThrow(() -> new ResourceNotFoundException("Author not found"));
 
+        boolean keyChanged = !book.getTitle().equals(bookDTO.getTitle())
+                || !book.getAuthor().getId().equals(author.getId());
+        if (keyChanged && bookRepository.existsByTitleAndAuthorId(bookDTO.getTitle(), author.getId())) {
+            throw new BusinessException(DUPLICATE_BOOK);
+        }
+
         book.setTitle(bookDTO.getTitle());
         book.setGenre(bookDTO.getGenre());
         book.setPrice(bookDTO.getPrice());
         book.setAuthor(author);
 
-        return convertToDTO(bookRepository.save(book));
+        BookDTO updated = convertToDTO(bookRepository.save(book));
+        eventPublisher.publishEvent(new BookChangedEvent(ChangeType.UPDATED, updated, author.getName()));
+        return updated;
     }
 
     /**
@@ -102,6 +225,27 @@ public class BookService {
             throw new ResourceNotFoundException("Book not found with id: " + id);
         }
         bookRepository.deleteById(id);
+
+        BookDTO deleted = new BookDTO();
+        deleted.setId(id);
+        eventPublisher.publishEvent(new BookChangedEvent(ChangeType.DELETED, deleted, null));
+    }
+
+    /**
+     * Streams all books to the given output in the requested format.
+     * Runs in a read-only transaction that keeps the database cursor open while writing,
+     * so memory use stays constant regardless of the number of books.
+     *
+     * @param out the target stream
+     * @param format the export format
+     * @return the number of exported books
+     * @throws IOException if writing to the output fails
+     */
+    @Transactional(readOnly = true)
+    public long exportBooks(OutputStream out, DataFormat format) throws IOException {
+        try (Stream<BookDTO> books = bookRepository.streamAllOrderById()) {
+            return streamingExporter.export(books, Function.identity(), EXPORT_COLUMNS, format, out);
+        }
     }
 
     /**
@@ -123,7 +267,7 @@ public class BookService {
      * @param book the book entity to convert
      * @return the book as DTO
      */
-    private BookDTO convertToDTO(Book book) {
+    static BookDTO convertToDTO(Book book) {
         BookDTO dto = new BookDTO();
         dto.setId(book.getId());
         dto.setTitle(book.getTitle());
@@ -0,0 +1,70 @@
+package com.library.service;
+
+import com.library.dto.ImportRejectDTO;
+import com.library.dto.ImportReportDTO;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Progress of a single catalog import.
+ * Collects counters and rejected rows while the import runs and turns them into the final report.
+ * Not thread safe, a job is driven by the request thread that reads the file.
+ */
+final class CatalogImportJob {
+
+    private final int maxReportedRejects;
+    private final long startNanos = System.nanoTime();
+    private final ImportReportDTO report = new ImportReportDTO();
+
+    CatalogImportJob(int maxReportedRejects) {
+        this.maxReportedRejects = maxReportedRejects;
+    }
+
+    void rowRead() {
+        report.setRowsRead(report.getRowsRead() + 1);
+    }
+
+    /**
+     * Records a rejected row.
+     * Only the first rejects are kept in the report, later ones are counted only.
+     *
+     * @param line the line number of the row in the uploaded file
+     * @param reason why the row was rejected
+     */
+    void reject(long line, String reason) {
+        report.setRejected(report.getRejected() + 1);
+        if (report.getRejects().size() < maxReportedRejects) {
+            report.getRejects().add(new ImportRejectDTO(line, reason));
+        }
+    }
+
+    void chunkImported(long booksCreated, long authorsCreated) {
+        report.setBooksCreated(report.getBooksCreated() + booksCreated);
+        report.setAuthorsCreated(report.getAuthorsCreated() + authorsCreated);
+    }
+
+    long rowsRead() {
+        return report.getRowsRead();
+    }
+
+    /**
+     * Returns the number of rows read per second since the job started.
+     *
+     * @return the current throughput
+     */
+    double rowsPerSecond() {
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+        return report.getRowsRead() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Completes the report with the elapsed time and overall throughput.
+     *
+     * @return the import report
+     */
+    ImportReportDTO finish() {
+        report.setRowsPerSecond(rowsPerSecond());
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return report;
+    }
+}
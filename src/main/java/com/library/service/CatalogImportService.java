@@ -0,0 +1,403 @@
+package com.library.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.dto.AuthorDTO;
+import com.library.dto.BookDTO;
+import com.library.dto.BookImportRowDTO;
+import com.library.dto.ImportRejectDTO;
+import com.library.dto.ImportReportDTO;
+import com.library.event.AuthorChangedEvent;
+import com.library.event.BookChangedEvent;
+import com.library.event.ChangeType;
+import com.library.exception.BusinessException;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookKey;
+import com.library.repository.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for bulk imports of books and their authors.
+ * Reads the uploaded file line by line and writes it in chunks, each chunk in its own transaction:
+ * author references are resolved with one lookup per chunk, missing authors are created,
+ * the unique title per author constraint is checked for the whole chunk up front,
+ * and the books are written with a single JDBC batch.
+ * Invalid rows are rejected individually and reported with their line number.
+ * Created authors and books are published as change events, delivered when their chunk commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogImportService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_REJECTS = 1000;
+
+    static final String DUPLICATE_BOOK = "A book with this title already exists for this author";
+
+    /**
+     * Column limits of the schema: VARCHAR(255) texts and DECIMAL(10,2) prices.
+     * Rows beyond them would fail the JDBC batch and with it the whole chunk.
+     */
+    static final int MAX_TEXT_LENGTH = 255;
+    static final int MAX_PRICE_SCALE = 2;
+    static final int MAX_PRICE_INTEGER_DIGITS = 8;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Imports books from the given NDJSON or CSV input.
+     * NDJSON rows use the field names of {@link BookImportRowDTO}. CSV input starts with a header row
+     * naming the columns title, genre, price and either author_id or author_name and author_date_of_birth;
+     * other columns, such as the id column of a book export, are ignored.
+     * Quoted CSV fields may contain line breaks; rejected rows are reported with the line they start on.
+     *
+     * @param in the uploaded file, read as UTF-8
+     * @param format the format of the file
+     * @return the import report
+     * @throws IOException if reading the input fails
+     * @throws BusinessException if the CSV header is missing required columns
+     */
+    public ImportReportDTO importBooks(InputStream in, DataFormat format) throws IOException {
+        CatalogImportJob job = new CatalogImportJob(MAX_REPORTED_REJECTS);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        Function<String, BookImportRowDTO> parser = null;
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            long recordLine = lineNumber;
+            if (format == DataFormat.CSV && Csv.continuesOnNextLine(line)) {
+                // A quoted field with line breaks, as written by the CSV export
+                StringBuilder record = new StringBuilder(line);
+                String next;
+                while (Csv.continuesOnNextLine(record) && (next = reader.readLine()) != null) {
+                    lineNumber++;
+                    record.append('\n').append(next);
+                }
+                line = record.toString();
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (parser == null) {
+                if (format == DataFormat.CSV) {
+                    parser = csvParser(Csv.parseLine(line));
+                    continue;
+                }
+                parser = this::parseJson;
+            }
+
+            job.rowRead();
+            try {
+                chunk.add(new ImportRow(recordLine, parser.apply(line)));
+            } catch (IllegalArgumentException | DateTimeException ex) {
+                job.reject(recordLine, "Malformed row: " + ex.getMessage());
+            }
+
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, job);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, job);
+        }
+
+        ImportReportDTO report = job.finish();
+        log.info("Catalog import finished: {} rows, {} books and {} authors created, {} rejected, {} rows/s",
+                report.getRowsRead(), report.getBooksCreated(), report.getAuthorsCreated(),
+                report.getRejected(), Math.round(report.getRowsPerSecond()));
+        return report;
+    }
+
+    /**
+     * Writes one chunk in its own transaction.
+     * If the transaction fails, all rows of the chunk are rejected and the import continues.
+     */
+    private void importChunk(List<ImportRow> chunk, CatalogImportJob job) {
+        try {
+            ChunkResult result = transactionTemplate.execute(status -> writeChunk(chunk));
+            result.rejects().forEach(reject -> job.reject(reject.getLine(), reject.getReason()));
+            job.chunkImported(result.booksCreated(), result.authorsCreated());
+            // The JDBC inserts bypass Hibernate, cached query results on books may be stale now
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        } catch (DataAccessException ex) {
+            String reason = "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            log.warn("Catalog import chunk ending at line {} failed", chunk.get(chunk.size() - 1).line(), ex);
+            chunk.forEach(row -> job.reject(row.line(), reason));
+        }
+        log.debug("Catalog import progress: {} rows, {} rows/s", job.rowsRead(), Math.round(job.rowsPerSecond()));
+    }
+
+    private ChunkResult writeChunk(List<ImportRow> chunk) {
+        List<ImportRejectDTO> rejects = new ArrayList<>();
+        List<ImportRow> rows = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String error = validate(row.data());
+            if (error != null) {
+                rejects.add(new ImportRejectDTO(row.line(), error));
+            } else {
+                rows.add(row);
+            }
+        }
+
+        Set<Long> knownAuthorIds = findExistingAuthorIds(rows);
+        Map<AuthorKey, Long> authorIdsByKey = findAuthorIdsByKey(rows);
+        int authorsCreated = createMissingAuthors(rows, authorIdsByKey);
+
+        List<ImportRow> resolved = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            BookImportRowDTO data = row.data();
+            Long authorId = data.getAuthorId() != null
+                    ? (knownAuthorIds.contains(data.getAuthorId()) ? data.getAuthorId() : null)
+                    : authorIdsByKey.get(AuthorKey.of(data));
+            if (authorId == null) {
+                rejects.add(new ImportRejectDTO(row.line(), "Author not found"));
+            } else {
+                data.setAuthorId(authorId);
+                resolved.add(row);
+            }
+        }
+
+        Set<BookKey> takenKeys = findExistingBookKeys(resolved);
+        List<BookDTO> books = new ArrayList<>(resolved.size());
+        List<String> authorNames = new ArrayList<>(resolved.size());
+        for (ImportRow row : resolved) {
+            BookImportRowDTO data = row.data();
+            // Adding to the taken keys also catches duplicates within the chunk
+            if (!takenKeys.add(new BookKey(data.getTitle(), data.getAuthorId()))) {
+                rejects.add(new ImportRejectDTO(row.line(), DUPLICATE_BOOK));
+                continue;
+            }
+            BookDTO book = new BookDTO();
+            book.setTitle(data.getTitle());
+            book.setGenre(data.getGenre());
+            book.setPrice(data.getPrice());
+            book.setAuthorId(data.getAuthorId());
+            books.add(book);
+            authorNames.add(data.getAuthorName());
+        }
+        bookRepository.insertBooks(books);
+        for (int i = 0; i < books.size(); i++) {
+            eventPublisher.publishEvent(new BookChangedEvent(ChangeType.CREATED, books.get(i), authorNames.get(i)));
+        }
+
+        rejects.sort(Comparator.comparingLong(ImportRejectDTO::getLine));
+        return new ChunkResult(books.size(), authorsCreated, rejects);
+    }
+
+    private Set<Long> findExistingAuthorIds(List<ImportRow> rows) {
+        Set<Long> ids = rows.stream()
+                .map(row -> row.data().getAuthorId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return ids.isEmpty() ? Set.of() : new HashSet<>(authorRepository.findExistingIds(ids));
+    }
+
+    private Map<AuthorKey, Long> findAuthorIdsByKey(List<ImportRow> rows) {
+        Set<String> names = rows.stream()
+                .filter(row -> row.data().getAuthorId() == null)
+                .map(row -> row.data().getAuthorName())
+                .collect(Collectors.toSet());
+        Map<AuthorKey, Long> authorIdsByKey = new HashMap<>();
+        if (!names.isEmpty()) {
+            // Names are not unique, the oldest author wins if the same person was recorded twice
+            authorRepository.findByNameIn(names).forEach(author -> authorIdsByKey.merge(
+                    new AuthorKey(author.getName(), author.getDateOfBirth()), author.getId(), Math::min));
+        }
+        return authorIdsByKey;
+    }
+
+    /**
+     * Creates the authors referenced by name that do not exist yet and adds their IDs to the lookup map.
+     *
+     * @return the number of created authors
+     */
+    private int createMissingAuthors(List<ImportRow> rows, Map<AuthorKey, Long> authorIdsByKey) {
+        Map<AuthorKey, AuthorDTO> missing = new LinkedHashMap<>();
+        for (ImportRow row : rows) {
+            if (row.data().getAuthorId() != null) {
+                continue;
+            }
+            AuthorKey key = AuthorKey.of(row.data());
+            if (!authorIdsByKey.containsKey(key)) {
+                missing.computeIfAbsent(key, k -> {
+                    AuthorDTO author = new AuthorDTO();
+                    author.setName(k.name());
+                    author.setDateOfBirth(k.dateOfBirth());
+                    return author;
+                });
+            }
+        }
+
+        List<AuthorDTO> authors = new ArrayList<>(missing.values());
+        authorRepository.insertAuthors(authors);
+        missing.forEach((key, author) -> authorIdsByKey.put(key, author.getId()));
+        authors.forEach(author -> eventPublisher.publishEvent(new AuthorChangedEvent(ChangeType.CREATED, author)));
+        return authors.size();
+    }
+
+    private Set<BookKey> findExistingBookKeys(List<ImportRow> rows) {
+        if (rows.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<Long> authorIds = new HashSet<>();
+        Set<String> titles = new HashSet<>();
+        for (ImportRow row : rows) {
+            authorIds.add(row.data().getAuthorId());
+            titles.add(row.data().getTitle());
+        }
+        return new HashSet<>(bookRepository.findExistingKeys(authorIds, titles));
+    }
+
+    /**
+     * Checks a row against the constraints of {@link BookDTO} and {@link AuthorDTO}
+     * and the column limits of the schema.
+     *
+     * @return the validation message, or null if the row is valid
+     */
+    private static String validate(BookImportRowDTO row) {
+        if (isBlank(row.getTitle())) {
+            return "Title is required";
+        }
+        if (row.getTitle().length() > MAX_TEXT_LENGTH) {
+            return "Title must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (isBlank(row.getGenre())) {
+            return "Genre is required";
+        }
+        if (row.getGenre().length() > MAX_TEXT_LENGTH) {
+            return "Genre must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (row.getPrice() == null) {
+            return "Price is required";
+        }
+        if (row.getPrice().signum() <= 0) {
+            return "Price must be positive";
+        }
+        BigDecimal price = row.getPrice().stripTrailingZeros();
+        if (price.scale() > MAX_PRICE_SCALE) {
+            return "Price must have at most " + MAX_PRICE_SCALE + " decimal places";
+        }
+        if (price.precision() - price.scale() > MAX_PRICE_INTEGER_DIGITS) {
+            return "Price must have at most " + MAX_PRICE_INTEGER_DIGITS + " digits before the decimal point";
+        }
+        if (row.getAuthorId() == null) {
+            if (isBlank(row.getAuthorName())) {
+                return "Author ID or author name is required";
+            }
+            if (row.getAuthorName().length() > MAX_TEXT_LENGTH) {
+                return "Author name must be at most " + MAX_TEXT_LENGTH + " characters";
+            }
+            if (row.getAuthorDateOfBirth() == null) {
+                return "Date of birth is required";
+            }
+            if (!row.getAuthorDateOfBirth().isBefore(LocalDate.now())) {
+                return "Date of birth must be in the past";
+            }
+        }
+        return null;
+    }
+
+    private BookImportRowDTO parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, BookImportRowDTO.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException(ex.getOriginalMessage(), ex);
+        }
+    }
+
+    /**
+     * Creates a parser for CSV rows with the given header.
+     *
+     * @throws BusinessException if the header is missing required columns
+     */
+    private static Function<String, BookImportRowDTO> csvParser(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(List.of("title", "genre", "price"))
+                || !(columns.containsKey("author_id") || columns.containsKey("author_name"))) {
+            throw new BusinessException(
+                    "CSV header must contain title, genre, price and author_id or author_name columns");
+        }
+
+        return line -> {
+            List<String> fields = Csv.parseLine(line);
+            if (fields.size() != header.size()) {
+                throw new IllegalArgumentException(
+                        "Expected " + header.size() + " fields but found " + fields.size());
+            }
+            Function<String, String> field = name -> {
+                Integer index = columns.get(name);
+                return index == null || fields.get(index).isBlank() ? null : fields.get(index).trim();
+            };
+
+            BookImportRowDTO row = new BookImportRowDTO();
+            row.setTitle(field.apply("title"));
+            row.setGenre(field.apply("genre"));
+            String price = field.apply("price");
+            row.setPrice(price == null ? null : new BigDecimal(price));
+            String authorId = field.apply("author_id");
+            row.setAuthorId(authorId == null ? null : Long.valueOf(authorId));
+            row.setAuthorName(field.apply("author_name"));
+            String dateOfBirth = field.apply("author_date_of_birth");
+            row.setAuthorDateOfBirth(dateOfBirth == null ? null : LocalDate.parse(dateOfBirth));
+            return row;
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record ImportRow(long line, BookImportRowDTO data) {
+    }
+
+    private record ChunkResult(int booksCreated, int authorsCreated, List<ImportRejectDTO> rejects) {
+    }
+
+    private record AuthorKey(String name, LocalDate dateOfBirth) {
+        static AuthorKey of(BookImportRowDTO row) {
+            return new AuthorKey(row.getAuthorName(), row.getAuthorDateOfBirth());
+        }
+    }
+}
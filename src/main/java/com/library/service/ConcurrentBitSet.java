@@ -0,0 +1,85 @@
+package com.library.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe set of non-negative long values backed by a paged bitmap.
+ * Each page covers 65536 consecutive values with 1024 longs (8 KB) and is allocated on first use,
+ * so a dense range of database IDs costs one bit per ID instead of a boxed entry per ID.
+ * All operations are lock-free and run in constant time.
+ */
+final class ConcurrentBitSet {
+
+    private static final int PAGE_BITS = 16;
+    private static final int WORDS_PER_PAGE = 1 << (PAGE_BITS - 6);
+
+    private final ConcurrentHashMap<Long, AtomicLongArray> pages = new ConcurrentHashMap<>();
+
+    /**
+     * Checks whether the given value is in the set.
+     *
+     * @param value the value to check
+     * @return true if the value is in the set
+     */
+    boolean contains(long value) {
+        AtomicLongArray page = pages.get(value >>> PAGE_BITS);
+        return page != null && (page.get(word(value)) & mask(value)) != 0;
+    }
+
+    /**
+     * Adds the given value to the set.
+     *
+     * @param value the value to add
+     * @return true if the value was added, false if it was already in the set
+     */
+    boolean add(long value) {
+        AtomicLongArray page = pages.computeIfAbsent(value >>> PAGE_BITS, key -> new AtomicLongArray(WORDS_PER_PAGE));
+        long mask = mask(value);
+        long previous = page.getAndAccumulate(word(value), mask, (bits, bit) -> bits | bit);
+        return (previous & mask) == 0;
+    }
+
+    /**
+     * Removes the given value from the set. Emptied pages are kept for reuse.
+     *
+     * @param value the value to remove
+     * @return true if the value was removed, false if it was not in the set
+     */
+    boolean remove(long value) {
+        AtomicLongArray page = pages.get(value >>> PAGE_BITS);
+        if (page == null) {
+            return false;
+        }
+        long mask = mask(value);
+        long previous = page.getAndAccumulate(word(value), mask, (bits, bit) -> bits & ~bit);
+        return (previous & mask) != 0;
+    }
+
+    /**
+     * Counts the values in the set by scanning all pages.
+     *
+     * @return the number of values in the set
+     */
+    long cardinality() {
+        long count = 0;
+        for (AtomicLongArray page : pages.values()) {
+            for (int i = 0; i < page.length(); i++) {
+                count += Long.bitCount(page.get(i));
+            }
+        }
+        return count;
+    }
+
+    void clear() {
+        pages.clear();
+    }
+
+    private static int word(long value) {
+        return (int) (value >>> 6) & (WORDS_PER_PAGE - 1);
+    }
+
+    private static long mask(long value) {
+        return 1L << value;
+    }
+}
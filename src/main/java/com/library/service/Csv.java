@@ -0,0 +1,85 @@
+package com.library.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal CSV helpers following RFC 4180 quoting rules.
+ * Quoted fields may contain commas, doubled quotes and line breaks; a record with a line break
+ * in a quoted field spans several lines of the file.
+ */
+final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Escapes a single field value.
+     * Values containing commas, quotes or line breaks are quoted and embedded quotes are doubled.
+     *
+     * @param value the raw field value
+     * @return the value ready to be written into a CSV row
+     */
+    static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Checks whether a record read so far ends inside a quoted field and continues on the next line.
+     * Doubled quotes within a quoted field cancel out, so an odd number of quotes means an open field.
+     *
+     * @param line the line or the lines of the record read so far
+     * @return true if the record continues on the next line
+     */
+    static boolean continuesOnNextLine(CharSequence line) {
+        int quotes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 != 0;
+    }
+
+    /**
+     * Splits a single CSV record into its field values.
+     *
+     * @param line the CSV record without line terminator; line breaks within quoted fields are kept
+     * @return the unescaped field values
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
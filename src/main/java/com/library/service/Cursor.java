@@ -0,0 +1,132 @@
+package com.library.service;
+
+import com.library.dto.CursorPage;
+import com.library.exception.BusinessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset cursor used by the paginated list endpoints.
+ * Remembers the sort key, the sort value and the id of the last row of a page,
+ * so the next page seeks directly past that row instead of skipping rows with OFFSET.
+ * Clients only see the Base64 encoded form and pass it back unchanged.
+ *
+ * @param sort the sort key the cursor was created for
+ * @param key the sort value of the last row (empty for id ordering)
+ * @param id the id of the last row, used as tie breaker
+ */
+public record Cursor(String sort, String key, long id) {
+
+    /**
+     * Sort key ordering rows by their primary key.
+     */
+    public static final String ID = "id";
+
+    /**
+     * Largest page size accepted by the list endpoints.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Decodes a cursor token received from a client.
+     * A missing token starts at the beginning of the list.
+     *
+     * @param token the opaque cursor token, may be null
+     * @param sort the sort key of the current request
+     * @return the decoded cursor
+     * @throws BusinessException if the token is malformed or was issued for another sort key
+     */
+    static Cursor decode(String token, String sort) {
+        if (token == null || token.isBlank()) {
+            return new Cursor(sort, "", 0L);
+        }
+
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid cursor");
+        }
+        if (parts.length != 3) {
+            throw new BusinessException("Invalid cursor");
+        }
+        if (!parts[0].equals(sort)) {
+            throw new BusinessException("Cursor does not match sort key: " + sort);
+        }
+
+        try {
+            return new Cursor(parts[0], parts[2], Long.parseLong(parts[1]));
+        } catch (NumberFormatException ex) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Encodes this cursor into the opaque token handed out to clients.
+     *
+     * @return URL-safe Base64 token
+     */
+    String encode() {
+        String raw = sort + "|" + id + "|" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Validates a requested page size and caps it at {@link #MAX_PAGE_SIZE}.
+     *
+     * @param requested the page size requested by the client
+     * @return the effective page size
+     * @throws BusinessException if the requested size is not positive
+     */
+    static int pageSize(int requested) {
+        if (requested < 1) {
+            throw new BusinessException("Page size must be positive");
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Creates the fetch window for a page.
+     * One extra row is fetched to find out whether another page follows.
+     *
+     * @param pageSize the effective page size
+     * @return pageable limiting the query to pageSize + 1 rows
+     */
+    static Pageable window(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /**
+     * Builds a page from the rows fetched with {@link #window(int)}.
+     *
+     * @param rows the fetched rows, at most pageSize + 1
+     * @param pageSize the effective page size
+     * @param sort the sort key of the request
+     * @param keyOf extracts the sort value of a row
+     * @param idOf extracts the id of a row
+     * @param mapper converts a row to its DTO
+     * @return the page with a cursor for the next page, if any
+     */
+    static <E, T> CursorPage<T> page(List<E> rows, int pageSize, String sort,
+                                     Function<E, String> keyOf, ToLongFunction<E> idOf,
+                                     Function<E, T> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> items = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            E last = items.get(items.size() - 1);
+            String key = ID.equals(sort) ? "" : keyOf.apply(last);
+            nextCursor = new Cursor(sort, key, idOf.applyAsLong(last)).encode();
+        }
+
+        return new CursorPage<>(items.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+}
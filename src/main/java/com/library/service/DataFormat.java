@@ -0,0 +1,44 @@
+package com.library.service;
+
+import com.library.exception.BusinessException;
+
+import java.util.Locale;
+
+/**
+ * Record formats supported by the export and import endpoints.
+ * NDJSON has one JSON document per line, CSV has a header row followed by one row per record.
+ */
+public enum DataFormat {
+    NDJSON("ndjson"),
+    CSV("csv");
+
+    private final String extension;
+
+    DataFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the file extension used for files of this format.
+     *
+     * @return the file extension without leading dot
+     */
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Resolves a format from its request parameter value.
+     *
+     * @param name the format name, case insensitive
+     * @return the matching format
+     * @throws BusinessException if the format is not supported
+     */
+    public static DataFormat fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Unsupported data format: " + name);
+        }
+    }
+}
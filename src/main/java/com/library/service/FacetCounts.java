@@ -0,0 +1,123 @@
+package com.library.service;
+
+import com.library.dto.BookFacetsDTO;
+import com.library.dto.FacetCountDTO;
+import com.library.exception.BusinessException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Book counts per genre and price bucket.
+ * Counts are kept per combination of genre and bucket, so each facet can be computed
+ * with filters on the other facet applied without visiting individual books.
+ * Prices are bucketed in whole cents with primitive arithmetic.
+ *
+ * Not thread-safe; {@link BookSearchIndex} guards all access.
+ */
+final class FacetCounts {
+
+    /**
+     * Lower bounds in cents of the price buckets after the first; the last bucket is open-ended.
+     */
+    private static final long[] PRICE_BOUNDS = {1_000, 2_000, 5_000, 10_000};
+    private static final String[] PRICE_KEYS = {"0-10", "10-20", "20-50", "50-100", "100-"};
+
+    private static final Comparator<FacetCountDTO> BY_COUNT = Comparator
+            .comparingLong(FacetCountDTO::getCount).reversed()
+            .thenComparing(FacetCountDTO::getValue);
+
+    private final Map<String, int[]> countsByGenre = new HashMap<>();
+
+    void add(String genre, long priceCents) {
+        countsByGenre.computeIfAbsent(genre, g -> new int[PRICE_KEYS.length])[bucket(priceCents)]++;
+    }
+
+    void remove(String genre, long priceCents) {
+        int[] counts = countsByGenre.get(genre);
+        counts[bucket(priceCents)]--;
+        for (int count : counts) {
+            if (count != 0) {
+                return;
+            }
+        }
+        countsByGenre.remove(genre);
+    }
+
+    /**
+     * Computes the facets for the given filters.
+     *
+     * @param genres the selected genres, all genres if empty
+     * @param prices the keys of the selected price buckets, all buckets if empty
+     * @return the filtered facet counts
+     * @throws BusinessException if a price bucket key is unknown
+     */
+    BookFacetsDTO facets(Collection<String> genres, Collection<String> prices) {
+        boolean[] selectedBuckets = new boolean[PRICE_KEYS.length];
+        for (String key : prices) {
+            selectedBuckets[bucketOf(key)] = true;
+        }
+        boolean allBuckets = prices.isEmpty();
+
+        long total = 0;
+        long[] bucketCounts = new long[PRICE_KEYS.length];
+        List<FacetCountDTO> genreCounts = new ArrayList<>();
+        for (Map.Entry<String, int[]> entry : countsByGenre.entrySet()) {
+            boolean genreSelected = genres.isEmpty() || genres.contains(entry.getKey());
+            int[] counts = entry.getValue();
+            long genreCount = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                if (genreSelected) {
+                    bucketCounts[bucket] += counts[bucket];
+                }
+                if (allBuckets || selectedBuckets[bucket]) {
+                    genreCount += counts[bucket];
+                }
+            }
+            if (genreCount > 0) {
+                genreCounts.add(new FacetCountDTO(entry.getKey(), genreCount));
+            }
+            if (genreSelected) {
+                total += genreCount;
+            }
+        }
+        genreCounts.sort(BY_COUNT);
+
+        List<FacetCountDTO> priceCounts = new ArrayList<>(PRICE_KEYS.length);
+        for (int bucket = 0; bucket < PRICE_KEYS.length; bucket++) {
+            priceCounts.add(new FacetCountDTO(PRICE_KEYS[bucket], bucketCounts[bucket]));
+        }
+        return new BookFacetsDTO(total, genreCounts, priceCounts);
+    }
+
+    /**
+     * Converts a price to whole cents.
+     * BigDecimal.doubleValue() does not allocate for prices with up to two decimals,
+     * and rounding to cents is exact for any realistic price.
+     */
+    static long cents(BigDecimal price) {
+        return Math.round(price.doubleValue() * 100);
+    }
+
+    private static int bucket(long priceCents) {
+        int bucket = 0;
+        while (bucket < PRICE_BOUNDS.length && priceCents >= PRICE_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static int bucketOf(String key) {
+        for (int bucket = 0; bucket < PRICE_KEYS.length; bucket++) {
+            if (PRICE_KEYS[bucket].equals(key)) {
+                return bucket;
+            }
+        }
+        throw new BusinessException("Unknown price bucket: " + key);
+    }
+}
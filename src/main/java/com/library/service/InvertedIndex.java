@@ -0,0 +1,227 @@
+package com.library.service;
+
+import com.library.dto.BookFacetsDTO;
+import com.library.dto.BookSearchResultDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over the title, author name and genre of books.
+ * Maps every term to the books containing it, together with the fields the term occurs in.
+ * Terms are kept sorted, so all terms starting with a query term are found with one range lookup.
+ *
+ * Hits must match every query term, either exactly or as a prefix. Each matched term contributes
+ * its inverse document frequency, weighted by the fields it occurs in (title over author over genre)
+ * and halved for prefix matches.
+ *
+ * The index also maintains the {@link FacetCounts} of the indexed books.
+ *
+ * Not thread-safe; {@link BookSearchIndex} guards all access.
+ */
+final class InvertedIndex {
+
+    static final int TITLE = 1;
+    static final int AUTHOR = 2;
+    static final int GENRE = 4;
+
+    /**
+     * Query terms shorter than this only match exactly, a single letter would match most of the index.
+     */
+    static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double AUTHOR_WEIGHT = 2.0;
+    private static final double GENRE_WEIGHT = 1.0;
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private static final Comparator<BookSearchResultDTO> RANKING = Comparator
+            .comparingDouble(BookSearchResultDTO::getScore).reversed()
+            .thenComparing(BookSearchResultDTO::getTitle)
+            .thenComparing(BookSearchResultDTO::getId);
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Long, String> authorNames = new HashMap<>();
+    private final Map<Long, Set<Long>> booksByAuthor = new HashMap<>();
+    private final FacetCounts facetCounts = new FacetCounts();
+
+    /**
+     * Adds or renames an author and reindexes the author's books.
+     */
+    void putAuthor(long authorId, String name) {
+        if (name == null || name.equals(authorNames.put(authorId, name))) {
+            return;
+        }
+        Set<Long> bookIds = booksByAuthor.get(authorId);
+        if (bookIds != null) {
+            for (Long bookId : List.copyOf(bookIds)) {
+                Document document = documents.get(bookId);
+                putBook(bookId, document.title(), document.genre(), document.price(), authorId);
+            }
+        }
+    }
+
+    /**
+     * Removes an author together with the author's books.
+     */
+    void removeAuthor(long authorId) {
+        authorNames.remove(authorId);
+        Set<Long> bookIds = booksByAuthor.get(authorId);
+        if (bookIds != null) {
+            List.copyOf(bookIds).forEach(this::removeBook);
+        }
+    }
+
+    /**
+     * Adds a book or replaces its previous entry.
+     * The author name is taken from the author entry, a book indexed before its author
+     * only becomes searchable by author name once the author is added.
+     */
+    void putBook(long id, String title, String genre, BigDecimal price, long authorId) {
+        removeBook(id);
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, title, TITLE);
+        addTerms(terms, authorNames.get(authorId), AUTHOR);
+        addTerms(terms, genre, GENRE);
+
+        terms.forEach((term, fields) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, fields));
+        documents.put(id, new Document(title, genre, price, authorId, terms.keySet()));
+        booksByAuthor.computeIfAbsent(authorId, a -> new HashSet<>()).add(id);
+        facetCounts.add(genre, FacetCounts.cents(price));
+    }
+
+    void removeBook(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Map<Long, Integer> books = postings.get(term);
+            books.remove(id);
+            if (books.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        facetCounts.remove(document.genre(), FacetCounts.cents(document.price()));
+        Set<Long> authorBooks = booksByAuthor.get(document.authorId());
+        authorBooks.remove(id);
+        if (authorBooks.isEmpty()) {
+            booksByAuthor.remove(document.authorId());
+        }
+    }
+
+    /**
+     * Finds the books matching all query terms.
+     *
+     * @param queryTerms the tokenized query
+     * @param limit the maximum number of hits
+     * @return the best hits, highest score first
+     */
+    List<BookSearchResultDTO> search(List<String> queryTerms, int limit) {
+        Map<Long, Double> scores = null;
+        for (String queryTerm : new LinkedHashSet<>(queryTerms)) {
+            Map<Long, Double> termScores = scoreTerm(queryTerm);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((bookId, score) -> score + termScores.get(bookId));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        if (scores == null) {
+            return List.of();
+        }
+
+        // Keep only the best hits in a min-heap instead of sorting all matches
+        PriorityQueue<BookSearchResultDTO> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        scores.forEach((bookId, score) -> {
+            best.add(toResult(bookId, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        List<BookSearchResultDTO> hits = new ArrayList<>(best);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    /**
+     * Computes the catalog facets for the given filters.
+     *
+     * @see FacetCounts#facets(Collection, Collection)
+     */
+    BookFacetsDTO facets(Collection<String> genres, Collection<String> prices) {
+        return facetCounts.facets(genres, prices);
+    }
+
+    int size() {
+        return documents.size();
+    }
+
+    /**
+     * Scores the books containing a term that equals or starts with the query term.
+     * A book matching several such terms gets the score of its best match.
+     */
+    private Map<Long, Double> scoreTerm(String queryTerm) {
+        Map<String, Map<Long, Integer>> matches = queryTerm.length() < MIN_PREFIX_LENGTH
+                ? exactMatch(queryTerm)
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+
+        Map<Long, Double> scores = new HashMap<>();
+        matches.forEach((term, books) -> {
+            double termWeight = Math.log(1 + (double) documents.size() / books.size())
+                    * (term.length() == queryTerm.length() ? 1.0 : PREFIX_FACTOR);
+            books.forEach((bookId, fields) -> scores.merge(bookId, termWeight * fieldWeight(fields), Math::max));
+        });
+        return scores;
+    }
+
+    private Map<String, Map<Long, Integer>> exactMatch(String term) {
+        Map<Long, Integer> books = postings.get(term);
+        return books == null ? Map.of() : Map.of(term, books);
+    }
+
+    private BookSearchResultDTO toResult(long bookId, double score) {
+        Document document = documents.get(bookId);
+        return new BookSearchResultDTO(bookId, document.title(), document.genre(), document.price(),
+                document.authorId(), authorNames.get(document.authorId()), score);
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int field) {
+        for (String term : SearchTokenizer.tokenize(text)) {
+            terms.merge(term, field, (a, b) -> a | b);
+        }
+    }
+
+    private static double fieldWeight(int fields) {
+        double weight = 0;
+        if ((fields & TITLE) != 0) {
+            weight += TITLE_WEIGHT;
+        }
+        if ((fields & AUTHOR) != 0) {
+            weight += AUTHOR_WEIGHT;
+        }
+        if ((fields & GENRE) != 0) {
+            weight += GENRE_WEIGHT;
+        }
+        return weight;
+    }
+
+    private record Document(String title, String genre, BigDecimal price, long authorId, Set<String> terms) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.library.service;
+
+import com.library.repository.ArchivedLoanRepository;
+import com.library.repository.LoanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+/**
+ * Moves returned loans from the loan table into the loan archive.
+ * Loans returned longer ago than library.loans.archive.min-age (default one year) are archived in
+ * chunks of library.loans.archive.batch-size, each chunk in its own short transaction, with a pause
+ * of library.loans.archive.pause between chunks so archiving does not compete with the loan desk.
+ * The loan table and its indexes therefore only grow with active and recently returned loans.
+ *
+ * Archiving runs on the schedule library.loans.archive.cron when library.loans.archive.enabled is set,
+ * on one of the scheduler threads (see SchedulingConfig), which it occupies for the whole run.
+ * Chunks are locked with SKIP LOCKED, so several instances may archive at the same time.
+ * Only returned loans are moved, which the {@link LoanStateIndex} does not track.
+ */
+@Slf4j
+@Component
+public class LoanArchiver {
+
+    private final LoanRepository loanRepository;
+    private final ArchivedLoanRepository archivedLoanRepository;
+    private final LoanMetrics loanMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Period minAge;
+    private final int batchSize;
+    private final Duration pause;
+
+    public LoanArchiver(LoanRepository loanRepository,
+                        ArchivedLoanRepository archivedLoanRepository,
+                        LoanMetrics loanMetrics,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${library.loans.archive.enabled:false}") boolean enabled,
+                        @Value("${library.loans.archive.min-age:P1Y}") Period minAge,
+                        @Value("${library.loans.archive.batch-size:1000}") int batchSize,
+                        @Value("${library.loans.archive.pause:PT0.2S}") Duration pause) {
+        this.loanRepository = loanRepository;
+        this.archivedLoanRepository = archivedLoanRepository;
+        this.loanMetrics = loanMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    /**
+     * Archives the loans that have reached the archive age, if archiving is enabled.
+     */
+    @Scheduled(cron = "${library.loans.archive.cron:0 30 2 * * *}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archive(LocalDate.now().minus(minAge));
+        }
+    }
+
+    /**
+     * Archives all loans returned before the given date, chunk by chunk.
+     *
+     * @param cutoff the loans returned before this date are archived
+     * @return the number of archived loans
+     */
+    public long archive(LocalDate cutoff) {
+        long total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            total += archived;
+            loanMetrics.loansArchived(archived);
+        } while (archived == batchSize && pauseBetweenChunks());
+
+        if (total > 0) {
+            log.info("Archived {} loans returned before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    /**
+     * Copies the next chunk of loans to the archive and deletes them from the loan table.
+     *
+     * @param cutoff the loans returned before this date are archived
+     * @return the number of archived loans
+     */
+    private int archiveChunk(LocalDate cutoff) {
+        List<Long> ids = loanRepository.lockReturnedBefore(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedLoanRepository.copyFromLoans(ids);
+        loanRepository.deleteAllByIdIn(ids);
+        return ids.size();
+    }
+
+    /**
+     * Waits before the next chunk.
+     *
+     * @return false if the thread was interrupted and archiving should stop
+     */
+    private boolean pauseBetweenChunks() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
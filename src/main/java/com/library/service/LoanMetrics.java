@@ -0,0 +1,98 @@
+package com.library.service;
+
+import com.library.event.ChangeType;
+import com.library.event.LoanChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Business counters of the loan desk.
+ * Created loans and returns are counted once committed, from the {@link LoanChangedEvent}s;
+ * rejected loan requests are counted by {@link LoanService} with the reason as tag,
+ * archived loans by {@link LoanArchiver} and overdue loans by {@link OverdueLoanDetector}.
+ *
+ * Published meters:
+ * - library.loans.created
+ * - library.loans.returned
+ * - library.loans.rejected, tagged with reason
+ * - library.loans.archived
+ * - library.loans.overdue
+ */
+@Component
+public class LoanMetrics {
+
+    static final String BOOK_LOANED = "book_loaned";
+    static final String LIMIT_REACHED = "limit_reached";
+    static final String MEMBER_NOT_FOUND = "member_not_found";
+    static final String BOOK_NOT_FOUND = "book_not_found";
+    static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+    private final Counter created;
+    private final Counter returned;
+    private final Counter archived;
+    private final Counter overdue;
+
+    public LoanMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.created = Counter.builder("library.loans.created")
+                .description("Loans created")
+                .register(registry);
+        this.returned = Counter.builder("library.loans.returned")
+                .description("Loaned books returned")
+                .register(registry);
+        this.archived = Counter.builder("library.loans.archived")
+                .description("Returned loans moved to the loan archive")
+                .register(registry);
+        this.overdue = Counter.builder("library.loans.overdue")
+                .description("Loans reported as overdue")
+                .register(registry);
+    }
+
+    /**
+     * Counts a committed loan or return.
+     *
+     * @param event the loan change
+     */
+    @TransactionalEventListener
+    public void onLoanChanged(LoanChangedEvent event) {
+        if (event.type() == ChangeType.CREATED) {
+            created.increment();
+        } else if (event.type() == ChangeType.UPDATED && event.loan().getReturnDate() != null) {
+            returned.increment();
+        }
+    }
+
+    /**
+     * Counts a rejected loan request.
+     *
+     * @param reason the rejection reason, one of the reason constants of this class
+     */
+    public void loanRejected(String reason) {
+        Counter.builder("library.loans.rejected")
+                .description("Loan requests rejected by the lending rules")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Counts returned loans moved to the archive.
+     *
+     * @param count the number of archived loans
+     */
+    public void loansArchived(int count) {
+        archived.increment(count);
+    }
+
+    /**
+     * Counts loans reported as overdue.
+     *
+     * @param count the number of overdue loans
+     */
+    public void loansOverdue(int count) {
+        overdue.increment(count);
+    }
+}
@@ -3,19 +3,49 @@ package com.library.service;
 import com.library.domain.Book;
 import com.library.domain.Loan;
 import com.library.domain.Member;
+import com.library.dto.BatchLoanResultDTO;
+import com.library.dto.CursorPage;
 import com.library.dto.LoanDTO;
+import com.library.event.ChangeType;
+import com.library.event.LoanChangedEvent;
 import com.library.exception.BusinessException;
 import com.library.exception.ResourceNotFoundException;
+import com.library.repository.ArchivedLoanRepository;
 import com.library.repository.BookRepository;
+import com.library.repository.LoanAdmission;
 import com.library.repository.LoanRepository;
+import com.library.repository.MemberLoanCount;
 import com.library.repository.MemberRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Service for managing book loans in the library system.
@@ -23,14 +53,52 @@ import java.util.stream.Collectors;
  * - Maximum 5 books per member
  * - Single copy per book
  * - Proper loan date tracking
+ * Publishes a {@link LoanChangedEvent} for every loan and return, and counts rejected
+ * loan requests in {@link LoanMetrics}.
+ * Loan reads also find the returned loans that {@link LoanArchiver} has moved to the archive.
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "library.service", histogram = true)
 public class LoanService {
+
+    /**
+     * Maximum number of books a member may have on loan at the same time.
+     */
+    static final int MAX_ACTIVE_LOANS = 5;
+
+    private static final String LIMIT_REACHED = "Member has reached the maximum limit of 5 books";
+    private static final String BOOK_LOANED = "Book is already loaned";
+    private static final String MEMBER_NOT_FOUND = "Member not found";
+    private static final String BOOK_NOT_FOUND = "Book not found";
+
     private final LoanRepository loanRepository;
+    private final ArchivedLoanRepository archivedLoanRepository;
     private final MemberRepository memberRepository;
     private final BookRepository bookRepository;
+    private final StreamingExporter streamingExporter;
+    private final LoanStateIndex loanStateIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoanMetrics loanMetrics;
+
+    /**
+     * Whether loans are checked and inserted with the single-statement PostgreSQL admission query.
+     */
+    @Value("${library.loans.single-statement-admission:false}")
+    private boolean singleStatementAdmission;
+
+    /**
+     * Loan period; a loan is due this long after its lend date.
+     */
+    @Value("${library.loans.loan-period:P14D}")
+    private Period loanPeriod;
+
+    private static final StreamingExporter.Columns<LoanDTO> EXPORT_COLUMNS = new StreamingExporter.Columns<>(
+            List.of("id", "member_id", "book_id", "lend_date", "due_date", "return_date"),
+            loan -> Arrays.asList(loan.getId(), loan.getMemberId(), loan.getBookId(),
+                    loan.getLendDate(), loan.getDueDate(), loan.getReturnDate()));
 
     /**
      * Creates a new loan for a book to a member.
@@ -39,39 +107,173 @@ public class LoanService {
      * - Book must be available (not currently loaned)
      * - Both member and book must exist
      *
+     * Concurrent requests are admitted without SERIALIZABLE isolation: member and book rows are
+     * locked before the limit and availability checks, and the uk_loan_active_book partial unique
+     * index rejects any second active loan of a book that bypasses these locks, e.g. a bulk checkout.
+     *
+     * With property library.loans.single-statement-admission, all checks and the insert run as one
+     * PostgreSQL statement after locking the member, which takes two round trips instead of six.
+     *
+     * With the {@link LoanStateIndex} enabled, existence of member and book, availability and loan
+     * limit are checked in memory before a transaction is started, in the same order, so rejected
+     * requests never reach the database.
+     *
      * @param loanDTO the loan information containing member and book IDs
      * @return the created loan as DTO
      * @throws ResourceNotFoundException if member or book not found
      * @throws BusinessException if business rules are violated (book unavailable or loan limit reached)
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoanDTO createLoan(LoanDTO loanDTO) {
-        Member member = memberRepository.findById(loanDTO.getMemberId())
-                .orElseThrow(() -> new ResourceNotFoundException("Member not found"));
+        try {
+            return admitLoan(loanDTO);
+        } catch (BusinessException | ResourceNotFoundException ex) {
+            loanMetrics.loanRejected(rejectionReason(ex.getMessage()));
+            throw ex;
+        }
+    }
+
+    /**
+     * Checks the lending rules and stores the loan, see {@link #createLoan(LoanDTO)}.
+     *
+     * @param loanDTO the loan information containing member and book IDs
+     * @return the created loan as DTO
+     */
+    private LoanDTO admitLoan(LoanDTO loanDTO) {
+        if (!loanStateIndex.isEnabled()) {
+            return transactionTemplate.execute(status -> {
+                // Serializes loans of the same member and of the same book until commit,
+                // always locking the member first so two requests cannot deadlock
+                Member member = memberRepository.findByIdForUpdate(loanDTO.getMemberId())
+                        .orElseThrow(() -> new ResourceNotFoundException(MEMBER_NOT_FOUND));
+                if (singleStatementAdmission) {
+                    return insertAdmitted(member.getId(), loanDTO.getBookId());
+                }
+                Book book = bookRepository.findByIdForUpdate(loanDTO.getBookId())
+                        .orElseThrow(() -> new ResourceNotFoundException(BOOK_NOT_FOUND));
+
+                if (loanRepository.existsByBookIdAndReturnDateIsNull(book.getId())) {
+                    throw new BusinessException(BOOK_LOANED);
+                }
+
+                // Check if member has reached the loan limit
+                if (loanRepository.countByMemberIdAndReturnDateIsNull(member.getId()) >= MAX_ACTIVE_LOANS) {
+                    throw new BusinessException(LIMIT_REACHED);
+                }
 
-        // Add validation for book availability
-        if (loanRepository.existsByBookIdAndReturnDateIsNull(loanDTO.getBookId())) {
-            throw new BusinessException("Book is already loaned");
+                return saveLoan(member, book);
+            });
         }
 
-        // Check if member has reached the loan limit
-        if (loanRepository.countByMemberIdAndReturnDateIsNull(member.getId()) >= 5) {
-            throw new BusinessException("Member has reached the maximum limit of 5 books");
+        checkAdmission(loanStateIndex.tryAdmit(loanDTO.getMemberId(), loanDTO.getBookId()));
+        try {
+            // The index has serialized loans of this member already, no lock needed
+            return transactionTemplate.execute(status -> singleStatementAdmission
+                    ? insertAdmitted(loanDTO.getMemberId(), loanDTO.getBookId())
+                    : saveLoan(findMember(loanDTO.getMemberId()), findBook(loanDTO.getBookId())));
+        } catch (RuntimeException ex) {
+            loanStateIndex.release(loanDTO.getMemberId(), loanDTO.getBookId());
+            throw ex;
         }
+    }
 
-        Book book = bookRepository.findById(loanDTO.getBookId())
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found"));
+    /**
+     * Creates several loans at once, e.g. for a stack of books checked out at a kiosk.
+     * The whole batch is validated with set-based queries: one query each for existing members,
+     * existing books, books already on loan and active loan counts per member.
+     * The members of the batch are locked first and then its books, each in ID order, like in
+     * {@link #createLoan(LoanDTO)}, so no concurrent loan of these members or books commits in between.
+     * Items are then checked in order against the same rules as {@link #createLoan(LoanDTO)},
+     * counting earlier accepted items of the batch towards the 5-book limit.
+     * Accepted loans are written with a single JDBC batch. Single-statement admission does not lock
+     * the book, so with it enabled the batch is inserted with one statement that skips books loaned
+     * concurrently; their items are reported as rejected because the book is loaned.
+     * With the {@link LoanStateIndex} enabled, availability and loan limits are taken from the index
+     * instead of the database and accepted items are reserved there.
+     *
+     * @param requests the loans to create, each containing member and book ID
+     * @return one result per request, in request order
+     */
+    public List<BatchLoanResultDTO> createLoans(List<LoanDTO> requests) {
+        Set<Long> memberIds = requests.stream().map(LoanDTO::getMemberId).collect(Collectors.toSet());
+        Set<Long> bookIds = requests.stream().map(LoanDTO::getBookId).collect(Collectors.toSet());
 
-        // Check if book is already loaned
-        if (loanRepository.existsByBookIdAndReturnDateIsNull(book.getId())) {
-            throw new BusinessException("Book is already loaned");
+        Set<Long> existingMembers = memberRepository.findAllByIdForUpdate(memberIds).stream()
+                .map(Member::getId)
+                .collect(Collectors.toSet());
+        Set<Long> existingBooks = bookRepository.findAllByIdForUpdate(bookIds).stream()
+                .map(Book::getId)
+                .collect(Collectors.toSet());
+        boolean indexed = loanStateIndex.isEnabled();
+        Set<Long> loanedBooks = new HashSet<>();
+        Map<Long, Long> activeLoans = new HashMap<>();
+        if (!indexed) {
+            loanedBooks.addAll(loanRepository.findLoanedBookIds(bookIds));
+            for (MemberLoanCount count : loanRepository.countActiveLoansByMemberIds(memberIds)) {
+                activeLoans.put(count.memberId(), count.activeLoans());
+            }
         }
 
-        Loan loan = new Loan();
-        loan.setMember(member);
-        loan.setBook(book);
-        loan.setLendDate(LocalDate.now());
+        LocalDate today = LocalDate.now();
+        List<BatchLoanResultDTO> results = new ArrayList<>(requests.size());
+        List<LoanDTO> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            LoanDTO request = requests.get(i);
+            String error = null;
+            if (!existingMembers.contains(request.getMemberId())) {
+                error = MEMBER_NOT_FOUND;
+            } else if (indexed) {
+                error = !existingBooks.contains(request.getBookId())
+                        ? BOOK_NOT_FOUND
+                        : admissionError(loanStateIndex.tryAdmit(request.getMemberId(), request.getBookId()));
+                if (error == null) {
+                    loanStateIndex.releaseOnRollback(request.getMemberId(), request.getBookId());
+                }
+            } else if (loanedBooks.contains(request.getBookId())) {
+                error = BOOK_LOANED;
+            } else if (activeLoans.getOrDefault(request.getMemberId(), 0L) >= MAX_ACTIVE_LOANS) {
+                error = LIMIT_REACHED;
+            } else if (!existingBooks.contains(request.getBookId())) {
+                error = BOOK_NOT_FOUND;
+            }
+
+            if (error != null) {
+                loanMetrics.loanRejected(rejectionReason(error));
+                results.add(new BatchLoanResultDTO(i, false, request, error));
+                continue;
+            }
+
+            LoanDTO loan = new LoanDTO();
+            loan.setMemberId(request.getMemberId());
+            loan.setBookId(request.getBookId());
+            loan.setLendDate(today);
+            loan.setDueDate(today.plus(loanPeriod));
+            accepted.add(loan);
+            acceptedIndexes.add(i);
+            loanedBooks.add(request.getBookId());
+            activeLoans.merge(request.getMemberId(), 1L, Long::sum);
+            results.add(new BatchLoanResultDTO(i, true, loan, null));
+        }
 
-        return convertToDTO(loanRepository.save(loan));
+        List<LoanDTO> skipped = List.of();
+        if (singleStatementAdmission) {
+            skipped = loanRepository.insertAvailableLoans(accepted);
+        } else {
+            loanRepository.insertLoans(accepted);
+        }
+        for (int i = 0; i < accepted.size(); i++) {
+            LoanDTO loan = accepted.get(i);
+            if (skipped.contains(loan)) {
+                // Loaned by a concurrent single-statement admission after the availability check
+                int index = acceptedIndexes.get(i);
+                loanMetrics.loanRejected(rejectionReason(BOOK_LOANED));
+                results.set(index, new BatchLoanResultDTO(index, false, requests.get(index), BOOK_LOANED));
+            } else {
+                eventPublisher.publishEvent(new LoanChangedEvent(ChangeType.CREATED, loan));
+            }
+        }
+        return results;
     }
 
     /**
@@ -84,49 +286,308 @@ public class LoanService {
      * @throws BusinessException if book was already returned
      */
     public LoanDTO returnBook(Long loanId) {
-        Loan loan = loanRepository.findById(loanId)
-                .orElseThrow(() -> new ResourceNotFoundException("Loan not found"));
+        Loan loan = loanRepository.findById(loanId).orElse(null);
+        if (loan == null) {
+            if (archivedLoanRepository.existsById(loanId)) {
+                throw new BusinessException("Book already returned");
+            }
+            throw new ResourceNotFoundException("Loan not found");
+        }
 
         if (loan.getReturnDate() != null) {
             throw new BusinessException("Book already returned");
         }
 
         loan.setReturnDate(LocalDate.now());
-        return convertToDTO(loanRepository.save(loan));
+        loanStateIndex.releaseAfterCommit(loan.getMember().getId(), loan.getBook().getId());
+        LoanDTO returned = convertToDTO(loanRepository.save(loan));
+        eventPublisher.publishEvent(new LoanChangedEvent(ChangeType.UPDATED, returned));
+        return returned;
+    }
+
+    /**
+     * Processes the return of several loaned books at once.
+     * All loans are loaded and locked with one query; the return dates are then written
+     * by Hibernate at commit as a single JDBC update batch.
+     *
+     * @param loanIds the IDs of the loans to return
+     * @return one result per loan ID, in request order
+     */
+    public List<BatchLoanResultDTO> returnBooks(List<Long> loanIds) {
+        Map<Long, Loan> loans = new HashMap<>();
+        for (Loan loan : loanRepository.findAllByIdForUpdate(new HashSet<>(loanIds))) {
+            loans.put(loan.getId(), loan);
+        }
+
+        Map<Long, LoanDTO> archived = new HashMap<>();
+        Set<Long> missing = new HashSet<>(loanIds);
+        missing.removeAll(loans.keySet());
+        if (!missing.isEmpty()) {
+            for (LoanDTO loan : archivedLoanRepository.findDtosByIdIn(missing)) {
+                archived.put(loan.getId(), loan);
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        List<BatchLoanResultDTO> results = new ArrayList<>(loanIds.size());
+        for (int i = 0; i < loanIds.size(); i++) {
+            Loan loan = loans.get(loanIds.get(i));
+            if (loan == null && archived.containsKey(loanIds.get(i))) {
+                results.add(new BatchLoanResultDTO(i, false, archived.get(loanIds.get(i)), "Book already returned"));
+            } else if (loan == null) {
+                results.add(new BatchLoanResultDTO(i, false, null, "Loan not found"));
+            } else if (loan.getReturnDate() != null) {
+                results.add(new BatchLoanResultDTO(i, false, convertToDTO(loan), "Book already returned"));
+            } else {
+                loan.setReturnDate(today);
+                loanStateIndex.releaseAfterCommit(loan.getMember().getId(), loan.getBook().getId());
+                LoanDTO returned = convertToDTO(loan);
+                eventPublisher.publishEvent(new LoanChangedEvent(ChangeType.UPDATED, returned));
+                results.add(new BatchLoanResultDTO(i, true, returned, null));
+            }
+        }
+        return results;
     }
 
     /**
      * Retrieves a specific loan by its ID.
+     * Projects the row straight into the DTO, without loading the loan entity.
+     * Falls back to the loan archive if the loan is no longer in the loan table.
      *
      * @param id the loan ID to retrieve
      * @return the loan information as DTO
      * @throws ResourceNotFoundException if loan not found
      */
+    @Transactional(readOnly = true)
     public LoanDTO getLoan(Long id) {
-        return convertToDTO(findLoanById(id));
+        return loanRepository.findDtoById(id)
+                .or(() -> archivedLoanRepository.findDtoById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Loan not found with id: " + id));
+    }
+
+    /**
+     * Retrieves one page of loans using keyset pagination.
+     * Loans are ordered by id, which is also their creation order; "id" is the only sort key.
+     * The page is merged from the loan table and the loan archive, each read with the same seek query.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the requested page size, capped at {@link Cursor#MAX_PAGE_SIZE}
+     * @param sort the sort key
+     * @return the page of loans as DTOs
+     * @throws BusinessException if the cursor, size or sort key is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<LoanDTO> getLoans(String cursor, int size, String sort) {
+        int pageSize = Cursor.pageSize(size);
+        Cursor after = Cursor.decode(cursor, sort);
+
+        if (!Cursor.ID.equals(sort)) {
+            throw new BusinessException("Unsupported sort key: " + sort);
+        }
+        Pageable window = Cursor.window(pageSize);
+        // A loan archived between the two queries is read from both tables, never from neither
+        Map<Long, LoanDTO> merged = new TreeMap<>();
+        for (LoanDTO loan : loanRepository.findPageOrderById(after.id(), window)) {
+            merged.put(loan.getId(), loan);
+        }
+        for (LoanDTO loan : archivedLoanRepository.findPageOrderById(after.id(), window)) {
+            merged.putIfAbsent(loan.getId(), loan);
+        }
+        List<LoanDTO> rows = merged.values().stream().limit(window.getPageSize()).toList();
+
+        return Cursor.page(rows, pageSize, sort, loan -> "", LoanDTO::getId, Function.identity());
     }
 
     /**
-     * Retrieves all loans in the system.
+     * Streams all loans, current and archived, to the given output in the requested format.
+     * Runs in a read-only transaction that keeps the database cursors open while writing,
+     * so memory use stays constant regardless of the number of loans.
      *
-     * @return list of all loans as DTOs
+     * @param out the target stream
+     * @param format the export format
+     * @return the number of exported loans
+     * @throws IOException if writing to the output fails
      */
-    public List<LoanDTO> getAllLoans() {
-        return loanRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public long exportLoans(OutputStream out, DataFormat format) throws IOException {
+        try (Stream<LoanDTO> loans = loanRepository.streamAllOrderById();
+             Stream<LoanDTO> archived = archivedLoanRepository.streamAllOrderById()) {
+            return streamingExporter.export(mergeById(loans, archived), Function.identity(),
+                    EXPORT_COLUMNS, format, out);
+        }
     }
 
     /**
-     * Helper method to find a loan by ID.
+     * Merges two streams of loans, each ordered by id, into one stream ordered by id.
+     * A loan contained in both streams, because it was archived between the two queries, is only
+     * returned once. The merged stream reads both streams lazily; closing them remains with the caller.
      *
-     * @param id the loan ID to find
-     * @return the found loan entity
-     * @throws ResourceNotFoundException if loan not found
+     * @param first the first ordered stream
+     * @param second the second ordered stream
+     * @return the loans of both streams ordered by id
      */
-    private Loan findLoanById(Long id) {
-        return loanRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Loan not found with id: " + id));
+    private static Stream<LoanDTO> mergeById(Stream<LoanDTO> first, Stream<LoanDTO> second) {
+        Iterator<LoanDTO> firstLoans = first.iterator();
+        Iterator<LoanDTO> secondLoans = second.iterator();
+        Iterator<LoanDTO> merged = new Iterator<>() {
+            private LoanDTO nextFirst = firstLoans.hasNext() ? firstLoans.next() : null;
+            private LoanDTO nextSecond = secondLoans.hasNext() ? secondLoans.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextFirst != null || nextSecond != null;
+            }
+
+            @Override
+            public LoanDTO next() {
+                LoanDTO loan;
+                if (nextFirst != null && nextSecond != null && nextFirst.getId().equals(nextSecond.getId())) {
+                    nextSecond = secondLoans.hasNext() ? secondLoans.next() : null;
+                }
+                if (nextSecond == null || (nextFirst != null && nextFirst.getId() < nextSecond.getId())) {
+                    loan = nextFirst;
+                    nextFirst = firstLoans.hasNext() ? firstLoans.next() : null;
+                } else {
+                    loan = nextSecond;
+                    nextSecond = secondLoans.hasNext() ? secondLoans.next() : null;
+                }
+                return loan;
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Helper method to find a member by ID.
+     *
+     * @param memberId the member ID to find
+     * @return the found member entity
+     * @throws ResourceNotFoundException if member not found
+     */
+    private Member findMember(Long memberId) {
+        return memberRepository.findById(memberId)
+                .orElseThrow(() -> new ResourceNotFoundException(MEMBER_NOT_FOUND));
+    }
+
+    /**
+     * Helper method to find a book by ID.
+     *
+     * @param bookId the book ID to find
+     * @return the found book entity
+     * @throws ResourceNotFoundException if book not found
+     */
+    private Book findBook(Long bookId) {
+        return bookRepository.findById(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException(BOOK_NOT_FOUND));
+    }
+
+    /**
+     * Stores a new loan of the given book to an admitted member, lent today.
+     * The insert is flushed at once, so a violation of the active loan index surfaces here.
+     *
+     * @param member the borrowing member
+     * @param book the book to loan
+     * @return the created loan as DTO
+     * @throws BusinessException if a concurrent request has loaned the book in the meantime
+     */
+    private LoanDTO saveLoan(Member member, Book book) {
+        Loan loan = new Loan();
+        loan.setMember(member);
+        loan.setBook(book);
+        loan.setLendDate(LocalDate.now());
+        loan.setDueDate(loan.getLendDate().plus(loanPeriod));
+
+        LoanDTO created;
+        try {
+            created = convertToDTO(loanRepository.saveAndFlush(loan));
+        } catch (DataIntegrityViolationException ex) {
+            // Member and book are loaded above, only the active loan index can be violated
+            throw new BusinessException(BOOK_LOANED);
+        }
+        eventPublisher.publishEvent(new LoanChangedEvent(ChangeType.CREATED, created));
+        return created;
+    }
+
+    /**
+     * Checks the loan rules and inserts the loan with the single-statement admission query.
+     * Keeps the error messages of the entity-based checks.
+     *
+     * @param memberId the ID of the borrowing member
+     * @param bookId the ID of the book to loan
+     * @return the created loan as DTO
+     * @throws ResourceNotFoundException if member or book not found
+     * @throws BusinessException if the book is unavailable or the loan limit is reached
+     */
+    private LoanDTO insertAdmitted(Long memberId, Long bookId) {
+        LocalDate today = LocalDate.now();
+        LocalDate dueDate = today.plus(loanPeriod);
+        LoanAdmission admission = loanRepository.admitLoan(memberId, bookId, today, dueDate, MAX_ACTIVE_LOANS);
+        switch (admission.getOutcome()) {
+            case LoanAdmission.MEMBER_NOT_FOUND -> throw new ResourceNotFoundException(MEMBER_NOT_FOUND);
+            case LoanAdmission.BOOK_NOT_FOUND -> throw new ResourceNotFoundException(BOOK_NOT_FOUND);
+            case LoanAdmission.BOOK_LOANED -> throw new BusinessException(BOOK_LOANED);
+            case LoanAdmission.LIMIT_REACHED -> throw new BusinessException(LIMIT_REACHED);
+            default -> {
+                // Admitted, but a concurrent loan of the book won the insert
+                if (admission.getLoanId() == null) {
+                    throw new BusinessException(BOOK_LOANED);
+                }
+            }
+        }
+
+        LoanDTO loan = new LoanDTO();
+        loan.setId(admission.getLoanId());
+        loan.setMemberId(memberId);
+        loan.setBookId(bookId);
+        loan.setLendDate(today);
+        loan.setDueDate(dueDate);
+        eventPublisher.publishEvent(new LoanChangedEvent(ChangeType.CREATED, loan));
+        return loan;
+    }
+
+    /**
+     * Translates a rejected admission of the loan state index into an exception.
+     *
+     * @param admission the admission outcome
+     * @throws ResourceNotFoundException if member or book does not exist
+     * @throws BusinessException if the book is loaned or the loan limit reached
+     */
+    private static void checkAdmission(LoanStateIndex.Admission admission) {
+        String error = admissionError(admission);
+        if (admission == LoanStateIndex.Admission.MEMBER_NOT_FOUND
+                || admission == LoanStateIndex.Admission.BOOK_NOT_FOUND) {
+            throw new ResourceNotFoundException(error);
+        }
+        if (error != null) {
+            throw new BusinessException(error);
+        }
+    }
+
+    /**
+     * Maps the error message of a rejected loan request to its {@link LoanMetrics} reason tag.
+     *
+     * @param message the error message
+     * @return the reason tag
+     */
+    private static String rejectionReason(String message) {
+        return switch (message) {
+            case BOOK_LOANED -> LoanMetrics.BOOK_LOANED;
+            case LIMIT_REACHED -> LoanMetrics.LIMIT_REACHED;
+            case MEMBER_NOT_FOUND -> LoanMetrics.MEMBER_NOT_FOUND;
+            case BOOK_NOT_FOUND -> LoanMetrics.BOOK_NOT_FOUND;
+            default -> LoanMetrics.OTHER;
+        };
+    }
+
+    private static String admissionError(LoanStateIndex.Admission admission) {
+        return switch (admission) {
+            case ADMITTED -> null;
+            case MEMBER_NOT_FOUND -> MEMBER_NOT_FOUND;
+            case BOOK_NOT_FOUND -> BOOK_NOT_FOUND;
+            case BOOK_LOANED -> BOOK_LOANED;
+            case LIMIT_REACHED -> LIMIT_REACHED;
+        };
     }
 
     /**
@@ -136,12 +597,13 @@ public class LoanService {
      * @param loan the loan entity to convert
      * @return the loan as DTO
      */
-    private LoanDTO convertToDTO(Loan loan) {
+    static LoanDTO convertToDTO(Loan loan) {
         LoanDTO dto = new LoanDTO();
         dto.setId(loan.getId());
         dto.setMemberId(loan.getMember().getId());
         dto.setBookId(loan.getBook().getId());
         dto.setLendDate(loan.getLendDate());
+        dto.setDueDate(loan.getDueDate());
         dto.setReturnDate(loan.getReturnDate());
         return dto;
     }
@@ -0,0 +1,260 @@
+package com.library.service;
+
+import com.library.event.BookChangedEvent;
+import com.library.event.ChangeType;
+import com.library.event.MemberChangedEvent;
+import com.library.repository.ActiveLoan;
+import com.library.repository.BookRepository;
+import com.library.repository.LoanRepository;
+import com.library.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of the current loan state.
+ * Keeps the IDs of all members, all books and all loaned books in bitmaps and the number of active
+ * loans per member in striped counters, so loan admission, including the rejection of unknown
+ * members and books, is decided without database round trips.
+ * The index is rebuilt from the member, book and loan tables at startup. Members and books are
+ * added and removed once their creation or deletion is committed. Loans are kept up to date by
+ * {@link LoanService}: admissions reserve their book and member slot immediately and are released
+ * again if the loan is not committed, returns are applied once their transaction has committed.
+ *
+ * The index only sees loans made through this instance. It is therefore disabled by default and
+ * must only be enabled with property library.loans.state-index.enabled when a single instance
+ * writes loans.
+ */
+@Slf4j
+@Component
+public class LoanStateIndex implements SmartInitializingSingleton {
+
+    /**
+     * Outcome of a loan admission check.
+     */
+    public enum Admission {
+        ADMITTED,
+        MEMBER_NOT_FOUND,
+        BOOK_NOT_FOUND,
+        BOOK_LOANED,
+        LIMIT_REACHED
+    }
+
+    private final LoanRepository loanRepository;
+    private final MemberRepository memberRepository;
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private final ConcurrentBitSet members = new ConcurrentBitSet();
+    private final ConcurrentBitSet books = new ConcurrentBitSet();
+    private final ConcurrentBitSet loanedBooks = new ConcurrentBitSet();
+    private final StripedCounters activeLoans = new StripedCounters();
+
+    public LoanStateIndex(LoanRepository loanRepository,
+                          MemberRepository memberRepository,
+                          BookRepository bookRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${library.loans.state-index.enabled:false}") boolean enabled) {
+        this.loanRepository = loanRepository;
+        this.memberRepository = memberRepository;
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Rebuilds the index before the application starts serving requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads the index from all members, books and active loans in the database.
+     */
+    public void rebuild() {
+        members.clear();
+        books.clear();
+        loanedBooks.clear();
+        activeLoans.clear();
+        long count = readOnlyTransaction.execute(status -> {
+            try (Stream<Long> ids = memberRepository.streamIds()) {
+                ids.forEach(members::add);
+            }
+            try (Stream<Long> ids = bookRepository.streamIds()) {
+                ids.forEach(books::add);
+            }
+            AtomicLong loaded = new AtomicLong();
+            try (Stream<ActiveLoan> loans = loanRepository.streamActiveLoans()) {
+                loans.forEach(loan -> {
+                    loanedBooks.add(loan.bookId());
+                    activeLoans.increment(loan.memberId());
+                    loaded.incrementAndGet();
+                });
+            }
+            return loaded.get();
+        });
+        log.info("Loan state index rebuilt with {} active loans", count);
+    }
+
+    /**
+     * Checks whether the index is in use.
+     *
+     * @return true if admission checks should be answered by the index
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Admits a loan if member and book exist, the book is available and the member is below the loan limit.
+     * The checks run in the order of the database path of {@link LoanService#createLoan}, so both report
+     * the same outcome.
+     * On admission the book is marked as loaned and the member's active loan count is incremented,
+     * so concurrent requests for the same book or member see the reservation at once.
+     * Callers must {@link #release(long, long)} the reservation if the loan is not stored.
+     *
+     * @param memberId the ID of the borrowing member
+     * @param bookId the ID of the book to loan
+     * @return the admission outcome
+     */
+    public Admission tryAdmit(long memberId, long bookId) {
+        if (!members.contains(memberId)) {
+            return Admission.MEMBER_NOT_FOUND;
+        }
+        if (!books.contains(bookId)) {
+            return Admission.BOOK_NOT_FOUND;
+        }
+        if (loanedBooks.contains(bookId)) {
+            return Admission.BOOK_LOANED;
+        }
+        if (!activeLoans.incrementBelow(memberId, LoanService.MAX_ACTIVE_LOANS)) {
+            return Admission.LIMIT_REACHED;
+        }
+        if (!loanedBooks.add(bookId)) {
+            // Another request reserved the book between the check and the update
+            activeLoans.decrement(memberId);
+            return Admission.BOOK_LOANED;
+        }
+        return Admission.ADMITTED;
+    }
+
+    /**
+     * Marks the book as available and decrements the member's active loan count.
+     *
+     * @param memberId the ID of the borrowing member
+     * @param bookId the ID of the loaned book
+     */
+    public void release(long memberId, long bookId) {
+        if (loanedBooks.remove(bookId)) {
+            activeLoans.decrement(memberId);
+        }
+    }
+
+    /**
+     * Releases an admitted loan if the current transaction rolls back.
+     *
+     * @param memberId the ID of the borrowing member
+     * @param bookId the ID of the loaned book
+     */
+    public void releaseOnRollback(long memberId, long bookId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(memberId, bookId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Releases a returned loan once the current transaction has committed.
+     * Until then the book keeps counting as loaned, which errs on the safe side.
+     * Does nothing if the index is disabled.
+     *
+     * @param memberId the ID of the borrowing member
+     * @param bookId the ID of the returned book
+     */
+    public void releaseAfterCommit(long memberId, long bookId) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(memberId, bookId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(memberId, bookId);
+            }
+        });
+    }
+
+    /**
+     * Adds a created member or removes a deleted one, once the change is committed.
+     *
+     * @param event the member change
+     */
+    @TransactionalEventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (enabled) {
+            apply(members, event.type(), event.member().getId());
+        }
+    }
+
+    /**
+     * Adds a created book or removes a deleted one, once the change is committed.
+     *
+     * @param event the book change
+     */
+    @TransactionalEventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (enabled) {
+            apply(books, event.type(), event.book().getId());
+        }
+    }
+
+    private static void apply(ConcurrentBitSet ids, ChangeType type, long id) {
+        if (type == ChangeType.CREATED) {
+            ids.add(id);
+        } else if (type == ChangeType.DELETED) {
+            ids.remove(id);
+        }
+    }
+
+    /**
+     * Checks whether a book is currently on loan.
+     *
+     * @param bookId the ID of the book
+     * @return true if the book is loaned or reserved by a pending loan
+     */
+    public boolean isLoaned(long bookId) {
+        return loanedBooks.contains(bookId);
+    }
+
+    /**
+     * Returns the number of active loans of a member, including pending admissions.
+     *
+     * @param memberId the ID of the member
+     * @return the number of active loans
+     */
+    public int activeLoans(long memberId) {
+        return activeLoans.get(memberId);
+    }
+}
@@ -1,16 +1,21 @@
 package com.library.service;
 
 import com.library.domain.Member;
+import com.library.dto.CursorPage;
 import com.library.dto.MemberDTO;
+import com.library.event.ChangeType;
+import com.library.event.MemberChangedEvent;
 import com.library.exception.BusinessException;
 import com.library.exception.ResourceNotFoundException;
 import com.library.repository.MemberRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Service for managing library members.
@@ -19,8 +24,10 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "library.service", histogram = true)
 public class MemberService {
     private final MemberRepository memberRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates a new member with unique username and email.
@@ -43,7 +50,9 @@ public class MemberService {
         member.setAddress(memberDTO.getAddress());
         member.setPhoneNumber(memberDTO.getPhoneNumber());
 
-        return convertToDTO(memberRepository.save(member));
+        MemberDTO created = convertToDTO(memberRepository.save(member));
+        eventPublisher.publishEvent(new MemberChangedEvent(ChangeType.CREATED, created));
+        return created;
     }
 
     /**
@@ -58,14 +67,53 @@ public class MemberService {
     }
 
     /**
-     * Retrieves all members in the system.
+     * Returns the current version of a member for conditional GET requests.
+     * The loaded entity stays in the request's persistence context, so a following
+     * {@link #getMember(Long)} does not query the database again.
      *
-     * @return list of all members as DTOs
+     * @param id the member ID
+     * @return the member's ETag and last modification time
+     * @throws ResourceNotFoundException if the member is not found
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getMemberVersion(Long id) {
+        Member member = findMemberById(id);
+        return ResourceVersion.of(member.getVersion(), member.getUpdatedAt());
+    }
+
+    /**
+     * Returns the current version of the member collection for conditional GET requests.
+     * Computed with a single aggregate query, independent of the requested page.
+     *
+     * @return the ETag of all members, without modification time
      */
-    public List<MemberDTO> getAllMembers() {
-        return memberRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ResourceVersion getMembersVersion() {
+        return ResourceVersion.of(memberRepository.findCollectionStamp());
+    }
+
+    /**
+     * Retrieves one page of members using keyset pagination.
+     * Supported sort keys are "id" and "username".
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the requested page size, capped at {@link Cursor#MAX_PAGE_SIZE}
+     * @param sort the sort key
+     * @return the page of members as DTOs
+     * @throws BusinessException if the cursor, size or sort key is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MemberDTO> getMembers(String cursor, int size, String sort) {
+        int pageSize = Cursor.pageSize(size);
+        Cursor after = Cursor.decode(cursor, sort);
+
+        List<MemberDTO> rows = switch (sort) {
+            case Cursor.ID -> memberRepository.findPageOrderById(after.id(), Cursor.window(pageSize));
+            case "username" -> memberRepository.findPageOrderByUsername(after.key(), after.id(), Cursor.window(pageSize));
+            default -> throw new BusinessException("Unsupported sort key: " + sort);
+        };
+
+        return Cursor.page(rows, pageSize, sort, MemberDTO::getUsername, MemberDTO::getId, Function.identity());
     }
 
     /**
@@ -95,7 +143,9 @@ public class MemberService {
         member.setAddress(memberDTO.getAddress());
         member.setPhoneNumber(memberDTO.getPhoneNumber());
 
-        return convertToDTO(memberRepository.save(member));
+        MemberDTO updated = convertToDTO(memberRepository.save(member));
+        eventPublisher.publishEvent(new MemberChangedEvent(ChangeType.UPDATED, updated));
+        return updated;
     }
 
     /**
@@ -109,6 +159,10 @@ public class MemberService {
             throw new ResourceNotFoundException("Member not found with id: " + id);
         }
         memberRepository.deleteById(id);
+
+        MemberDTO deleted = new MemberDTO();
+        deleted.setId(id);
+        eventPublisher.publishEvent(new MemberChangedEvent(ChangeType.DELETED, deleted));
     }
 
     /**
@@ -129,7 +183,7 @@ public class MemberService {
      * @param member the member entity to convert
      * @return the member as DTO
      */
-    private MemberDTO convertToDTO(Member member) {
+    static MemberDTO convertToDTO(Member member) {
         MemberDTO dto = new MemberDTO();
         dto.setId(member.getId());
         dto.setUsername(member.getUsername());
@@ -0,0 +1,226 @@
+package com.library.service;
+
+import com.library.domain.OutboxEntry;
+import com.library.event.ChangeType;
+import com.library.event.OutboxEvent;
+import com.library.event.OutboxEventConsumer;
+import com.library.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Delivers the events of the transactional outbox to the local {@link OutboxEventConsumer}s.
+ * Every library.outbox.relay.interval (default one second) the relay drains the outbox in batches of
+ * library.outbox.relay.batch-size, each batch in its own transaction: the entries are locked with
+ * SKIP LOCKED, handed to every consumer and deleted. Several instances can relay at the same time.
+ * The application itself registers no consumer: the outbox is disabled by default, {@link OutboxWriter}
+ * writes no events without a consumer, and an enabled relay still leaves events in the outbox as long
+ * as no consumer bean exists, rather than deleting events nobody received.
+ *
+ * Delivery is at least once. An entry whose delivery failed stays in the outbox with its attempt
+ * counted and is delivered again after a backoff, starting at library.outbox.relay.backoff and doubling
+ * with every failure up to library.outbox.relay.max-backoff; later events of the same aggregate wait
+ * for it, because a batch only takes the oldest pending event of each aggregate. After
+ * library.outbox.relay.max-attempts failures the entry is parked as a dead letter: it stays in the
+ * outbox for inspection, is no longer delivered and no longer holds back its aggregate.
+ *
+ * Published meters:
+ * - library.outbox.delivered
+ * - library.outbox.failed
+ * - library.outbox.dead-lettered, entries parked after their last failed attempt
+ * - library.outbox.delivery.lag, the time from writing an event to its delivery
+ * - library.outbox.lag, the age of the oldest pending event at the end of the last run, in seconds
+ * - library.outbox.dead-letters, the number of parked entries at the end of the last run
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final List<OutboxEventConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final Timer deliveryLag;
+    private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+    private final AtomicLong deadLetters = new AtomicLong();
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       ObjectProvider<OutboxEventConsumer> consumers,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry registry,
+                       @Value("${library.outbox.relay.enabled:false}") boolean enabled,
+                       @Value("${library.outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${library.outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${library.outbox.relay.backoff:PT1S}") Duration backoff,
+                       @Value("${library.outbox.relay.max-backoff:PT10M}") Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.consumers = consumers.orderedStream().toList();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.delivered = Counter.builder("library.outbox.delivered")
+                .description("Outbox events delivered to all consumers")
+                .register(registry);
+        this.failed = Counter.builder("library.outbox.failed")
+                .description("Outbox event deliveries failed by a consumer")
+                .register(registry);
+        this.deadLettered = Counter.builder("library.outbox.dead-lettered")
+                .description("Outbox events parked as dead letters after their last failed delivery")
+                .register(registry);
+        this.deliveryLag = Timer.builder("library.outbox.delivery.lag")
+                .description("Time from writing an outbox event to its delivery")
+                .register(registry);
+        Gauge.builder("library.outbox.lag", this, OutboxRelay::lagSeconds)
+                .description("Age of the oldest pending outbox event")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("library.outbox.dead-letters", deadLetters, AtomicLong::get)
+                .description("Outbox events parked as dead letters")
+                .register(registry);
+        if (enabled && this.consumers.isEmpty()) {
+            log.warn("Outbox relay enabled, but no OutboxEventConsumer is registered; events stay in the outbox");
+        }
+    }
+
+    /**
+     * Drains the outbox, if relaying is enabled.
+     */
+    @Scheduled(fixedDelayString = "${library.outbox.relay.interval:PT1S}")
+    public void relayScheduled() {
+        if (enabled) {
+            relay();
+        }
+    }
+
+    /**
+     * Delivers pending events batch by batch until no more progress is made.
+     * Stops when the outbox is empty or all remaining events wait for their next attempt.
+     * Without consumers nothing is delivered, and the events stay in the outbox.
+     *
+     * @return the number of delivered events
+     */
+    public long relay() {
+        if (consumers.isEmpty()) {
+            return 0;
+        }
+        long total = 0;
+        int batchDelivered;
+        do {
+            batchDelivered = transactionTemplate.execute(status -> relayBatch());
+            total += batchDelivered;
+        } while (batchDelivered > 0);
+
+        oldestPending.set(outboxRepository.findFirstByDeadLetterFalseOrderByIdAsc()
+                .map(OutboxEntry::getCreatedAt).orElse(null));
+        deadLetters.set(outboxRepository.countByDeadLetterTrue());
+        return total;
+    }
+
+    /**
+     * Delivers the next batch and removes the delivered entries from the outbox.
+     * Failed entries are updated with the transaction's commit, as the batch is loaded as managed entities.
+     *
+     * @return the number of delivered events
+     */
+    private int relayBatch() {
+        List<OutboxEntry> entries = outboxRepository.lockNextBatch(batchSize, Instant.now());
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> deliveredIds = new ArrayList<>(entries.size());
+        for (OutboxEntry entry : entries) {
+            if (deliver(toEvent(entry))) {
+                deliveredIds.add(entry.getId());
+                deliveryLag.record(Duration.between(entry.getCreatedAt(), Instant.now()));
+            } else {
+                failed.increment();
+                retryLater(entry);
+            }
+        }
+
+        if (!deliveredIds.isEmpty()) {
+            outboxRepository.deleteAllByIdIn(deliveredIds);
+            delivered.increment(deliveredIds.size());
+        }
+        return deliveredIds.size();
+    }
+
+    /**
+     * Counts a failed attempt and schedules the next one, or parks the entry as a dead letter.
+     */
+    private void retryLater(OutboxEntry entry) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            entry.setDeadLetter(true);
+            deadLettered.increment();
+            log.error("Outbox event {} of {} {} parked as dead letter after {} failed attempts",
+                    entry.getId(), entry.getAggregateType(), entry.getAggregateId(), attempts);
+        } else {
+            entry.setNextAttemptAt(Instant.now().plus(backoff(attempts)));
+        }
+    }
+
+    /**
+     * Returns the delay before the next attempt, doubling with every failed attempt.
+     */
+    private Duration backoff(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    /**
+     * Hands an event to all consumers.
+     *
+     * @return false if a consumer failed and the event must be delivered again
+     */
+    private boolean deliver(OutboxEvent event) {
+        for (OutboxEventConsumer consumer : consumers) {
+            try {
+                consumer.accept(event);
+            } catch (RuntimeException ex) {
+                log.warn("Outbox event {} of {} {} not delivered to {}",
+                        event.id(), event.aggregateType(), event.aggregateId(), consumer.getClass().getSimpleName(), ex);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static OutboxEvent toEvent(OutboxEntry entry) {
+        return new OutboxEvent(entry.getId(), entry.getAggregateType(), entry.getAggregateId(),
+                ChangeType.valueOf(entry.getEventType()), entry.getPayload(), entry.getCreatedAt());
+    }
+
+    private double lagSeconds() {
+        Instant oldest = oldestPending.get();
+        return oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis() / 1000.0;
+    }
+}
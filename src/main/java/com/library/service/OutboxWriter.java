@@ -0,0 +1,155 @@
+package com.library.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.domain.OutboxEntry;
+import com.library.event.AuthorChangedEvent;
+import com.library.event.BookChangedEvent;
+import com.library.event.ChangeType;
+import com.library.event.LoanChangedEvent;
+import com.library.event.MemberChangedEvent;
+import com.library.event.OutboxEventConsumer;
+import com.library.repository.OutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the entity change events of the services to the transactional outbox.
+ * The events are received synchronously, while the publishing transaction is still open, and
+ * collected per transaction. Just before the transaction commits they are inserted with one JDBC
+ * batch on the transaction's connection, so they are committed or rolled back together with the
+ * change itself. Bulk operations such as batch loans and catalog imports therefore cost one
+ * outbox batch per transaction, not one insert per event.
+ *
+ * The {@link OutboxRelay} delivers the written events to the local consumers. Nothing else drains
+ * the outbox, so events are only written with property library.outbox.enabled and at least one
+ * {@link OutboxEventConsumer} bean; otherwise the listeners return without touching the database.
+ */
+@Slf4j
+@Component
+public class OutboxWriter {
+
+    static final String AUTHOR = "author";
+    static final String BOOK = "book";
+    static final String MEMBER = "member";
+    static final String LOAN = "loan";
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public OutboxWriter(OutboxRepository outboxRepository,
+                        ObjectMapper objectMapper,
+                        ObjectProvider<OutboxEventConsumer> consumers,
+                        @Value("${library.outbox.enabled:false}") boolean enabled) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        boolean consumed = consumers.orderedStream().findAny().isPresent();
+        if (enabled && !consumed) {
+            log.warn("Outbox enabled, but no OutboxEventConsumer is registered; no events are written");
+        }
+        this.enabled = enabled && consumed;
+    }
+
+    /**
+     * Writes an author change to the outbox.
+     *
+     * @param event the change
+     */
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        append(AUTHOR, event.author().getId(), event.type(), event.author());
+    }
+
+    /**
+     * Writes a book change to the outbox.
+     *
+     * @param event the change
+     */
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        append(BOOK, event.book().getId(), event.type(), event.book());
+    }
+
+    /**
+     * Writes a member change to the outbox.
+     *
+     * @param event the change
+     */
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        append(MEMBER, event.member().getId(), event.type(), event.member());
+    }
+
+    /**
+     * Writes a loan or return to the outbox.
+     *
+     * @param event the change
+     */
+    @EventListener
+    public void onLoanChanged(LoanChangedEvent event) {
+        append(LOAN, event.loan().getId(), event.type(), event.loan());
+    }
+
+    /**
+     * Adds an event to the entries of the current transaction.
+     * Outside of a transaction the event is written immediately.
+     */
+    private void append(String aggregateType, Long aggregateId, ChangeType type, Object payload) {
+        if (!enabled) {
+            return;
+        }
+        OutboxEntry entry = new OutboxEntry();
+        entry.setAggregateType(aggregateType);
+        entry.setAggregateId(aggregateId);
+        entry.setEventType(type.name());
+        entry.setPayload(toJson(payload));
+        entry.setCreatedAt(Instant.now());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxRepository.insertEntries(List.of(entry));
+            return;
+        }
+        // Looked up among the synchronizations, which are suspended with their transaction
+        PendingEntries pending = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingEntries.class::isInstance)
+                .map(PendingEntries.class::cast)
+                .findFirst()
+                .orElse(null);
+        if (pending == null) {
+            pending = new PendingEntries();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.entries.add(entry);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Inserts the entries collected in a transaction before it commits.
+     */
+    private class PendingEntries implements TransactionSynchronization {
+        private final List<OutboxEntry> entries = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            outboxRepository.insertEntries(entries);
+        }
+    }
+}
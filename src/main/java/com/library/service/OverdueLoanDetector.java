@@ -0,0 +1,171 @@
+package com.library.service;
+
+import com.library.dto.LoanDTO;
+import com.library.event.ChangeType;
+import com.library.event.LoanChangedEvent;
+import com.library.event.LoansOverdueEvent;
+import com.library.repository.LoanRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Detects loans that pass their due date without being returned.
+ * All active loans are kept in a {@link TimingWheel} with the start of the day after their due date
+ * as deadline. The wheel is loaded at startup from the active loans, read by due date through the
+ * idx_loan_active_due_date index, and kept up to date from committed {@link LoanChangedEvent}s:
+ * new loans are added and returned loans removed. Every tick (library.loans.overdue.tick, default
+ * five minutes) the wheel is advanced and the loans that have become overdue are published as
+ * {@link LoansOverdueEvent}s of at most library.loans.overdue.batch-size loans.
+ * A tick only touches the loans coming due, the loan table is not scanned again.
+ *
+ * After a restart, loans that are already overdue are reported again with the first tick.
+ * Like the {@link LoanStateIndex}, the detector only sees loans made and returned through this
+ * instance. It is therefore disabled by default and must only be enabled with property
+ * library.loans.overdue.enabled when a single instance writes loans.
+ */
+@Slf4j
+@Component
+public class OverdueLoanDetector implements SmartInitializingSingleton {
+
+    /**
+     * Number of wheel slots; with the default tick the wheel turns once in about four weeks,
+     * so loans of the regular loan period are only visited when they come due.
+     */
+    private static final int SLOTS = 8192;
+
+    private final LoanRepository loanRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoanMetrics loanMetrics;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int batchSize;
+    private final TimingWheel<LoanDTO> wheel;
+
+    @Autowired
+    public OverdueLoanDetector(LoanRepository loanRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               LoanMetrics loanMetrics,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${library.loans.overdue.enabled:false}") boolean enabled,
+                               @Value("${library.loans.overdue.tick:PT5M}") Duration tick,
+                               @Value("${library.loans.overdue.batch-size:500}") int batchSize) {
+        this(loanRepository, eventPublisher, loanMetrics, transactionManager, enabled, tick, batchSize,
+                Clock.systemDefaultZone());
+    }
+
+    OverdueLoanDetector(LoanRepository loanRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        LoanMetrics loanMetrics,
+                        PlatformTransactionManager transactionManager,
+                        boolean enabled,
+                        Duration tick,
+                        int batchSize,
+                        Clock clock) {
+        this.loanRepository = loanRepository;
+        this.eventPublisher = eventPublisher;
+        this.loanMetrics = loanMetrics;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(SLOTS, tick.toMillis(), clock.millis());
+    }
+
+    /**
+     * Loads the active loans before the application starts serving requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            load();
+        }
+    }
+
+    /**
+     * Schedules all active loans from the database.
+     */
+    void load() {
+        long count = readOnlyTransaction.execute(status -> {
+            AtomicLong loaded = new AtomicLong();
+            try (Stream<LoanDTO> loans = loanRepository.streamActiveOrderByDueDate()) {
+                loans.forEach(loan -> {
+                    schedule(loan);
+                    loaded.incrementAndGet();
+                });
+            }
+            return loaded.get();
+        });
+        log.info("Overdue loan detector loaded with {} active loans", count);
+    }
+
+    /**
+     * Adds new loans to the wheel and removes returned ones, once the change is committed.
+     *
+     * @param event the loan change
+     */
+    @TransactionalEventListener
+    public void onLoanChanged(LoanChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        LoanDTO loan = event.loan();
+        if (event.type() == ChangeType.CREATED) {
+            schedule(loan);
+        } else if (loan.getReturnDate() != null) {
+            wheel.cancel(loan.getId());
+        }
+    }
+
+    /**
+     * Advances the wheel and reports the loans that have become overdue.
+     */
+    @Scheduled(fixedDelayString = "${library.loans.overdue.tick:PT5M}",
+            initialDelayString = "${library.loans.overdue.tick:PT5M}")
+    public void tick() {
+        if (enabled) {
+            detect();
+        }
+    }
+
+    /**
+     * Advances the wheel to the current time and publishes the overdue loans in batches.
+     *
+     * @return the number of loans that have become overdue
+     */
+    int detect() {
+        List<LoanDTO> overdue = wheel.advance(clock.millis());
+        for (int from = 0; from < overdue.size(); from += batchSize) {
+            List<LoanDTO> batch = List.copyOf(overdue.subList(from, Math.min(from + batchSize, overdue.size())));
+            eventPublisher.publishEvent(new LoansOverdueEvent(batch));
+        }
+        if (!overdue.isEmpty()) {
+            loanMetrics.loansOverdue(overdue.size());
+            log.info("{} loans have become overdue, {} active loans not yet due", overdue.size(), wheel.size());
+        }
+        return overdue.size();
+    }
+
+    private void schedule(LoanDTO loan) {
+        // A loan is overdue from the start of the day after its due date
+        LocalDate overdueFrom = loan.getDueDate().plusDays(1);
+        long deadline = overdueFrom.atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        wheel.schedule(loan.getId(), deadline, loan);
+    }
+}
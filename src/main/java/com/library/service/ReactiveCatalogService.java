@@ -0,0 +1,109 @@
+package com.library.service;
+
+import com.library.dto.AuthorDTO;
+import com.library.dto.BookDTO;
+import com.library.dto.CursorPage;
+import com.library.exception.BusinessException;
+import com.library.exception.ResourceNotFoundException;
+import com.library.repository.ReactiveCatalogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Non-blocking, read-only variant of the catalog reads of {@link BookService} and {@link AuthorService}.
+ * Returns the same DTOs, pages and errors, but reads through R2DBC, so no thread waits for the database.
+ * Reads bypass the Hibernate second-level cache and are not served with ETags.
+ * All writes stay on the JPA services.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveCatalogService {
+    private final ReactiveCatalogRepository catalogRepository;
+
+    /**
+     * Retrieves a book by its ID.
+     *
+     * @param id the book ID
+     * @return the book, or a {@link ResourceNotFoundException} error if not found
+     */
+    public Mono<BookDTO> getBook(Long id) {
+        return catalogRepository.findBookById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Book not found with id: " + id)));
+    }
+
+    /**
+     * Retrieves one page of books using keyset pagination.
+     * Supported sort keys are "id" and "title".
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the requested page size, capped at {@link Cursor#MAX_PAGE_SIZE}
+     * @param sort the sort key
+     * @return the page of books, or a {@link BusinessException} error if the cursor, size or sort key is invalid
+     */
+    public Mono<CursorPage<BookDTO>> getBooks(String cursor, int size, String sort) {
+        return Mono.defer(() -> {
+            int pageSize = Cursor.pageSize(size);
+            Cursor after = Cursor.decode(cursor, sort);
+            int limit = Cursor.window(pageSize).getPageSize();
+
+            Flux<BookDTO> rows = switch (sort) {
+                case Cursor.ID -> catalogRepository.findBookPageOrderById(after.id(), limit);
+                case "title" -> catalogRepository.findBookPageOrderByTitle(after.key(), after.id(), limit);
+                default -> throw new BusinessException("Unsupported sort key: " + sort);
+            };
+
+            return rows.collectList().map(list ->
+                    Cursor.page(list, pageSize, sort, BookDTO::getTitle, BookDTO::getId, Function.identity()));
+        });
+    }
+
+    /**
+     * Streams all books ordered by id, as fast as the subscriber consumes them.
+     *
+     * @return all books
+     */
+    public Flux<BookDTO> streamBooks() {
+        return catalogRepository.streamBooks();
+    }
+
+    /**
+     * Retrieves an author by their ID.
+     *
+     * @param id the author ID
+     * @return the author, or a {@link ResourceNotFoundException} error if not found
+     */
+    public Mono<AuthorDTO> getAuthor(Long id) {
+        return catalogRepository.findAuthorById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Author not found with id: " + id)));
+    }
+
+    /**
+     * Retrieves one page of authors using keyset pagination.
+     * Supported sort keys are "id" and "name".
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the requested page size, capped at {@link Cursor#MAX_PAGE_SIZE}
+     * @param sort the sort key
+     * @return the page of authors, or a {@link BusinessException} error if the cursor, size or sort key is invalid
+     */
+    public Mono<CursorPage<AuthorDTO>> getAuthors(String cursor, int size, String sort) {
+        return Mono.defer(() -> {
+            int pageSize = Cursor.pageSize(size);
+            Cursor after = Cursor.decode(cursor, sort);
+            int limit = Cursor.window(pageSize).getPageSize();
+
+            Flux<AuthorDTO> rows = switch (sort) {
+                case Cursor.ID -> catalogRepository.findAuthorPageOrderById(after.id(), limit);
+                case "name" -> catalogRepository.findAuthorPageOrderByName(after.key(), after.id(), limit);
+                default -> throw new BusinessException("Unsupported sort key: " + sort);
+            };
+
+            return rows.collectList().map(list ->
+                    Cursor.page(list, pageSize, sort, AuthorDTO::getName, AuthorDTO::getId, Function.identity()));
+        });
+    }
+}
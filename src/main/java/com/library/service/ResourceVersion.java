@@ -0,0 +1,45 @@
+package com.library.service;
+
+import com.library.repository.CollectionStamp;
+
+import java.time.Instant;
+
+/**
+ * Validators of a resource representation for conditional GET requests.
+ * Entity tags are weak: the same version is served as JSON, CBOR or Smile and may be gzip-compressed,
+ * and Tomcat does not compress responses with a strong entity tag.
+ *
+ * @param eTag the weak entity tag, including W/ prefix and quotes
+ * @param lastModified the time of the last modification, null if unknown
+ */
+public record ResourceVersion(String eTag, Instant lastModified) {
+
+    /**
+     * Creates the validators of a single entity from its version column.
+     *
+     * @param version the entity version
+     * @param updatedAt the entity's update timestamp
+     * @return the resource version
+     */
+    public static ResourceVersion of(Long version, Instant updatedAt) {
+        return new ResourceVersion("W/\"" + orZero(version) + "\"", updatedAt);
+    }
+
+    /**
+     * Creates the validators of a collection from its table aggregate.
+     * Collections have no modification time, as deleting a row leaves no later timestamp behind;
+     * only the entity tag, which changes with the row count, identifies their version.
+     *
+     * @param stamp the aggregate over all rows of the collection
+     * @return the resource version without modification time
+     */
+    public static ResourceVersion of(CollectionStamp stamp) {
+        return new ResourceVersion(
+                "W/\"" + stamp.count() + "-" + orZero(stamp.maxId()) + "-" + orZero(stamp.versionSum()) + "\"",
+                null);
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0 : value;
+    }
+}
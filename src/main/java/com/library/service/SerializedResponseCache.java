@@ -0,0 +1,157 @@
+package com.library.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.library.event.AuthorChangedEvent;
+import com.library.event.BookChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the JSON responses of single books and authors, stored off the Java heap.
+ * A response is serialized once with the application's object mapper into a direct byte buffer
+ * and stored under its region and entity ID together with the entity version it was written for.
+ * A request for the same version is answered with the stored bytes, without building a DTO or
+ * running Jackson; a request for another version serializes and stores the response again, so
+ * changes made through other instances are never served stale.
+ *
+ * Entries are removed once a change of the entity is committed, and the least recently used
+ * entries are evicted when the buffers exceed library.response-cache.max-size (default 16 MB).
+ * Responses larger than library.response-cache.max-entry-size are not stored.
+ * The memory of an evicted buffer is released when the garbage collector reclaims the buffer object.
+ *
+ * Published meters:
+ * - cache.gets, cache.puts, cache.evictions and cache.size tagged cache=serialized-responses
+ * - library.response-cache.size, bytes held by the cached responses
+ */
+@Component
+public class SerializedResponseCache {
+
+    /**
+     * Region of the book responses.
+     */
+    public static final String BOOKS = "books";
+
+    /**
+     * Region of the author responses.
+     */
+    public static final String AUTHORS = "authors";
+
+    /**
+     * Estimated heap size of an entry besides its buffer, counted against the size limit.
+     */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long maxEntrySize;
+    private final Cache<Key, Entry> cache;
+
+    public SerializedResponseCache(ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${library.response-cache.enabled:true}") boolean enabled,
+                                   @Value("${library.response-cache.max-size:16MB}") DataSize maxSize,
+                                   @Value("${library.response-cache.max-entry-size:64KB}") DataSize maxEntrySize) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxEntrySize = maxEntrySize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, Entry entry) -> entry.json().capacity() + ENTRY_OVERHEAD)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "serialized-responses");
+        Gauge.builder("library.response-cache.size", this, SerializedResponseCache::weightedSize)
+                .description("Size of the cached responses including the estimated entry overhead")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the JSON response of an entity in the given version.
+     * The returned buffer is read-only and positioned at the start of the response.
+     *
+     * @param region the region of the entity type, {@link #BOOKS} or {@link #AUTHORS}
+     * @param id the entity ID
+     * @param version the current version of the entity, usually its ETag
+     * @param value builds the DTO, only called if the response is not cached in this version
+     * @return the JSON response
+     */
+    public ByteBuffer get(String region, Long id, String version, Supplier<?> value) {
+        if (!enabled) {
+            return ByteBuffer.wrap(serialize(value.get()));
+        }
+        Key key = new Key(region, id);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.version().equals(version)) {
+            return entry.json().asReadOnlyBuffer();
+        }
+
+        byte[] json = serialize(value.get());
+        if (json.length > maxEntrySize) {
+            cache.invalidate(key);
+            return ByteBuffer.wrap(json);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(json.length).put(json).flip();
+        cache.put(key, new Entry(version, buffer));
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Removes the response of a changed book.
+     *
+     * @param event the book change
+     */
+    @TransactionalEventListener
+    public void onBookChanged(BookChangedEvent event) {
+        cache.invalidate(new Key(BOOKS, event.book().getId()));
+    }
+
+    /**
+     * Removes the response of a changed author.
+     *
+     * @param event the author change
+     */
+    @TransactionalEventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        cache.invalidate(new Key(AUTHORS, event.author().getId()));
+    }
+
+    /**
+     * Returns the size of the cached responses.
+     *
+     * @return the buffer sizes plus the estimated entry overhead, in bytes
+     */
+    long weightedSize() {
+        cache.cleanUp();
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private record Key(String region, Long id) {
+    }
+
+    private record Entry(String version, ByteBuffer json) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.library.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes database result streams to an output stream as NDJSON or CSV.
+ * Rows are converted and written one at a time, so memory use does not depend on the number of rows.
+ * Every {@link #CHUNK_SIZE} rows the output is flushed and the persistence context is cleared,
+ * which detaches the already written entities and keeps the session from growing.
+ *
+ * Must be called inside a read-only transaction that keeps the result stream open.
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamingExporter {
+
+    /**
+     * Number of rows written between output flushes and persistence context clears.
+     */
+    static final int CHUNK_SIZE = 500;
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    /**
+     * CSV layout of an exported record: the header row and a function producing the column values.
+     *
+     * @param header the column names
+     * @param values extracts the column values of a record, in header order
+     * @param <T> the exported record type
+     */
+    public record Columns<T>(List<String> header, Function<T, List<?>> values) {
+    }
+
+    /**
+     * Exports all rows of the stream.
+     *
+     * @param rows the entity stream, closed by the caller
+     * @param mapper converts an entity to the exported DTO
+     * @param columns the CSV layout of the DTO
+     * @param format the output format
+     * @param out the target stream, not closed by this method
+     * @return the number of exported rows
+     * @throws IOException if writing to the output fails
+     */
+    public <E, T> long export(Stream<E> rows, Function<E, T> mapper, Columns<T> columns,
+                              DataFormat format, OutputStream out) throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(out, 64 * 1024);
+        ObjectWriter json = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+
+        if (format == DataFormat.CSV) {
+            writeCsvRow(buffer, columns.header());
+        }
+
+        long count = 0;
+        Iterator<E> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T record = mapper.apply(iterator.next());
+            if (format == DataFormat.CSV) {
+                writeCsvRow(buffer, columns.values().apply(record));
+            } else {
+                json.writeValue(buffer, record);
+                buffer.write(NEWLINE);
+            }
+
+            if (++count % CHUNK_SIZE == 0) {
+                buffer.flush();
+                entityManager.clear();
+            }
+        }
+
+        buffer.flush();
+        return count;
+    }
+
+    /**
+     * Writes a single CSV row terminated by a newline.
+     *
+     * @param out the target stream
+     * @param values the column values, null values are written as empty fields
+     * @throws IOException if writing fails
+     */
+    private void writeCsvRow(OutputStream out, List<?> values) throws IOException {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            Object value = values.get(i);
+            row.append(value == null ? "" : Csv.escape(value.toString()));
+        }
+        row.append('\n');
+        out.write(row.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
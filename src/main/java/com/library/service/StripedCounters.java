@@ -0,0 +1,79 @@
+package com.library.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Thread-safe counters keyed by non-negative long IDs.
+ * Counters are stored in stripes of 4096 consecutive IDs, each stripe a primitive int array
+ * allocated on first use, so concurrent updates of different IDs never contend on a lock
+ * and no boxed counter is created per ID.
+ */
+final class StripedCounters {
+
+    private static final int STRIPE_BITS = 12;
+    private static final int STRIPE_SIZE = 1 << STRIPE_BITS;
+
+    private final ConcurrentHashMap<Long, AtomicIntegerArray> stripes = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the current value of the counter of the given ID.
+     *
+     * @param id the counter ID
+     * @return the counter value, 0 if the counter was never incremented
+     */
+    int get(long id) {
+        AtomicIntegerArray stripe = stripes.get(id >>> STRIPE_BITS);
+        return stripe == null ? 0 : stripe.get(index(id));
+    }
+
+    /**
+     * Increments the counter of the given ID unless it has reached the limit.
+     *
+     * @param id the counter ID
+     * @param limit the exclusive upper bound of the counter after incrementing
+     * @return true if the counter was incremented, false if it was already at the limit
+     */
+    boolean incrementBelow(long id, int limit) {
+        AtomicIntegerArray stripe = stripes.computeIfAbsent(id >>> STRIPE_BITS, key -> new AtomicIntegerArray(STRIPE_SIZE));
+        int index = index(id);
+        int current;
+        do {
+            current = stripe.get(index);
+            if (current >= limit) {
+                return false;
+            }
+        } while (!stripe.compareAndSet(index, current, current + 1));
+        return true;
+    }
+
+    /**
+     * Increments the counter of the given ID without limit.
+     *
+     * @param id the counter ID
+     */
+    void increment(long id) {
+        stripes.computeIfAbsent(id >>> STRIPE_BITS, key -> new AtomicIntegerArray(STRIPE_SIZE))
+                .incrementAndGet(index(id));
+    }
+
+    /**
+     * Decrements the counter of the given ID, never below zero.
+     *
+     * @param id the counter ID
+     */
+    void decrement(long id) {
+        AtomicIntegerArray stripe = stripes.get(id >>> STRIPE_BITS);
+        if (stripe != null) {
+            stripe.getAndUpdate(index(id), value -> Math.max(value - 1, 0));
+        }
+    }
+
+    void clear() {
+        stripes.clear();
+    }
+
+    private static int index(long id) {
+        return (int) id & (STRIPE_SIZE - 1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.library.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel holding timers with a payload, keyed by a long ID.
+ * Time is divided into ticks of fixed length; a timer is stored in the slot of its deadline tick
+ * modulo the number of slots. Advancing the wheel only visits the slots of the ticks that have
+ * passed, so the cost of an advance grows with the number of timers in those slots, not with the
+ * total number of timers. Timers more than one wheel revolution ahead share a slot with nearer ones
+ * and are skipped until their own tick has passed.
+ *
+ * Scheduling and cancelling take constant time. All methods are synchronized.
+ *
+ * @param <T> the type of the timer payload
+ */
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final Map<Long, T>[] slots;
+    private final int mask;
+    private final Map<Long, Long> deadlineTicks = new HashMap<>();
+    private long nextTick;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param slotCount the number of slots, a power of two
+     * @param tickMillis the length of a tick in milliseconds
+     * @param startMillis the current time; the first advance processes the tick containing it
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel(int slotCount, long tickMillis, long startMillis) {
+        if (Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of two: " + slotCount);
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new Map[slotCount];
+        this.mask = slotCount - 1;
+        this.nextTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules a timer, replacing a timer with the same ID.
+     * A deadline that has already passed expires with the next advance.
+     *
+     * @param id the timer ID
+     * @param deadlineMillis the time at which the timer expires
+     * @param payload the payload returned on expiry
+     */
+    synchronized void schedule(long id, long deadlineMillis, T payload) {
+        cancel(id);
+        // Rounded up, a timer never expires before its deadline
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), nextTick);
+        int slot = (int) (tick & mask);
+        if (slots[slot] == null) {
+            slots[slot] = new LinkedHashMap<>();
+        }
+        slots[slot].put(id, payload);
+        deadlineTicks.put(id, tick);
+    }
+
+    /**
+     * Removes a timer.
+     *
+     * @param id the timer ID
+     * @return true if the timer was scheduled
+     */
+    synchronized boolean cancel(long id) {
+        Long tick = deadlineTicks.remove(id);
+        if (tick == null) {
+            return false;
+        }
+        slots[(int) (tick & mask)].remove(id);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time and removes all timers that have expired.
+     * After a pause longer than a revolution, every slot is visited once.
+     *
+     * @param nowMillis the current time
+     * @return the payloads of the expired timers
+     */
+    synchronized List<T> advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        long lastTick = Math.min(nowTick, nextTick + slots.length - 1);
+        for (long tick = nextTick; tick <= lastTick; tick++) {
+            Map<Long, T> slot = slots[(int) (tick & mask)];
+            if (slot == null) {
+                continue;
+            }
+            for (Iterator<Map.Entry<Long, T>> it = slot.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Long, T> timer = it.next();
+                if (deadlineTicks.get(timer.getKey()) <= nowTick) {
+                    deadlineTicks.remove(timer.getKey());
+                    expired.add(timer.getValue());
+                    it.remove();
+                }
+            }
+        }
+        nextTick = Math.max(nextTick, nowTick + 1);
+        return expired;
+    }
+
+    /**
+     * Returns the number of scheduled timers.
+     *
+     * @return the number of timers that have neither expired nor been cancelled
+     */
+    synchronized int size() {
+        return deadlineTicks.size();
+    }
+}
@@ -0,0 +1,3 @@
+-- Enforce a single active loan per book in the database.
+-- Concurrent loan requests may both pass the availability check, the second insert fails on this index.
+CREATE UNIQUE INDEX uk_loan_active_book ON loan (book_id) WHERE return_date IS NULL;
@@ -0,0 +1,4 @@
+-- Track the last modification of catalog and member rows for Last-Modified response headers.
+ALTER TABLE author ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+ALTER TABLE book ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+ALTER TABLE member ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
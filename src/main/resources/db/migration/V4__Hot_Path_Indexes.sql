@@ -0,0 +1,12 @@
+-- Indexes for the lookups on the loan and catalog hot paths.
+-- Active loans of a member: loan limit checks and loan admission count only open loans.
+CREATE INDEX idx_loan_member_active ON loan (member_id) WHERE return_date IS NULL;
+-- Foreign keys of loan: loan history of members and books, and the reference checks
+-- when a member or book is deleted. Active loans of a book use uk_loan_active_book.
+CREATE INDEX idx_loan_member_lend_date ON loan (member_id, lend_date);
+CREATE INDEX idx_loan_book_lend_date ON loan (book_id, lend_date);
+-- Books of an author; uk_book_title_author leads with the title and cannot serve these lookups.
+CREATE INDEX idx_book_author ON book (author_id);
+-- Keyset pagination by title and by name, with the id as tie breaker.
+CREATE INDEX idx_book_title_id ON book (title, id);
+CREATE INDEX idx_author_name_id ON author (name, id);
@@ -0,0 +1,18 @@
+-- Returned loans older than the archive age are moved here by the loan archiver,
+-- keeping their IDs, so the loan table and its indexes only hold recent loans.
+CREATE TABLE loan_archive (
+                              id BIGINT PRIMARY KEY,
+                              member_id BIGINT NOT NULL,
+                              book_id BIGINT NOT NULL,
+                              lend_date DATE NOT NULL,
+                              return_date DATE NOT NULL,
+                              archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+                              FOREIGN KEY (member_id) REFERENCES member(id),
+                              FOREIGN KEY (book_id) REFERENCES book(id)
+);
+
+CREATE INDEX idx_loan_archive_member_lend_date ON loan_archive (member_id, lend_date);
+CREATE INDEX idx_loan_archive_book_lend_date ON loan_archive (book_id, lend_date);
+
+-- Archiving selects returned loans by return date
+CREATE INDEX idx_loan_returned ON loan (return_date) WHERE return_date IS NOT NULL;
@@ -0,0 +1,11 @@
+-- Due date of a loan: the lend date plus the loan period (14 days for existing loans).
+ALTER TABLE loan ADD COLUMN due_date DATE;
+UPDATE loan SET due_date = lend_date + 14;
+ALTER TABLE loan ALTER COLUMN due_date SET NOT NULL;
+
+ALTER TABLE loan_archive ADD COLUMN due_date DATE;
+UPDATE loan_archive SET due_date = lend_date + 14;
+ALTER TABLE loan_archive ALTER COLUMN due_date SET NOT NULL;
+
+-- Active loans by due date, read by the overdue detector at startup
+CREATE INDEX idx_loan_active_due_date ON loan (due_date) WHERE return_date IS NULL;
@@ -0,0 +1,14 @@
+-- Transactional outbox: entity change events are written here in the transaction of the change
+-- and relayed to local consumers by the outbox relay, which deletes them once delivered.
+CREATE TABLE outbox_event (
+                              id BIGSERIAL PRIMARY KEY,
+                              aggregate_type VARCHAR(20) NOT NULL,
+                              aggregate_id BIGINT NOT NULL,
+                              event_type VARCHAR(20) NOT NULL,
+                              payload TEXT NOT NULL,
+                              created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                              attempts INTEGER NOT NULL DEFAULT 0
+);
+
+-- The relay only takes the oldest pending event of each aggregate
+CREATE INDEX idx_outbox_event_aggregate ON outbox_event (aggregate_type, aggregate_id, id);
@@ -0,0 +1,11 @@
+-- Failed outbox deliveries are retried with exponential backoff: an event is only relayed again once
+-- next_attempt_at has passed. After library.outbox.relay.max-attempts failures it is parked as a dead
+-- letter, which the relay no longer delivers and which no longer holds back its aggregate's later events.
+ALTER TABLE outbox_event ADD COLUMN next_attempt_at TIMESTAMP WITH TIME ZONE;
+UPDATE outbox_event SET next_attempt_at = created_at;
+ALTER TABLE outbox_event ALTER COLUMN next_attempt_at SET NOT NULL;
+
+ALTER TABLE outbox_event ADD COLUMN dead_letter BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Dead letters are few; they are counted for the library.outbox.dead-letters gauge
+CREATE INDEX idx_outbox_event_dead_letter ON outbox_event (id) WHERE dead_letter;
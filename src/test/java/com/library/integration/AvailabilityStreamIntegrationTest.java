@@ -0,0 +1,125 @@
+package com.library.integration;
+
+import com.library.dto.LoanDTO;
+import com.library.event.ChangeType;
+import com.library.event.LoanChangedEvent;
+import com.library.service.AvailabilityBroadcaster;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Integration tests for the book availability stream.
+ * Opens streams through MockMvc, broadcasts loan changes and reads the events written to the response.
+ * Uses H2 in-memory database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:availabilitydb;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class AvailabilityStreamIntegrationTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AvailabilityBroadcaster broadcaster;
+
+    /**
+     * Tests that loans and returns are streamed and that a reconnecting client receives what it missed.
+     *
+     * Test scenario:
+     * 1. Open a stream and lend book 101
+     * 2. Expect an availability event for book 101
+     * 3. Return book 101 and lend book 102 while disconnected
+     * 4. Reconnect with the last event ID, expect both missed changes and no reset
+     */
+    @Test
+    void stream_SendsChangesAndResumesFromLastEventId() throws Exception {
+        // Arrange
+        MockHttpServletResponse first = openStream(null);
+
+        // Act
+        broadcaster.onLoanChanged(loanChange(ChangeType.CREATED, 101L, null));
+        String firstEvents = awaitContent(first, "\"bookId\":101");
+
+        Matcher id = EVENT_ID.matcher(firstEvents);
+        String lastEventId = null;
+        while (id.find()) {
+            lastEventId = id.group(1);
+        }
+        broadcaster.onLoanChanged(loanChange(ChangeType.UPDATED, 101L, LocalDate.now()));
+        broadcaster.onLoanChanged(loanChange(ChangeType.CREATED, 102L, null));
+        MockHttpServletResponse resumed = openStream(lastEventId);
+
+        // Assert
+        assertTrue(firstEvents.contains("event:availability"));
+        assertTrue(firstEvents.contains("\"available\":false"));
+        String resumedEvents = awaitContent(resumed, "\"bookId\":102");
+        assertTrue(resumedEvents.contains("{\"bookId\":101,\"available\":true}"));
+        assertFalse(resumedEvents.contains("event:reset"));
+    }
+
+    /**
+     * Tests that an unknown Last-Event-ID leads to a reset event.
+     */
+    @Test
+    void stream_WhenLastEventIdUnknown_SendsReset() throws Exception {
+        MockHttpServletResponse response = openStream("earlier-run-42");
+
+        awaitContent(response, "event:reset");
+    }
+
+    private MockHttpServletResponse openStream(String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder stream = get("/api/books/availability/stream");
+        if (lastEventId != null) {
+            stream.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(stream)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    /**
+     * Waits until the events sent by the sender threads contain the expected text.
+     */
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            String content = response.getContentAsString();
+            if (content.contains(expected)) {
+                return content;
+            }
+            Thread.sleep(10);
+        }
+        fail("Stream did not receive " + expected + ":\n" + response.getContentAsString());
+        return null;
+    }
+
+    private static LoanChangedEvent loanChange(ChangeType type, Long bookId, LocalDate returnDate) {
+        LocalDate lendDate = LocalDate.now();
+        return new LoanChangedEvent(type, new LoanDTO(bookId, 1L, bookId, lendDate, lendDate.plusDays(14), returnDate));
+    }
+}
@@ -1,22 +1,49 @@
 package com.library.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.library.domain.Author;
+import com.library.domain.Book;
 import com.library.dto.BookDTO;
 import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import com.library.repository.OutboxRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -30,7 +57,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @TestPropertySource(properties = {
         "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
         "spring.datasource.driver-class-name=org.h2.Driver",
-        "spring.jpa.hibernate.ddl-auto=create-drop"
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
 })
 class BookControllerIntegrationTest {
 
@@ -43,6 +71,15 @@ class BookControllerIntegrationTest {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
     private Long authorId;
 
     /**
@@ -91,6 +128,32 @@ class BookControllerIntegrationTest {
                 .andExpect(jsonPath("$.authorId").value(authorId));
     }
 
+    /**
+     * Tests that changes write no outbox events in the default configuration.
+     * Nothing drains the outbox without a consumer, so every row would stay forever.
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void createBook_DefaultConfiguration_WritesNoOutboxEvents() throws Exception {
+        // Arrange
+        long before = outboxRepository.count();
+        BookDTO bookDTO = new BookDTO();
+        bookDTO.setTitle("Outbox Book " + authorId);
+        bookDTO.setGenre("Fiction");
+        bookDTO.setPrice(new BigDecimal("29.99"));
+        bookDTO.setAuthorId(authorId);
+
+        // Act
+        mockMvc.perform(post("/api/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookDTO)))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertEquals(before, outboxRepository.count());
+    }
+
     /**
      * Tests book creation with invalid data.
      * Verifies:
@@ -136,4 +199,479 @@ class BookControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(bookDTO)))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests keyset pagination of the book list.
+     * Verifies:
+     * - Page size is honoured
+     * - A next cursor is returned while more books exist
+     * - The next page continues after the last id of the previous page
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void getBooks_WithCursor_ReturnsNextPage() throws Exception {
+        // Arrange
+        Author author = authorRepository.findById(authorId).orElseThrow();
+        for (int i = 0; i < 3; i++) {
+            Book book = new Book();
+            book.setTitle("Paged Book " + authorId + "-" + i);
+            book.setGenre("Fiction");
+            book.setPrice(new BigDecimal("9.99"));
+            book.setAuthor(author);
+            bookRepository.save(book);
+        }
+
+        // Act
+        String firstPage = mockMvc.perform(get("/api/books").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode first = objectMapper.readTree(firstPage);
+        long lastId = first.get("items").get(1).get("id").asLong();
+
+        String secondPage = mockMvc.perform(get("/api/books")
+                        .param("size", "2")
+                        .param("cursor", first.get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        JsonNode second = objectMapper.readTree(secondPage);
+        assertTrue(second.get("items").get(0).get("id").asLong() > lastId);
+    }
+
+    /**
+     * Tests the CSV catalog import.
+     * Verifies:
+     * - Books referencing an existing author by ID are created
+     * - Authors referenced by name are created once
+     * - Duplicate and invalid rows are rejected with their line number
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void importBooks_Csv_CreatesBooksAndReportsRejects() throws Exception {
+        // Arrange
+        String csv = String.join("\n",
+                "title,genre,price,author_id,author_name,author_date_of_birth",
+                "Imported Book " + authorId + ",Fiction,10.00," + authorId + ",,",
+                "Imported Poems " + authorId + ",Poetry,12.50,,\"Poet, " + authorId + "\",1970-05-01",
+                "Imported Book " + authorId + ",Fiction,10.00," + authorId + ",,",
+                "Free Book " + authorId + ",Fiction,-1," + authorId + ",,");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/books/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(4))
+                .andExpect(jsonPath("$.booksCreated").value(2))
+                .andExpect(jsonPath("$.authorsCreated").value(1))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.rejects[0].line").value(4))
+                .andExpect(jsonPath("$.rejects[0].reason")
+                        .value("A book with this title already exists for this author"))
+                .andExpect(jsonPath("$.rejects[1].line").value(5))
+                .andExpect(jsonPath("$.rejects[1].reason").value("Price must be positive"));
+
+        assertTrue(bookRepository.existsByTitleAndAuthorId("Imported Book " + authorId, authorId));
+        assertEquals(1, authorRepository.findByNameIn(List.of("Poet, " + authorId)).size());
+    }
+
+    /**
+     * Tests the CSV catalog import of rows beyond the column limits of the schema.
+     * Verifies:
+     * - Rows with an over-long title or a price beyond DECIMAL(10,2) are rejected individually
+     * - The other rows of the same chunk are still imported
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void importBooks_Csv_RejectsRowsBeyondColumnLimits() throws Exception {
+        // Arrange
+        String csv = String.join("\n",
+                "title,genre,price,author_id",
+                "Limit Book " + authorId + ",Fiction,10.00," + authorId,
+                "x".repeat(256) + ",Fiction,10.00," + authorId,
+                "Expensive Book " + authorId + ",Fiction,123456789.99," + authorId,
+                "Precise Book " + authorId + ",Fiction,9.999," + authorId,
+                "Other Limit Book " + authorId + ",Fiction,99999999.99," + authorId);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/books/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(5))
+                .andExpect(jsonPath("$.booksCreated").value(2))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.rejects[0].line").value(3))
+                .andExpect(jsonPath("$.rejects[0].reason").value("Title must be at most 255 characters"))
+                .andExpect(jsonPath("$.rejects[1].line").value(4))
+                .andExpect(jsonPath("$.rejects[1].reason")
+                        .value("Price must have at most 8 digits before the decimal point"))
+                .andExpect(jsonPath("$.rejects[2].line").value(5))
+                .andExpect(jsonPath("$.rejects[2].reason").value("Price must have at most 2 decimal places"));
+
+        assertTrue(bookRepository.existsByTitleAndAuthorId("Limit Book " + authorId, authorId));
+        assertTrue(bookRepository.existsByTitleAndAuthorId("Other Limit Book " + authorId, authorId));
+    }
+
+    /**
+     * Tests conditional GET of a single book.
+     * Verifies:
+     * - The response carries ETag, Last-Modified and Cache-Control headers
+     * - A request with the same ETag in If-None-Match returns 304 without body
+     * - An update of the book changes the ETag
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void getBook_WithMatchingETag_ReturnsNotModified() throws Exception {
+        // Arrange
+        Book book = new Book();
+        book.setTitle("Conditional Book " + authorId);
+        book.setGenre("Fiction");
+        book.setPrice(new BigDecimal("19.99"));
+        book.setAuthor(authorRepository.findById(authorId).orElseThrow());
+        Long bookId = bookRepository.save(book).getId();
+
+        String eTag = mockMvc.perform(get("/api/books/{id}", bookId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().exists(HttpHeaders.CACHE_CONTROL))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books/{id}", bookId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        BookDTO update = new BookDTO();
+        update.setTitle("Conditional Book " + authorId);
+        update.setGenre("Poetry");
+        update.setPrice(new BigDecimal("19.99"));
+        update.setAuthorId(authorId);
+        mockMvc.perform(put("/api/books/{id}", bookId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/books/{id}", bookId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.genre").value("Poetry"));
+    }
+
+    /**
+     * Tests that a repeated read of a book is served from the second-level cache.
+     * Verifies:
+     * - The first read after eviction loads the book from the database
+     * - The second read hits the cache region of Book and loads nothing
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void getBook_RepeatedRead_ServedFromSecondLevelCache() throws Exception {
+        // Arrange
+        Long bookId = saveBook("Cached Book " + authorId).getId();
+        entityManagerFactory.getCache().evict(Book.class, bookId);
+        EntityStatistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics().getEntityStatistics(Book.class.getName());
+
+        mockMvc.perform(get("/api/books/{id}", bookId))
+                .andExpect(status().isOk());
+        long loads = statistics.getLoadCount();
+        long hits = statistics.getCacheHitCount();
+
+        // Act
+        mockMvc.perform(get("/api/books/{id}", bookId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Cached Book " + authorId));
+
+        // Assert
+        assertEquals(loads, statistics.getLoadCount());
+        assertTrue(statistics.getCacheHitCount() > hits);
+    }
+
+    /**
+     * Tests conditional GET of the book collection after a delete.
+     * Verifies:
+     * - The collection response carries an ETag but no Last-Modified header
+     * - Deleting a book that is not the newest changes the ETag
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void getBooks_AfterDelete_ChangesETagWithoutLastModified() throws Exception {
+        // Arrange
+        Long deletedId = saveBook("Deleted Book " + authorId).getId();
+        saveBook("Remaining Book " + authorId);
+
+        String eTag = mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act
+        mockMvc.perform(delete("/api/books/{id}", deletedId))
+                .andExpect(status().is2xxSuccessful());
+
+        // Assert
+        mockMvc.perform(get("/api/books").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    }
+
+    /**
+     * Tests content negotiation of the binary formats.
+     * Verifies:
+     * - A book can be created with a CBOR request body and is returned as CBOR
+     * - The book list is returned as Smile when requested
+     * - JSON stays the default and conditional responses vary by Accept
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void books_WithBinaryAccept_NegotiateCborAndSmile() throws Exception {
+        // Arrange
+        MediaType cbor = MediaType.parseMediaType("application/cbor");
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        BookDTO bookDTO = new BookDTO();
+        bookDTO.setTitle("Binary Book " + authorId);
+        bookDTO.setGenre("Science");
+        bookDTO.setPrice(new BigDecimal("24.99"));
+        bookDTO.setAuthorId(authorId);
+
+        // Act
+        byte[] created = mockMvc.perform(post("/api/books")
+                        .contentType(cbor)
+                        .accept(cbor)
+                        .content(new CBORMapper().writeValueAsBytes(bookDTO)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(cbor))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] list = mockMvc.perform(get("/api/books").param("size", "100").accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(smile))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        BookDTO createdBook = new CBORMapper().readValue(created, BookDTO.class);
+        assertEquals("Binary Book " + authorId, createdBook.getTitle());
+
+        JsonNode items = new SmileMapper().readTree(list).get("items");
+        assertTrue(items.findValuesAsText("title").contains("Binary Book " + authorId));
+
+        mockMvc.perform(get("/api/books/{id}", createdBook.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title").value("Binary Book " + authorId));
+    }
+
+    /**
+     * Tests the selection between the cached JSON response and the binary formats of a single book.
+     * Verifies:
+     * - Smile is returned when preferred, JSON when preferred over CBOR
+     * - An Accept header with too many media types is rejected as a client error, not a server error
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void getBook_WithAccept_SelectsJsonOrBinaryHandler() throws Exception {
+        // Arrange
+        Book book = saveBook("Negotiated Book " + authorId);
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        String tooManyTypes = String.join(", ", Collections.nCopies(60, "application/json"));
+
+        // Act
+        byte[] binary = mockMvc.perform(get("/api/books/{id}", book.getId()).accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        mockMvc.perform(get("/api/books/{id}", book.getId())
+                        .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title").value("Negotiated Book " + authorId));
+
+        mockMvc.perform(get("/api/books/{id}", book.getId()).header(HttpHeaders.ACCEPT, tooManyTypes))
+                .andExpect(status().is4xxClientError());
+
+        // Assert
+        assertEquals("Negotiated Book " + authorId, new SmileMapper().readValue(binary, BookDTO.class).getTitle());
+    }
+
+    /**
+     * Tests the book search endpoint.
+     * Verifies:
+     * - A book created through the API is searchable right after the request commits
+     * - Query terms match word prefixes of title and author name, ignoring case
+     * - Books not matching every term are not returned
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void searchBooks_AfterCreate_FindsBookByPrefix() throws Exception {
+        // Arrange
+        BookDTO bookDTO = new BookDTO();
+        bookDTO.setTitle("Searchable Quixotic Chronicles " + authorId);
+        bookDTO.setGenre("Fiction");
+        bookDTO.setPrice(new BigDecimal("12.50"));
+        bookDTO.setAuthorId(authorId);
+        String created = mockMvc.perform(post("/api/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookDTO)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long bookId = objectMapper.readTree(created).get("id").asLong();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books/search").param("q", "QUIXOT test auth " + authorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(bookId))
+                .andExpect(jsonPath("$[0].authorName").value("Test Author"));
+
+        mockMvc.perform(get("/api/books/search").param("q", "quixotic poetry"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    /**
+     * Tests the NDJSON book export.
+     * Verifies:
+     * - The export is streamed as application/x-ndjson with a download file name
+     * - Every book is written as one JSON line with the fields of the book DTO
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void exportBooks_Ndjson_WritesOneLinePerBook() throws Exception {
+        // Arrange
+        Book book = saveBook("Exported Book " + authorId);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/books/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String export = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("books.ndjson")))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        // Assert
+        List<String> lines = export.lines().toList();
+        assertEquals(bookRepository.count(), lines.size());
+        JsonNode exported = lines.stream()
+                .map(this::readJson)
+                .filter(line -> line.get("id").asLong() == book.getId())
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Exported Book " + authorId, exported.get("title").asText());
+        assertEquals(authorId, exported.get("authorId").asLong());
+    }
+
+    /**
+     * Tests the CSV book export and its escaping.
+     * Verifies:
+     * - The export starts with the header row and is streamed as text/csv
+     * - A title with a comma, quotes and a line break is quoted with doubled quotes
+     * - The export can be imported again: every row is read intact and rejected only as a duplicate
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void exportBooks_Csv_EscapesFieldsAndImportsAgain() throws Exception {
+        // Arrange
+        saveBook("Export \"Quoted\", Book " + authorId + "\nSecond Line");
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/books/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String export = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        // Assert
+        assertTrue(export.startsWith("id,title,genre,price,author_id\n"));
+        assertTrue(export.contains(",\"Export \"\"Quoted\"\", Book " + authorId + "\nSecond Line\",Fiction,9.99,"));
+
+        long books = bookRepository.count();
+        mockMvc.perform(post("/api/books/import")
+                        .contentType("text/csv")
+                        .content(export))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsRead").value(books))
+                .andExpect(jsonPath("$.booksCreated").value(0))
+                .andExpect(jsonPath("$.rejected").value(books))
+                .andExpect(jsonPath("$.rejects[*].reason",
+                        everyItem(equalTo("A book with this title already exists for this author"))));
+    }
+
+    /**
+     * Tests gzip negotiation of the export.
+     * Verifies:
+     * - Accept-Encoding: gzip returns a gzip-compressed body and Vary: Accept-Encoding
+     * - gzip with quality zero is refused and the body is sent uncompressed
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void exportBooks_AcceptEncoding_NegotiatesGzip() throws Exception {
+        // Arrange
+        saveBook("Compressed Book " + authorId);
+
+        // Act
+        MvcResult gzipped = mockMvc.perform(get("/api/books/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] compressed = mockMvc.perform(asyncDispatch(gzipped))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MvcResult refused = mockMvc.perform(get("/api/books/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String plain = mockMvc.perform(asyncDispatch(refused))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        // Assert
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                    .contains("\"title\":\"Compressed Book " + authorId + "\""));
+        }
+        assertTrue(plain.contains("\"title\":\"Compressed Book " + authorId + "\""));
+    }
+
+    private Book saveBook(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setGenre("Fiction");
+        book.setPrice(new BigDecimal("9.99"));
+        book.setAuthor(authorRepository.findById(authorId).orElseThrow());
+        return bookRepository.save(book);
+    }
+
+    private JsonNode readJson(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.library.integration;
+
+import com.library.domain.Author;
+import com.library.domain.Book;
+import com.library.domain.Member;
+import com.library.dto.CursorPage;
+import com.library.dto.LoanDTO;
+import com.library.exception.BusinessException;
+import com.library.repository.ArchivedLoanRepository;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import com.library.repository.LoanRepository;
+import com.library.repository.MemberRepository;
+import com.library.service.LoanArchiver;
+import com.library.service.LoanService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the loan archive.
+ * Archives returned loans in several chunks and verifies that loan reads still find them.
+ * Uses H2 in-memory database.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivedb;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "library.loans.single-statement-admission=false",
+        "library.loans.archive.batch-size=2",
+        "library.loans.archive.pause=PT0S"
+})
+class LoanArchiveIntegrationTest {
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanArchiver loanArchiver;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private ArchivedLoanRepository archivedLoanRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tests archiving returned loans.
+     * Verifies that only old returned loans are moved and that reads still find them.
+     *
+     * Test scenario:
+     * 1. A member borrows five books and returns four of them
+     * 2. Three of the returns are dated back two years
+     * 3. Archive loans returned more than one year ago, two per chunk
+     * 4. Expect three archived loans, found by id, by page and as already returned
+     */
+    @Test
+    void archive_MovesOldReturnedLoans_ReadsStillFindThem() {
+        // Arrange
+        Author author = new Author();
+        author.setName("Archive Author");
+        author.setDateOfBirth(LocalDate.of(1970, 1, 1));
+        author = authorRepository.save(author);
+
+        Member member = new Member();
+        member.setUsername("archiver");
+        member.setEmail("archiver@example.com");
+        member.setAddress("1 Archive Street");
+        member.setPhoneNumber("+1234567890");
+        member = memberRepository.save(member);
+
+        Long[] loanIds = new Long[5];
+        for (int i = 0; i < loanIds.length; i++) {
+            Book book = new Book();
+            book.setTitle("Archive Book " + i);
+            book.setGenre("History");
+            book.setPrice(new BigDecimal("12.50"));
+            book.setAuthor(author);
+            book = bookRepository.save(book);
+            loanIds[i] = loanService.createLoan(new LoanDTO(null, member.getId(), book.getId(), null, null, null)).getId();
+        }
+        for (int i = 0; i < 4; i++) {
+            loanService.returnBook(loanIds[i]);
+        }
+        LocalDate twoYearsAgo = LocalDate.now().minusYears(2);
+        jdbcTemplate.update("UPDATE loan SET lend_date = ?, return_date = ? WHERE id IN (?, ?, ?)",
+                twoYearsAgo, twoYearsAgo, loanIds[0], loanIds[1], loanIds[2]);
+
+        // Act
+        long archived = loanArchiver.archive(LocalDate.now().minusYears(1));
+
+        // Assert
+        assertEquals(3, archived);
+        assertEquals(2, loanRepository.count());
+        assertEquals(3, archivedLoanRepository.count());
+
+        LoanDTO archivedLoan = loanService.getLoan(loanIds[1]);
+        assertEquals(twoYearsAgo, archivedLoan.getReturnDate());
+        assertEquals(member.getId(), archivedLoan.getMemberId());
+
+        CursorPage<LoanDTO> page = loanService.getLoans(null, 10, "id");
+        List<Long> pageIds = page.getItems().stream().map(LoanDTO::getId).toList();
+        assertEquals(List.of(loanIds), pageIds);
+
+        BusinessException ex = assertThrows(BusinessException.class, () ->
+                loanService.returnBook(loanIds[0])
+        );
+        assertEquals("Book already returned", ex.getMessage());
+
+        assertTrue(loanRepository.existsById(loanIds[3]));
+        assertFalse(loanRepository.existsById(loanIds[2]));
+    }
+}
@@ -0,0 +1,258 @@
+package com.library.integration;
+
+import com.library.domain.Author;
+import com.library.domain.Book;
+import com.library.domain.Member;
+import com.library.dto.BatchLoanResultDTO;
+import com.library.dto.LoanDTO;
+import com.library.exception.BusinessException;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import com.library.repository.LoanRepository;
+import com.library.repository.MemberRepository;
+import com.library.service.LoanService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Concurrency tests for loan admission.
+ * Fires many loan requests at the same time and verifies the lending rules still hold.
+ * Uses H2 in-memory database; the partial unique index of migration V2 is emulated with
+ * a generated column, as H2 does not support partial indexes.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrencydb;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "library.loans.single-statement-admission=false"
+})
+class LoanConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 64;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+    private Author author;
+
+    /**
+     * Sets up the emulated active loan index, a test author and the request threads.
+     */
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("ALTER TABLE loan ADD COLUMN IF NOT EXISTS active_book_id BIGINT "
+                + "GENERATED ALWAYS AS (CASE WHEN return_date IS NULL THEN book_id END)");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS uk_loan_active_book ON loan (active_book_id)");
+
+        author = new Author();
+        author.setName("Concurrency Author");
+        author.setDateOfBirth(LocalDate.of(1970, 1, 1));
+        author = authorRepository.save(author);
+
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Tests many members loaning the same book at the same time.
+     * Verifies that exactly one loan is created and all other requests are rejected
+     * with the regular business error.
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void createLoan_SameBookConcurrently_AdmitsExactlyOne() throws Exception {
+        // Arrange
+        Book book = createBook("Contended Book");
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            members.add(createMember("same-book-" + i));
+        }
+
+        // Act
+        Outcome outcome = runConcurrently(i -> loanRequest(members.get(i), book));
+
+        // Assert
+        assertEquals(1, outcome.admitted());
+        assertEquals(REQUESTS - 1, outcome.rejected());
+        assertEquals(1, loanRepository.findLoanedBookIds(List.of(book.getId())).size());
+    }
+
+    /**
+     * Tests one member loaning many different books at the same time.
+     * Verifies that the member ends up with exactly the maximum of 5 active loans.
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void createLoan_SameMemberConcurrently_EnforcesLimit() throws Exception {
+        // Arrange
+        Member member = createMember("same-member");
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            books.add(createBook("Limit Book " + i));
+        }
+
+        // Act
+        Outcome outcome = runConcurrently(i -> loanRequest(member, books.get(i)));
+
+        // Assert
+        assertEquals(5, outcome.admitted());
+        assertEquals(REQUESTS - 5, outcome.rejected());
+        assertEquals(5, loanRepository.countByMemberIdAndReturnDateIsNull(member.getId()));
+    }
+
+    /**
+     * Tests bulk checkouts and single loans of the same books at the same time.
+     * Verifies that every book is loaned exactly once and that no batch fails as a whole,
+     * as the batches lock their books like single loans do.
+     *
+     * @throws Exception if test fails
+     */
+    @Test
+    void createLoans_BatchAndSingleLoansConcurrently_AdmitEachBookOnce() throws Exception {
+        // Arrange
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            books.add(createBook("Batch Book " + i));
+        }
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            members.add(createMember("batch-single-" + i));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < REQUESTS; i++) {
+            Member member = members.get(i);
+            Book book = books.get(i % books.size());
+            boolean batch = i % 2 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                if (batch) {
+                    List<LoanDTO> requests = books.stream().map(b -> loanRequest(member, b)).toList();
+                    return (int) loanService.createLoans(requests).stream()
+                            .filter(BatchLoanResultDTO::isSuccess)
+                            .count();
+                }
+                try {
+                    loanService.createLoan(loanRequest(member, book));
+                    return 1;
+                } catch (BusinessException ex) {
+                    return 0;
+                }
+            }));
+        }
+        start.countDown();
+        int admitted = 0;
+        for (Future<Integer> future : futures) {
+            admitted += future.get(30, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        assertEquals(books.size(), admitted);
+        assertEquals(books.size(), loanRepository.findLoanedBookIds(books.stream().map(Book::getId).toList()).size());
+    }
+
+    /**
+     * Sends all requests at once from the thread pool and counts the outcomes.
+     * Any exception other than a business rule rejection fails the test.
+     */
+    private Outcome runConcurrently(IntFunction<LoanDTO> requests) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            LoanDTO request = requests.apply(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    loanService.createLoan(request);
+                    admitted.incrementAndGet();
+                } catch (BusinessException ex) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        return new Outcome(admitted.get(), rejected.get());
+    }
+
+    private LoanDTO loanRequest(Member member, Book book) {
+        LoanDTO loan = new LoanDTO();
+        loan.setMemberId(member.getId());
+        loan.setBookId(book.getId());
+        return loan;
+    }
+
+    private Book createBook(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setGenre("Fiction");
+        book.setPrice(new BigDecimal("9.99"));
+        book.setAuthor(author);
+        return bookRepository.save(book);
+    }
+
+    private Member createMember(String username) {
+        Member member = new Member();
+        member.setUsername(username);
+        member.setEmail(username + "@example.com");
+        member.setAddress("Test Street 1");
+        member.setPhoneNumber("123456789");
+        return memberRepository.save(member);
+    }
+
+    private record Outcome(int admitted, int rejected) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.library.integration;
+
+import com.library.dto.AuthorDTO;
+import com.library.dto.BookDTO;
+import com.library.dto.LoanDTO;
+import com.library.dto.MemberDTO;
+import com.library.event.ChangeType;
+import com.library.event.OutboxEvent;
+import com.library.event.OutboxEventConsumer;
+import com.library.repository.OutboxRepository;
+import com.library.service.AuthorService;
+import com.library.service.BookService;
+import com.library.service.LoanService;
+import com.library.service.MemberService;
+import com.library.service.OutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the transactional outbox.
+ * Changes entities through the services, relays the outbox and verifies what the consumers receive.
+ * Uses H2 in-memory database; the scheduled relay is disabled, the tests relay explicitly.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxdb;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "library.loans.single-statement-admission=false",
+        "library.outbox.enabled=true",
+        "library.outbox.relay.enabled=false",
+        "library.outbox.relay.max-attempts=3",
+        "library.outbox.relay.backoff=PT0S"
+})
+class OutboxIntegrationTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private RecordingConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay.relay();
+        outboxRepository.deleteAll();
+        consumer.reset();
+    }
+
+    /**
+     * Tests that committed changes of all entity types are relayed once and removed from the outbox.
+     *
+     * Test scenario:
+     * 1. Create an author, a book and a member, lend the book and return it
+     * 2. Relay the outbox
+     * 3. Expect one event per change, the loan's creation before its return, and an empty outbox
+     */
+    @Test
+    void relay_DeliversCommittedChanges() {
+        // Arrange
+        LoanDTO loan = lendBook("relay");
+
+        // Act
+        long delivered = outboxRelay.relay();
+
+        // Assert
+        assertEquals(5, delivered);
+        assertEquals(List.of("author:CREATED", "book:CREATED", "member:CREATED", "loan:CREATED", "loan:UPDATED"),
+                consumer.received().stream().map(e -> e.aggregateType() + ":" + e.type()).toList());
+        OutboxEvent returned = consumer.received().get(4);
+        assertEquals(loan.getId(), returned.aggregateId());
+        assertTrue(returned.payload().contains("\"returnDate\":\""));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    /**
+     * Tests that a failed delivery is retried and holds back later events of the same aggregate.
+     *
+     * Test scenario:
+     * 1. Lend a book and return it while the consumer rejects loan events
+     * 2. Relay: the loan creation fails, its return is not attempted
+     * 3. Accept loan events again and relay: creation and return are delivered in order
+     */
+    @Test
+    void relay_WhenConsumerFails_RetriesInOrder() {
+        // Arrange
+        consumer.rejectLoans(true);
+        LoanDTO loan = lendBook("retry");
+
+        // Act
+        outboxRelay.relay();
+        List<OutboxEvent> firstRun = consumer.received();
+        consumer.rejectLoans(false);
+        outboxRelay.relay();
+
+        // Assert
+        assertTrue(firstRun.stream().noneMatch(e -> e.aggregateType().equals("loan")));
+        List<ChangeType> loanEvents = consumer.received().stream()
+                .filter(e -> e.aggregateType().equals("loan") && e.aggregateId() == loan.getId())
+                .map(OutboxEvent::type)
+                .toList();
+        assertEquals(List.of(ChangeType.CREATED, ChangeType.UPDATED), loanEvents);
+        assertEquals(0, outboxRepository.count());
+    }
+
+    /**
+     * Tests that an event failing too often is parked and no longer holds back its aggregate.
+     *
+     * Test scenario:
+     * 1. Lend a book and return it while the consumer rejects loan events
+     * 2. Relay three times, the maximum number of attempts: the loan creation is parked as dead letter
+     * 3. Accept loan events again and relay: only the return is delivered, the dead letter stays
+     */
+    @Test
+    void relay_WhenAttemptsExhausted_ParksDeadLetter() {
+        // Arrange
+        consumer.rejectLoans(true);
+        LoanDTO loan = lendBook("dead");
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            outboxRelay.relay();
+        }
+        consumer.rejectLoans(false);
+        outboxRelay.relay();
+
+        // Assert
+        List<ChangeType> loanEvents = consumer.received().stream()
+                .filter(e -> e.aggregateType().equals("loan") && e.aggregateId() == loan.getId())
+                .map(OutboxEvent::type)
+                .toList();
+        assertEquals(List.of(ChangeType.UPDATED), loanEvents);
+        assertEquals(1, outboxRepository.countByDeadLetterTrue());
+        assertEquals(1, outboxRepository.count());
+    }
+
+    private LoanDTO lendBook(String name) {
+        AuthorDTO author = authorService.createAuthor(new AuthorDTO(null, name + " Author", LocalDate.of(1960, 5, 1)));
+        BookDTO book = bookService.createBook(new BookDTO(null, name + " Book", "Fiction",
+                new BigDecimal("9.99"), author.getId()));
+        MemberDTO member = memberService.createMember(new MemberDTO(null, name, name + "@example.com",
+                "1 Outbox Street", "+1234567890"));
+        LoanDTO loan = loanService.createLoan(new LoanDTO(null, member.getId(), book.getId(), null, null, null));
+        loanService.returnBook(loan.getId());
+        return loan;
+    }
+
+    @TestConfiguration
+    static class ConsumerConfig {
+        @Bean
+        RecordingConsumer recordingConsumer() {
+            return new RecordingConsumer();
+        }
+    }
+
+    /**
+     * Records the delivered events; rejects loan events on request.
+     */
+    static class RecordingConsumer implements OutboxEventConsumer {
+        private final List<OutboxEvent> events = new ArrayList<>();
+        private volatile boolean rejectLoans;
+
+        @Override
+        public synchronized void accept(OutboxEvent event) {
+            if (rejectLoans && event.aggregateType().equals("loan")) {
+                throw new IllegalStateException("Loan events rejected");
+            }
+            events.add(event);
+        }
+
+        synchronized List<OutboxEvent> received() {
+            return List.copyOf(events);
+        }
+
+        synchronized void reset() {
+            events.clear();
+            rejectLoans = false;
+        }
+
+        void rejectLoans(boolean reject) {
+            this.rejectLoans = reject;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.library.integration;
+
+import com.jayway.jsonpath.JsonPath;
+import com.library.domain.Author;
+import com.library.domain.Book;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the reactive catalog endpoints.
+ * Reads books and authors written through JPA back through R2DBC.
+ * Uses one H2 in-memory database for both the JDBC DataSource and the R2DBC pool.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivedb;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "library.reactive.r2dbc.url=r2dbc:h2:mem:///reactivedb?options=DB_CLOSE_DELAY=-1"
+})
+class ReactiveCatalogIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Author author;
+
+    /**
+     * Creates an author with three books, unless a previous test already did.
+     */
+    @BeforeEach
+    void setUp() {
+        author = authorRepository.findAll().stream().findFirst().orElseGet(() -> {
+            Author created = new Author();
+            created.setName("Reactive Author");
+            created.setDateOfBirth(LocalDate.of(1975, 3, 1));
+            created = authorRepository.save(created);
+            for (String title : new String[] {"Charlie", "Alpha", "Bravo"}) {
+                Book book = new Book();
+                book.setTitle(title);
+                book.setGenre("Fiction");
+                book.setPrice(new BigDecimal("15.00"));
+                book.setAuthor(created);
+                bookRepository.save(book);
+            }
+            return created;
+        });
+    }
+
+    /**
+     * Tests paging books by title across two pages.
+     */
+    @Test
+    void getBooks_ReturnsPagesInTitleOrder() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/reactive/books?size=2&sort=title"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].title").value("Alpha"))
+                .andExpect(jsonPath("$.items[1].title").value("Bravo"))
+                .andExpect(jsonPath("$.items[0].authorId").value(author.getId()))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(body, "$.nextCursor");
+
+        MvcResult second = mockMvc.perform(get("/api/reactive/books?size=2&sort=title&cursor=" + cursor))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].title").value("Charlie"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    /**
+     * Tests author lookups and the not found error of the blocking endpoints.
+     */
+    @Test
+    void getAuthor_ReturnsAuthorOrNotFound() throws Exception {
+        MvcResult found = mockMvc.perform(get("/api/reactive/authors/" + author.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(found))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Reactive Author"))
+                .andExpect(jsonPath("$.dateOfBirth").value("1975-03-01"));
+
+        MvcResult missing = mockMvc.perform(get("/api/reactive/authors/999999"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(missing))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests streaming all books as NDJSON.
+     */
+    @Test
+    void streamBooks_WritesOneLinePerBook() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/books/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5000);
+
+        String body = result.getResponse().getContentAsString();
+        assertEquals(3, body.lines().filter(line -> line.startsWith("{")).count());
+    }
+}
@@ -0,0 +1,94 @@
+package com.library.integration;
+
+import com.library.domain.Author;
+import com.library.domain.Book;
+import com.library.dto.BookDTO;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for the DTO projection read queries.
+ * Reads the same page of books once by loading managed entities and copying their fields,
+ * and once with the constructor expression query of the repository. Their allocation and
+ * latency are compared by ReadProjectionBenchmark in src/jmh.
+ * Uses H2 in-memory database.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:projectiondb;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class ReadProjectionIntegrationTest {
+
+    private static final int BOOKS = 250;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Creates the books to page through, once for all tests.
+     */
+    @BeforeEach
+    void setUp() {
+        if (bookRepository.count() >= BOOKS) {
+            return;
+        }
+        Author author = new Author();
+        author.setName("Projection Author");
+        author.setDateOfBirth(LocalDate.of(1970, 1, 1));
+        Long authorId = authorRepository.save(author).getId();
+
+        List<BookDTO> books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(new BookDTO(null, "Projection Book " + i, "Fiction", new BigDecimal("9.99"), authorId));
+        }
+        transactionTemplate.executeWithoutResult(status -> bookRepository.insertBooks(books));
+    }
+
+    /**
+     * Tests that the DTO projection returns the same page of books as entity hydration.
+     */
+    @Test
+    void findPage_ProjectionMatchesEntityPath() {
+        List<BookDTO> entities = transactionTemplate.execute(status -> entityManager
+                .createQuery("select b from Book b where b.id > :afterId order by b.id", Book.class)
+                .setParameter("afterId", 0L)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList().stream()
+                .map(book -> new BookDTO(book.getId(), book.getTitle(), book.getGenre(), book.getPrice(),
+                        book.getAuthor().getId()))
+                .toList());
+        List<BookDTO> projection = transactionTemplate.execute(status ->
+                bookRepository.findPageOrderById(0L, PageRequest.of(0, PAGE_SIZE)));
+
+        assertEquals(PAGE_SIZE, projection.size());
+        assertEquals(entities, projection);
+    }
+}
@@ -87,6 +87,7 @@ class LoanRepositoryTest {
         loan.setMember(member);
         loan.setBook(book);
         loan.setLendDate(LocalDate.now());
+        loan.setDueDate(LocalDate.now().plusDays(14));
         loanRepository.save(loan);
 
         // Act
@@ -112,6 +113,7 @@ class LoanRepositoryTest {
         loan.setMember(member);
         loan.setBook(book);
         loan.setLendDate(LocalDate.now());
+        loan.setDueDate(LocalDate.now().plusDays(14));
         loanRepository.save(loan);
 
         // Act & Assert
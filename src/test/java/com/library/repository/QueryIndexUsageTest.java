@@ -0,0 +1,359 @@
+package com.library.repository;
+
+import com.library.dto.LoanDTO;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the repository queries on the hot paths are served by an index.
+ * Runs against PostgreSQL with the schema of the Flyway migrations, validated by Hibernate.
+ * Each repository method is executed once to capture the SQL Hibernate generates for it;
+ * the generic plan of that SQL must use an index even with sequential scans discouraged.
+ * The PostgreSQL-only single-statement loan admission is also run here, once for each of its outcomes.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.library.repository.QueryIndexUsageTest$CapturedStatements")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryIndexUsageTest {
+
+    // EXPLAIN (GENERIC_PLAN) needs PostgreSQL 16
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // The tables are empty, a sequential scan would otherwise always be cheapest
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void loanQueries_UseIndex() {
+        assertAll(
+                usesIndex("countByMemberIdAndReturnDateIsNull",
+                        () -> loanRepository.countByMemberIdAndReturnDateIsNull(1L)),
+                usesIndex("existsByBookIdAndReturnDateIsNull",
+                        () -> loanRepository.existsByBookIdAndReturnDateIsNull(1L)),
+                usesIndex("findByMemberIdAndReturnDateIsNull",
+                        () -> loanRepository.findByMemberIdAndReturnDateIsNull(1L)),
+                usesIndex("findLoanedBookIds",
+                        () -> loanRepository.findLoanedBookIds(List.of(1L, 2L))),
+                usesIndex("countActiveLoansByMemberIds",
+                        () -> loanRepository.countActiveLoansByMemberIds(List.of(1L, 2L))),
+                usesIndex("findDtoById",
+                        () -> loanRepository.findDtoById(1L))
+        );
+    }
+
+    @Test
+    void catalogQueries_UseIndex() {
+        assertAll(
+                usesIndex("existsByTitleAndAuthorId",
+                        () -> bookRepository.existsByTitleAndAuthorId("Title", 1L)),
+                usesIndex("findByTitleAndAuthorId",
+                        () -> bookRepository.findByTitleAndAuthorId("Title", 1L)),
+                usesIndex("findExistingKeys",
+                        () -> bookRepository.findExistingKeys(List.of(1L), List.of("Title"))),
+                usesIndex("book findPageOrderByTitle",
+                        () -> bookRepository.findPageOrderByTitle("", 0L, PageRequest.of(0, 20))),
+                usesIndex("author findPageOrderByName",
+                        () -> authorRepository.findPageOrderByName("", 0L, PageRequest.of(0, 20))),
+                usesIndex("findByNameIn",
+                        () -> authorRepository.findByNameIn(List.of("Name")))
+        );
+    }
+
+    @Test
+    void memberQueries_UseIndex() {
+        assertAll(
+                usesIndex("existsByUsername", () -> memberRepository.existsByUsername("user")),
+                usesIndex("existsByEmail", () -> memberRepository.existsByEmail("user@example.com")),
+                usesIndex("member findPageOrderByUsername",
+                        () -> memberRepository.findPageOrderByUsername("", 0L, PageRequest.of(0, 20)))
+        );
+    }
+
+    @Test
+    void outboxQueries_UseIndex() {
+        assertAll(
+                usesIndex("lockNextBatch", () -> outboxRepository.lockNextBatch(200, Instant.now())),
+                usesIndex("findFirstByDeadLetterFalseOrderByIdAsc",
+                        () -> outboxRepository.findFirstByDeadLetterFalseOrderByIdAsc()),
+                usesIndex("countByDeadLetterTrue", () -> outboxRepository.countByDeadLetterTrue())
+        );
+    }
+
+    /**
+     * Tests each outcome of the single-statement loan admission, in the order of its checks.
+     *
+     * Test scenario:
+     * 1. Create an author with two books and two members
+     * 2. Admit loans for an unknown member, an unknown book, an available book, the now loaned book
+     *    and, with a limit of one active loan, a second book for the first member
+     * 3. Expect the matching outcome each time, and a loan ID only for the admitted loan
+     */
+    @Test
+    void admitLoan_ReturnsEachOutcome() {
+        // Arrange
+        long authorId = insertAuthor("Admission Author");
+        long bookId = insertBook("Admission Book", authorId);
+        long secondBookId = insertBook("Second Admission Book", authorId);
+        long memberId = insertMember("admission");
+        long secondMemberId = insertMember("second-admission");
+        LocalDate today = LocalDate.now();
+
+        // Act
+        LoanAdmission unknownMember = loanRepository.admitLoan(-1L, bookId, today, today.plusDays(14), 5);
+        LoanAdmission unknownBook = loanRepository.admitLoan(memberId, -1L, today, today.plusDays(14), 5);
+        LoanAdmission admitted = loanRepository.admitLoan(memberId, bookId, today, today.plusDays(14), 5);
+        LoanAdmission loaned = loanRepository.admitLoan(secondMemberId, bookId, today, today.plusDays(14), 5);
+        LoanAdmission limit = loanRepository.admitLoan(memberId, secondBookId, today, today.plusDays(14), 1);
+
+        // Assert
+        assertAdmission(LoanAdmission.MEMBER_NOT_FOUND, unknownMember);
+        assertAdmission(LoanAdmission.BOOK_NOT_FOUND, unknownBook);
+        assertEquals(LoanAdmission.ADMITTED, admitted.getOutcome());
+        assertNotNull(admitted.getLoanId());
+        assertEquals(bookId, jdbcTemplate.queryForObject(
+                "SELECT book_id FROM loan WHERE id = ? AND return_date IS NULL", Long.class, admitted.getLoanId()));
+        assertAdmission(LoanAdmission.BOOK_LOANED, loaned);
+        assertAdmission(LoanAdmission.LIMIT_REACHED, limit);
+    }
+
+    /**
+     * Tests the bulk insert that skips books with an active loan instead of failing.
+     *
+     * Test scenario:
+     * 1. Create an author with two books and a member, and lend the first book
+     * 2. Insert loans of both books in one statement
+     * 3. Expect the first loan skipped without ID and the second inserted with its ID
+     */
+    @Test
+    void insertAvailableLoans_SkipsLoanedBooks() {
+        // Arrange
+        long authorId = insertAuthor("Bulk Author");
+        long loanedBookId = insertBook("Loaned Bulk Book", authorId);
+        long availableBookId = insertBook("Available Bulk Book", authorId);
+        long memberId = insertMember("bulk");
+        LocalDate today = LocalDate.now();
+        assertNotNull(loanRepository.admitLoan(memberId, loanedBookId, today, today.plusDays(14), 5).getLoanId());
+        LoanDTO loaned = new LoanDTO(null, memberId, loanedBookId, today, today.plusDays(14), null);
+        LoanDTO available = new LoanDTO(null, memberId, availableBookId, today, today.plusDays(14), null);
+
+        // Act
+        List<LoanDTO> skipped = loanRepository.insertAvailableLoans(List.of(loaned, available));
+
+        // Assert
+        assertEquals(List.of(loaned), skipped);
+        assertNull(loaned.getId());
+        assertNotNull(available.getId());
+        assertEquals(availableBookId, jdbcTemplate.queryForObject(
+                "SELECT book_id FROM loan WHERE id = ? AND return_date IS NULL", Long.class, available.getId()));
+    }
+
+    /**
+     * Tests the admission of a book loaned by a concurrent transaction after the statement's snapshot.
+     * The checks pass, and the insert waits for the concurrent loan on the unique index of active loans;
+     * once that commits, the insert is skipped and the outcome stays ADMITTED without a loan ID.
+     * Runs outside the test transaction, as both transactions must see the committed member and book.
+     *
+     * Test scenario:
+     * 1. Commit an author, a book and a member
+     * 2. Insert a loan of the book on a second connection, without committing
+     * 3. Admit a loan of the book, wait until it blocks on the uncommitted loan, commit that loan
+     * 4. Expect ADMITTED without a loan ID, and a single active loan of the book
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void admitLoan_WhenBookLoanedConcurrently_AdmitsWithoutLoan() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long authorId = transaction.execute(status -> insertAuthor("Concurrent Admission Author"));
+        long bookId = transaction.execute(status -> insertBook("Concurrent Admission Book", authorId));
+        long memberId = transaction.execute(status -> insertMember("concurrent-admission"));
+        LocalDate today = LocalDate.now();
+        try (Connection concurrent = dataSource.getConnection()) {
+            // Arrange
+            concurrent.setAutoCommit(false);
+            try (PreparedStatement insert = concurrent.prepareStatement("INSERT INTO loan "
+                    + "(member_id, book_id, lend_date, due_date) VALUES (?, ?, CURRENT_DATE, CURRENT_DATE + 14)")) {
+                insert.setLong(1, memberId);
+                insert.setLong(2, bookId);
+                insert.executeUpdate();
+            }
+
+            // Act
+            CompletableFuture<LoanAdmission> admission = CompletableFuture.supplyAsync(() -> transaction.execute(
+                    status -> loanRepository.admitLoan(memberId, bookId, today, today.plusDays(14), 5)));
+            awaitLockWait();
+            concurrent.commit();
+            LoanAdmission result = admission.get(10, TimeUnit.SECONDS);
+
+            // Assert
+            assertEquals(LoanAdmission.ADMITTED, result.getOutcome());
+            assertNull(result.getLoanId());
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM loan WHERE book_id = ? AND return_date IS NULL", Integer.class, bookId));
+        } finally {
+            jdbcTemplate.update("DELETE FROM loan WHERE book_id = ?", bookId);
+            jdbcTemplate.update("DELETE FROM member WHERE id = ?", memberId);
+            jdbcTemplate.update("DELETE FROM book WHERE id = ?", bookId);
+            jdbcTemplate.update("DELETE FROM author WHERE id = ?", authorId);
+        }
+    }
+
+    private static void assertAdmission(String outcome, LoanAdmission admission) {
+        assertEquals(outcome, admission.getOutcome());
+        assertNull(admission.getLoanId(), outcome + " inserted a loan");
+    }
+
+    private long insertAuthor(String name) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO author (name, date_of_birth) VALUES (?, DATE '1960-05-01') RETURNING id", Long.class, name);
+    }
+
+    private long insertBook(String title, long authorId) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO book (title, genre, price, author_id) VALUES (?, 'Fiction', 9.99, ?) RETURNING id",
+                Long.class, title, authorId);
+    }
+
+    private long insertMember(String username) {
+        return jdbcTemplate.queryForObject("INSERT INTO member (username, email, address, phone_number) "
+                + "VALUES (?, ?, '1 Admission Street', '+1234567890') RETURNING id",
+                Long.class, username, username + "@example.com");
+    }
+
+    /**
+     * Waits until a session of the test database waits for a lock, at most ten seconds.
+     */
+    private void awaitLockWait() throws InterruptedException, SQLException {
+        for (int i = 0; i < 200; i++) {
+            Integer waiting = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity "
+                    + "WHERE datname = current_database() AND wait_event_type = 'Lock'", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new SQLException("Admission did not wait for the concurrent loan");
+    }
+
+    /**
+     * Runs the query and checks the plan of the SQL it executed.
+     */
+    private Executable usesIndex(String name, Runnable query) {
+        return () -> {
+            CapturedStatements.clear();
+            query.run();
+            String sql = CapturedStatements.last();
+            assertNotNull(sql, name + " executed no SQL");
+
+            String plan = String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN (GENERIC_PLAN) " + numberParameters(sql), String.class));
+            assertTrue(plan.contains("Index"), name + " uses no index:\n" + sql + "\n" + plan);
+            assertFalse(plan.contains("Seq Scan"), name + " scans a whole table:\n" + sql + "\n" + plan);
+        };
+    }
+
+    /**
+     * Replaces the JDBC parameter markers by the numbered parameters PostgreSQL expects.
+     */
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    /**
+     * Records the SQL statements Hibernate prepares.
+     */
+    public static class CapturedStatements implements StatementInspector {
+        private static final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (statements) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+
+        static void clear() {
+            synchronized (statements) {
+                statements.clear();
+            }
+        }
+
+        static String last() {
+            synchronized (statements) {
+                return statements.isEmpty() ? null : statements.get(statements.size() - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.library.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the AvailabilityBroadcaster class.
+ * Uses emitters that record or block their writes instead of writing to a response.
+ */
+class AvailabilityBroadcasterTest {
+
+    private SimpleMeterRegistry registry;
+    private AvailabilityBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // One sender thread, so a stalled write holds up every other subscriber until it is dropped
+        broadcaster = new AvailabilityBroadcaster(registry, 1, Duration.ofMinutes(30), 256, 4096,
+                Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    /**
+     * Tests that a subscriber blocked in a write is dropped at the heartbeat and the others are served.
+     *
+     * Test scenario:
+     * 1. Subscribe a client whose first write blocks the only sender thread
+     * 2. Subscribe a second client and lend book 5
+     * 3. Run the heartbeat after the send timeout
+     * 4. Expect the stalled write interrupted and the second client to receive the change
+     */
+    @Test
+    void heartbeat_WhenWriteStalled_DropsSubscriberAndServesOthers() throws Exception {
+        // Arrange
+        StalledEmitter stalledEmitter = new StalledEmitter();
+        broadcaster.subscribe(stalledEmitter, null);
+        assertTrue(stalledEmitter.writing.await(5, TimeUnit.SECONDS));
+        RecordingEmitter recordingEmitter = new RecordingEmitter();
+        broadcaster.subscribe(recordingEmitter, null);
+        broadcaster.publish(5L, false);
+
+        // Act
+        Thread.sleep(200);
+        broadcaster.heartbeat();
+
+        // Assert
+        assertTrue(stalledEmitter.interrupted.await(5, TimeUnit.SECONDS));
+        String event = recordingEmitter.events.poll(5, TimeUnit.SECONDS);
+        while (event != null && !event.contains("event:availability")) {
+            event = recordingEmitter.events.poll(5, TimeUnit.SECONDS);
+        }
+        assertNotNull(event, "Change not delivered to the subscriber behind the stalled one");
+        assertEquals(1.0, registry.get("library.availability.stalled").counter().count());
+        assertEquals(1.0, registry.get("library.availability.subscribers").gauge().value());
+    }
+
+    /**
+     * Emitter whose writes block until the sender thread is interrupted, like a client that stopped reading.
+     */
+    private static class StalledEmitter extends SseEmitter {
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writing.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+                throw new InterruptedIOException("Write interrupted");
+            }
+        }
+    }
+
+    /**
+     * Emitter recording the text of every event written to it.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(data -> String.valueOf(data.getData()))
+                    .collect(Collectors.joining()));
+        }
+    }
+}
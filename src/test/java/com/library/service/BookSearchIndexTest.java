@@ -0,0 +1,142 @@
+package com.library.service;
+
+import com.library.dto.AuthorDTO;
+import com.library.dto.BookDTO;
+import com.library.dto.BookFacetsDTO;
+import com.library.dto.BookSearchResultDTO;
+import com.library.dto.FacetCountDTO;
+import com.library.event.AuthorChangedEvent;
+import com.library.event.BookChangedEvent;
+import com.library.event.ChangeType;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import com.library.repository.SearchableAuthor;
+import com.library.repository.SearchableBook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the BookSearchIndex class.
+ * Tests tokenization, prefix matching, ranking, facet counts and incremental updates of the index.
+ * Uses Mockito for mocking the repositories and transaction manager.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookSearchIndex bookSearchIndex;
+
+    /**
+     * Sets up an index rebuilt from two authors and three books.
+     */
+    @BeforeEach
+    void setUp() {
+        when(authorRepository.streamSearchable()).thenReturn(Stream.of(
+                new SearchableAuthor(1L, "Kurt G\u00f6del"),
+                new SearchableAuthor(2L, "Douglas Hofstadter")));
+        when(bookRepository.streamSearchable()).thenReturn(Stream.of(
+                new SearchableBook(10L, "On Formally Undecidable Propositions", "Logic", BigDecimal.TEN, 1L),
+                new SearchableBook(11L, "G\u00f6del, Escher, Bach", "Philosophy", BigDecimal.TEN, 2L),
+                new SearchableBook(12L, "Metamagical Themas", "Essays", BigDecimal.TEN, 2L)));
+        bookSearchIndex = new BookSearchIndex(bookRepository, authorRepository, transactionManager);
+        bookSearchIndex.afterSingletonsInstantiated();
+    }
+
+    /**
+     * Tests that a title match ranks above an author name match and that diacritics are ignored.
+     */
+    @Test
+    void search_RanksTitleMatchesFirst() {
+        List<BookSearchResultDTO> hits = bookSearchIndex.search("godel", 10);
+
+        assertEquals(List.of(11L, 10L), hits.stream().map(BookSearchResultDTO::getId).toList());
+        assertEquals("Douglas Hofstadter", hits.get(0).getAuthorName());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    /**
+     * Tests that every query term must match, exactly or as a prefix.
+     */
+    @Test
+    void search_MatchesAllTermsByPrefix() {
+        assertEquals(List.of(12L), ids(bookSearchIndex.search("hofst META", 10)));
+        assertEquals(List.of(), ids(bookSearchIndex.search("hofstadter logic", 10)));
+        assertEquals(List.of(), ids(bookSearchIndex.search("  ,. ", 10)));
+    }
+
+    /**
+     * Tests that committed book and author changes are applied incrementally.
+     */
+    @Test
+    void changeEvents_UpdateIndex() {
+        BookDTO book = new BookDTO();
+        book.setId(13L);
+        book.setTitle("I Am a Strange Loop");
+        book.setGenre("Philosophy");
+        book.setPrice(BigDecimal.ONE);
+        book.setAuthorId(2L);
+        bookSearchIndex.onBookChanged(new BookChangedEvent(ChangeType.CREATED, book, "Douglas Hofstadter"));
+        assertEquals(List.of(13L), ids(bookSearchIndex.search("strange", 10)));
+
+        AuthorDTO author = new AuthorDTO();
+        author.setId(2L);
+        author.setName("Douglas R. Hofstadter");
+        bookSearchIndex.onAuthorChanged(new AuthorChangedEvent(ChangeType.UPDATED, author));
+        assertEquals(3, bookSearchIndex.search("douglas r", 10).size());
+
+        bookSearchIndex.onAuthorChanged(new AuthorChangedEvent(ChangeType.DELETED, author));
+        assertEquals(List.of(10L), ids(bookSearchIndex.search("go", 10)));
+    }
+
+    /**
+     * Tests that facet counts follow book changes and that each facet is filtered by the other one.
+     */
+    @Test
+    void facets_FilterByOtherFacet() {
+        BookDTO book = new BookDTO();
+        book.setId(13L);
+        book.setTitle("I Am a Strange Loop");
+        book.setGenre("Philosophy");
+        book.setPrice(new BigDecimal("55.50"));
+        book.setAuthorId(2L);
+        bookSearchIndex.onBookChanged(new BookChangedEvent(ChangeType.CREATED, book, null));
+
+        BookFacetsDTO all = bookSearchIndex.facets(List.of(), List.of());
+        assertEquals(4, all.getTotal());
+        assertEquals(new FacetCountDTO("Philosophy", 2), all.getGenres().get(0));
+        assertEquals(new FacetCountDTO("10-20", 3), all.getPrices().get(1));
+
+        BookFacetsDTO filtered = bookSearchIndex.facets(List.of("Philosophy"), List.of("50-100"));
+        assertEquals(1, filtered.getTotal());
+        assertEquals(List.of(new FacetCountDTO("Philosophy", 1)), filtered.getGenres());
+        assertEquals(new FacetCountDTO("10-20", 1), filtered.getPrices().get(1));
+        assertEquals(new FacetCountDTO("50-100", 1), filtered.getPrices().get(3));
+
+        bookSearchIndex.onBookChanged(new BookChangedEvent(ChangeType.DELETED, book, null));
+        assertEquals(0, bookSearchIndex.facets(List.of(), List.of("50-100")).getTotal());
+    }
+
+    private static List<Long> ids(List<BookSearchResultDTO> hits) {
+        return hits.stream().map(BookSearchResultDTO::getId).toList();
+    }
+}
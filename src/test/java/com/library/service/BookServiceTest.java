@@ -4,6 +4,7 @@ import com.library.domain.Author;
 import com.library.domain.Book;
 import com.library.dto.AuthorDTO;
 import com.library.dto.BookDTO;
+import com.library.exception.BusinessException;
 import com.library.repository.AuthorRepository;
 import com.library.repository.BookRepository;
 import org.junit.jupiter.api.Test;
@@ -11,11 +12,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import java.math.BigDecimal;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -32,6 +38,9 @@ class BookServiceTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookService bookService;
 
@@ -75,4 +84,80 @@ class BookServiceTest {
         assertEquals("Test Book", result.getTitle());
         assertEquals("Fiction", result.getGenre());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests book creation with a title the author already has.
+     * Verifies:
+     * - BusinessException is thrown
+     * - The book is not saved
+     *
+     * Test steps:
+     * 1. Configure the author and an existing book with the same title
+     * 2. Call service method
+     * 3. Verify exception and that nothing was saved
+     */
+    @Test
+    void createBook_DuplicateTitle_ThrowsBusinessException() {
+        // Arrange
+        BookDTO bookDTO = new BookDTO();
+        bookDTO.setTitle("Test Book");
+        bookDTO.setGenre("Fiction");
+        bookDTO.setPrice(new BigDecimal("29.99"));
+        bookDTO.setAuthorId(1L);
+
+        Author author = new Author();
+        author.setId(1L);
+
+        when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+        when(bookRepository.existsByTitleAndAuthorId("Test Book", 1L)).thenReturn(true);
+
+        // Act & Assert
+        BusinessException ex = assertThrows(BusinessException.class, () ->
+                bookService.createBook(bookDTO)
+        );
+        assertEquals("A book with this title already exists for this author", ex.getMessage());
+        verify(bookRepository, never()).save(any(Book.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Tests renaming a book to a title the author already has.
+     * Verifies:
+     * - BusinessException is thrown
+     * - The book is not saved
+     *
+     * Test steps:
+     * 1. Configure the book, its author and another book with the new title
+     * 2. Call service method
+     * 3. Verify exception and that nothing was saved
+     */
+    @Test
+    void updateBook_DuplicateTitle_ThrowsBusinessException() {
+        // Arrange
+        Author author = new Author();
+        author.setId(1L);
+
+        Book book = new Book();
+        book.setId(1L);
+        book.setTitle("Old Title");
+        book.setAuthor(author);
+
+        BookDTO bookDTO = new BookDTO();
+        bookDTO.setTitle("Taken Title");
+        bookDTO.setGenre("Fiction");
+        bookDTO.setPrice(new BigDecimal("29.99"));
+        bookDTO.setAuthorId(1L);
+
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(authorRepository.findById(1L)).thenReturn(Optional.of(author));
+        when(bookRepository.existsByTitleAndAuthorId("Taken Title", 1L)).thenReturn(true);
+
+        // Act & Assert
+        BusinessException ex = assertThrows(BusinessException.class, () ->
+                bookService.updateBook(1L, bookDTO)
+        );
+        assertEquals("A book with this title already exists for this author", ex.getMessage());
+        verify(bookRepository, never()).save(any(Book.class));
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -2,10 +2,15 @@ package com.library.service;
 
 import com.library.domain.Book;
 import com.library.domain.Member;
+import com.library.dto.BatchLoanResultDTO;
 import com.library.dto.LoanDTO;
 import com.library.exception.BusinessException;
+import com.library.exception.ResourceNotFoundException;
+import com.library.repository.ArchivedLoanRepository;
 import com.library.repository.BookRepository;
+import com.library.repository.LoanAdmission;
 import com.library.repository.LoanRepository;
+import com.library.repository.MemberLoanCount;
 import com.library.repository.MemberRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,12 +18,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Period;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -33,12 +54,27 @@ class LoanServiceTest {
     @Mock
     private LoanRepository loanRepository;
 
+    @Mock
+    private ArchivedLoanRepository archivedLoanRepository;
+
     @Mock
     private MemberRepository memberRepository;
 
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private LoanStateIndex loanStateIndex;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LoanMetrics loanMetrics;
+
     @InjectMocks
     private LoanService loanService;
 
@@ -70,6 +106,12 @@ class LoanServiceTest {
         loanDTO = new LoanDTO();
         loanDTO.setMemberId(1L);
         loanDTO.setBookId(1L);
+
+        ReflectionTestUtils.setField(loanService, "loanPeriod", Period.ofDays(14));
+
+        // Run transaction callbacks directly
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     /**
@@ -85,8 +127,10 @@ class LoanServiceTest {
     @Test
     void createLoan_WhenMemberHasFiveBooks_ThrowsException() {
         // Arrange
-        when(memberRepository.findById(1L))
+        when(memberRepository.findByIdForUpdate(1L))
                 .thenReturn(Optional.of(member));
+        when(bookRepository.findByIdForUpdate(1L))
+                .thenReturn(Optional.of(book));
         when(loanRepository.countByMemberIdAndReturnDateIsNull(1L))
                 .thenReturn(5L);
 
@@ -104,17 +148,15 @@ class LoanServiceTest {
      * 1. Member exists and has available loan slots
      * 2. Book exists but is already loaned
      * 3. Attempt to create loan
-     * 4. Expect BusinessException
+     * 4. Expect BusinessException and the rejection to be counted
      */
     @Test
     void createLoan_WhenBookAlreadyLoaned_ThrowsException() {
         // Arrange
-        when(memberRepository.findById(1L))
+        when(memberRepository.findByIdForUpdate(1L))
                 .thenReturn(Optional.of(member));
-        when(bookRepository.findById(1L))
+        when(bookRepository.findByIdForUpdate(1L))
                 .thenReturn(Optional.of(book));
-        when(loanRepository.countByMemberIdAndReturnDateIsNull(1L))
-                .thenReturn(0L);
         when(loanRepository.existsByBookIdAndReturnDateIsNull(1L))
                 .thenReturn(true);
 
@@ -122,5 +164,181 @@ class LoanServiceTest {
         assertThrows(BusinessException.class, () ->
                 loanService.createLoan(loanDTO)
         );
+        verify(loanMetrics).loanRejected(LoanMetrics.BOOK_LOANED);
+    }
+
+    /**
+     * Tests bulk checkout when the batch would exceed the loan limit.
+     * Verifies that earlier items of the batch count towards the 5-book limit.
+     *
+     * Test scenario:
+     * 1. Member exists and already has 4 active loans
+     * 2. Both requested books exist and are available
+     * 3. Attempt to check out both books in one batch
+     * 4. Expect the first item to succeed and the second to be rejected
+     */
+    @Test
+    void createLoans_WhenBatchExceedsLimit_RejectsExcessItems() {
+        // Arrange
+        LoanDTO second = new LoanDTO();
+        second.setMemberId(1L);
+        second.setBookId(2L);
+        Book secondBook = new Book();
+        secondBook.setId(2L);
+
+        when(memberRepository.findAllByIdForUpdate(anyCollection()))
+                .thenReturn(List.of(member));
+        when(bookRepository.findAllByIdForUpdate(anyCollection()))
+                .thenReturn(List.of(book, secondBook));
+        when(loanRepository.findLoanedBookIds(anyCollection()))
+                .thenReturn(List.of());
+        when(loanRepository.countActiveLoansByMemberIds(anyCollection()))
+                .thenReturn(List.of(new MemberLoanCount(1L, 4L)));
+
+        // Act
+        List<BatchLoanResultDTO> results = loanService.createLoans(List.of(loanDTO, second));
+
+        // Assert
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Member has reached the maximum limit of 5 books", results.get(1).getError());
+    }
+
+    /**
+     * Tests bulk checkout when a concurrent single-statement admission loans a book of the batch
+     * after the availability check.
+     * Verifies that the skipped item is reported as loaned instead of failing the whole batch.
+     *
+     * Test scenario:
+     * 1. Single-statement admission is enabled
+     * 2. Member and book exist, the book is available when checked
+     * 3. The insert skips the loan because the book was loaned in the meantime
+     * 4. Expect the item to be rejected as loaned and no loan event
+     */
+    @Test
+    void createLoans_WhenBookLoanedConcurrently_RejectsItem() {
+        // Arrange
+        ReflectionTestUtils.setField(loanService, "singleStatementAdmission", true);
+        when(memberRepository.findAllByIdForUpdate(anyCollection()))
+                .thenReturn(List.of(member));
+        when(bookRepository.findAllByIdForUpdate(anyCollection()))
+                .thenReturn(List.of(book));
+        when(loanRepository.findLoanedBookIds(anyCollection()))
+                .thenReturn(List.of());
+        when(loanRepository.countActiveLoansByMemberIds(anyCollection()))
+                .thenReturn(List.of());
+        when(loanRepository.insertAvailableLoans(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<BatchLoanResultDTO> results = loanService.createLoans(List.of(loanDTO));
+
+        // Assert
+        assertFalse(results.get(0).isSuccess());
+        assertEquals("Book is already loaned", results.get(0).getError());
+        verify(loanMetrics).loanRejected(LoanMetrics.BOOK_LOANED);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Tests loan creation when the loan state index rejects the loan.
+     * Verifies that the rejection is decided without any database access.
+     *
+     * Test scenario:
+     * 1. Loan state index is enabled
+     * 2. Index reports the book as already loaned
+     * 3. Attempt to create loan
+     * 4. Expect BusinessException and no repository or transaction use
+     */
+    @Test
+    void createLoan_WhenIndexRejects_DoesNotTouchDatabase() {
+        // Arrange
+        when(loanStateIndex.isEnabled()).thenReturn(true);
+        when(loanStateIndex.tryAdmit(1L, 1L)).thenReturn(LoanStateIndex.Admission.BOOK_LOANED);
+
+        // Act & Assert
+        BusinessException ex = assertThrows(BusinessException.class, () ->
+                loanService.createLoan(loanDTO)
+        );
+        assertEquals("Book is already loaned", ex.getMessage());
+        verifyNoInteractions(loanRepository, memberRepository, bookRepository, transactionTemplate);
+    }
+
+    /**
+     * Tests loan creation by an unknown member when the loan state index rejects the loan.
+     * Verifies that the missing member is reported as not found, as without the index,
+     * and without any database access.
+     *
+     * Test scenario:
+     * 1. Loan state index is enabled
+     * 2. Index does not know the member
+     * 3. Attempt to create loan
+     * 4. Expect ResourceNotFoundException for the member and no repository or transaction use
+     */
+    @Test
+    void createLoan_WhenIndexRejectsUnknownMember_ThrowsNotFound() {
+        // Arrange
+        when(loanStateIndex.isEnabled()).thenReturn(true);
+        when(loanStateIndex.tryAdmit(1L, 1L)).thenReturn(LoanStateIndex.Admission.MEMBER_NOT_FOUND);
+
+        // Act & Assert
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () ->
+                loanService.createLoan(loanDTO)
+        );
+        assertEquals("Member not found", ex.getMessage());
+        verifyNoInteractions(loanRepository, memberRepository, bookRepository, transactionTemplate);
+    }
+
+    /**
+     * Tests loan creation with the single-statement admission query.
+     * Verifies that the rejection reason of the query is mapped to the regular error message.
+     *
+     * Test scenario:
+     * 1. Single-statement admission is enabled
+     * 2. Member exists and is locked
+     * 3. Admission query reports the loan limit as reached
+     * 4. Expect BusinessException with the loan limit message
+     */
+    @Test
+    void createLoan_WhenSingleStatementAdmissionRejects_ThrowsException() {
+        // Arrange
+        ReflectionTestUtils.setField(loanService, "singleStatementAdmission", true);
+        LoanAdmission admission = mock(LoanAdmission.class);
+        when(admission.getOutcome()).thenReturn(LoanAdmission.LIMIT_REACHED);
+        when(memberRepository.findByIdForUpdate(1L))
+                .thenReturn(Optional.of(member));
+        when(loanRepository.admitLoan(eq(1L), eq(1L), any(), any(), eq(5)))
+                .thenReturn(admission);
+
+        // Act & Assert
+        BusinessException ex = assertThrows(BusinessException.class, () ->
+                loanService.createLoan(loanDTO)
+        );
+        assertEquals("Member has reached the maximum limit of 5 books", ex.getMessage());
+    }
+
+    /**
+     * Tests returning a loan that has already been moved to the loan archive.
+     * Verifies that the archived loan is reported as returned, not as unknown.
+     *
+     * Test scenario:
+     * 1. Loan is no longer in the loan table
+     * 2. Loan is in the loan archive
+     * 3. Attempt to return the loan
+     * 4. Expect BusinessException with the already returned message
+     */
+    @Test
+    void returnBook_WhenLoanArchived_ThrowsAlreadyReturned() {
+        // Arrange
+        when(loanRepository.findById(7L))
+                .thenReturn(Optional.empty());
+        when(archivedLoanRepository.existsById(7L))
+                .thenReturn(true);
+
+        // Act & Assert
+        BusinessException ex = assertThrows(BusinessException.class, () ->
+                loanService.returnBook(7L)
+        );
+        assertEquals("Book already returned", ex.getMessage());
     }
-}
\ No newline at end of file
+}
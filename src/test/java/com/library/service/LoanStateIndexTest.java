@@ -0,0 +1,130 @@
+package com.library.service;
+
+import com.library.dto.BookDTO;
+import com.library.dto.MemberDTO;
+import com.library.event.BookChangedEvent;
+import com.library.event.ChangeType;
+import com.library.event.MemberChangedEvent;
+import com.library.repository.ActiveLoan;
+import com.library.repository.BookRepository;
+import com.library.repository.LoanRepository;
+import com.library.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the LoanStateIndex class.
+ * Tests admission checks against the in-memory loan state.
+ * Uses Mockito for mocking the loan repository and transaction manager.
+ */
+@ExtendWith(MockitoExtension.class)
+class LoanStateIndexTest {
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LoanStateIndex loanStateIndex;
+
+    /**
+     * Sets up an enabled index rebuilt from members 1 to 3, eight books and two active loans of member 1.
+     */
+    @BeforeEach
+    void setUp() {
+        when(memberRepository.streamIds()).thenReturn(Stream.of(1L, 2L, 3L));
+        when(bookRepository.streamIds()).thenReturn(Stream.of(10L, 20L, 100L, 101L, 102L, 200L, 70_000L));
+        when(loanRepository.streamActiveLoans())
+                .thenReturn(Stream.of(new ActiveLoan(1L, 10L), new ActiveLoan(1L, 70_000L)));
+        loanStateIndex = new LoanStateIndex(loanRepository, memberRepository, bookRepository, transactionManager, true);
+        loanStateIndex.afterSingletonsInstantiated();
+    }
+
+    /**
+     * Tests that the rebuild restores loaned books and active loan counts.
+     */
+    @Test
+    void rebuild_RestoresActiveLoans() {
+        assertTrue(loanStateIndex.isLoaned(10L));
+        assertTrue(loanStateIndex.isLoaned(70_000L));
+        assertFalse(loanStateIndex.isLoaned(11L));
+        assertEquals(2, loanStateIndex.activeLoans(1L));
+    }
+
+    /**
+     * Tests admission of an available book and rejection of a loaned one.
+     */
+    @Test
+    void tryAdmit_WhenBookLoaned_RejectsSecondLoan() {
+        assertEquals(LoanStateIndex.Admission.ADMITTED, loanStateIndex.tryAdmit(2L, 20L));
+        assertEquals(LoanStateIndex.Admission.BOOK_LOANED, loanStateIndex.tryAdmit(3L, 20L));
+        assertEquals(1, loanStateIndex.activeLoans(2L));
+        assertEquals(0, loanStateIndex.activeLoans(3L));
+    }
+
+    /**
+     * Tests that the sixth loan of a member is rejected and that releasing a loan frees a slot.
+     */
+    @Test
+    void tryAdmit_WhenLimitReached_RejectsUntilReleased() {
+        for (long bookId = 100; bookId < 103; bookId++) {
+            assertEquals(LoanStateIndex.Admission.ADMITTED, loanStateIndex.tryAdmit(1L, bookId));
+        }
+
+        assertEquals(LoanStateIndex.Admission.LIMIT_REACHED, loanStateIndex.tryAdmit(1L, 200L));
+        assertFalse(loanStateIndex.isLoaned(200L));
+
+        loanStateIndex.release(1L, 10L);
+        assertEquals(LoanStateIndex.Admission.ADMITTED, loanStateIndex.tryAdmit(1L, 200L));
+    }
+
+    /**
+     * Tests that unknown members and books are rejected before availability and limit,
+     * in the order of the database checks.
+     */
+    @Test
+    void tryAdmit_WhenMemberOrBookUnknown_RejectsNotFound() {
+        assertEquals(LoanStateIndex.Admission.MEMBER_NOT_FOUND, loanStateIndex.tryAdmit(9L, 10L));
+        assertEquals(LoanStateIndex.Admission.BOOK_NOT_FOUND, loanStateIndex.tryAdmit(2L, 99L));
+        assertEquals(0, loanStateIndex.activeLoans(2L));
+        assertFalse(loanStateIndex.isLoaned(99L));
+    }
+
+    /**
+     * Tests that committed creations and deletions of members and books update the index.
+     */
+    @Test
+    void onChanged_AddsCreatedAndRemovesDeleted() {
+        MemberDTO member = new MemberDTO();
+        member.setId(9L);
+        BookDTO book = new BookDTO();
+        book.setId(99L);
+
+        loanStateIndex.onMemberChanged(new MemberChangedEvent(ChangeType.CREATED, member));
+        loanStateIndex.onBookChanged(new BookChangedEvent(ChangeType.CREATED, book, null));
+        assertEquals(LoanStateIndex.Admission.ADMITTED, loanStateIndex.tryAdmit(9L, 99L));
+
+        loanStateIndex.onBookChanged(new BookChangedEvent(ChangeType.DELETED, book, null));
+        assertEquals(LoanStateIndex.Admission.BOOK_NOT_FOUND, loanStateIndex.tryAdmit(9L, 99L));
+        loanStateIndex.onMemberChanged(new MemberChangedEvent(ChangeType.DELETED, member));
+        assertEquals(LoanStateIndex.Admission.MEMBER_NOT_FOUND, loanStateIndex.tryAdmit(9L, 20L));
+    }
+}
@@ -0,0 +1,138 @@
+package com.library.service;
+
+import com.library.dto.LoanDTO;
+import com.library.event.ChangeType;
+import com.library.event.LoanChangedEvent;
+import com.library.event.LoansOverdueEvent;
+import com.library.repository.LoanRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the OverdueLoanDetector class.
+ * Tests overdue detection of loaded and newly lent loans at a fixed point in time.
+ * Uses Mockito for mocking the loan repository, event publisher and metrics.
+ */
+@ExtendWith(MockitoExtension.class)
+class OverdueLoanDetectorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-03-10T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LoanMetrics loanMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Tests that loaded loans due before today are reported in batches and others are kept.
+     */
+    @Test
+    void detect_ReportsLoadedLoansPastDueDate() {
+        // Arrange
+        when(loanRepository.streamActiveOrderByDueDate()).thenReturn(Stream.of(
+                loan(1L, TODAY.minusDays(3)),
+                loan(2L, TODAY.minusDays(1)),
+                loan(3L, TODAY),
+                loan(4L, TODAY.plusDays(4))));
+        OverdueLoanDetector detector = detector(1);
+        detector.afterSingletonsInstantiated();
+
+        // Act
+        int overdue = detector.detect();
+
+        // Assert
+        assertEquals(2, overdue);
+        ArgumentCaptor<LoansOverdueEvent> events = ArgumentCaptor.forClass(LoansOverdueEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        List<Long> ids = events.getAllValues().stream()
+                .flatMap(event -> event.loans().stream())
+                .map(LoanDTO::getId)
+                .sorted()
+                .toList();
+        assertEquals(List.of(1L, 2L), ids);
+        verify(loanMetrics).loansOverdue(2);
+    }
+
+    /**
+     * Tests that new loans are scheduled and returned loans are no longer reported.
+     */
+    @Test
+    void onLoanChanged_SchedulesNewLoansAndCancelsReturnedOnes() {
+        // Arrange
+        when(loanRepository.streamActiveOrderByDueDate()).thenReturn(Stream.empty());
+        OverdueLoanDetector detector = detector(500);
+        detector.afterSingletonsInstantiated();
+
+        LoanDTO returned = loan(5L, TODAY.minusDays(2));
+        detector.onLoanChanged(new LoanChangedEvent(ChangeType.CREATED, loan(6L, TODAY.minusDays(2))));
+        detector.onLoanChanged(new LoanChangedEvent(ChangeType.CREATED, returned));
+        returned.setReturnDate(TODAY);
+        detector.onLoanChanged(new LoanChangedEvent(ChangeType.UPDATED, returned));
+
+        // Act
+        int overdue = detector.detect();
+
+        // Assert
+        assertEquals(1, overdue);
+        ArgumentCaptor<LoansOverdueEvent> event = ArgumentCaptor.forClass(LoansOverdueEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(6L, event.getValue().loans().get(0).getId());
+    }
+
+    /**
+     * Tests that a disabled detector neither loads nor reports loans.
+     */
+    @Test
+    void tick_WhenDisabled_ReportsNothing() {
+        // Arrange
+        OverdueLoanDetector detector = new OverdueLoanDetector(loanRepository, eventPublisher, loanMetrics,
+                transactionManager, false, Duration.ofMinutes(5), 500, CLOCK);
+        detector.afterSingletonsInstantiated();
+        detector.onLoanChanged(new LoanChangedEvent(ChangeType.CREATED, loan(7L, TODAY.minusDays(2))));
+
+        // Act
+        detector.tick();
+
+        // Assert
+        verify(loanRepository, never()).streamActiveOrderByDueDate();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private OverdueLoanDetector detector(int batchSize) {
+        return new OverdueLoanDetector(loanRepository, eventPublisher, loanMetrics,
+                transactionManager, true, Duration.ofMinutes(5), batchSize, CLOCK);
+    }
+
+    private static LoanDTO loan(Long id, LocalDate dueDate) {
+        return new LoanDTO(id, 1L, id * 10, dueDate.minusDays(14), dueDate, null);
+    }
+}
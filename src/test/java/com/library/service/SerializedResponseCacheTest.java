@@ -0,0 +1,111 @@
+package com.library.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.dto.BookDTO;
+import com.library.event.BookChangedEvent;
+import com.library.event.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the SerializedResponseCache class.
+ * Tests reuse of serialized responses per version, invalidation and the size bounds.
+ */
+class SerializedResponseCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    /**
+     * Tests that a response is serialized once per version and served from a direct buffer.
+     */
+    @Test
+    void get_SameVersion_ServesStoredBytes() throws Exception {
+        // Arrange
+        SerializedResponseCache cache = cache(DataSize.ofKilobytes(16), DataSize.ofKilobytes(1));
+        BookDTO book = book(1L, "Cached Book");
+        AtomicInteger serialized = new AtomicInteger();
+        Supplier<BookDTO> value = () -> {
+            serialized.incrementAndGet();
+            return book;
+        };
+
+        // Act
+        ByteBuffer first = cache.get(SerializedResponseCache.BOOKS, 1L, "W/\"0\"", value);
+        ByteBuffer second = cache.get(SerializedResponseCache.BOOKS, 1L, "W/\"0\"", value);
+
+        // Assert
+        assertEquals(1, serialized.get());
+        assertTrue(second.isDirect());
+        assertTrue(second.isReadOnly());
+        assertEquals(objectMapper.writeValueAsString(book), json(first));
+        assertEquals(json(first), json(second));
+    }
+
+    /**
+     * Tests that a new version and a committed change both lead to a new serialization.
+     */
+    @Test
+    void get_NewVersionOrChange_SerializesAgain() {
+        // Arrange
+        SerializedResponseCache cache = cache(DataSize.ofKilobytes(16), DataSize.ofKilobytes(1));
+        BookDTO book = book(1L, "Original Title");
+        cache.get(SerializedResponseCache.BOOKS, 1L, "W/\"0\"", () -> book);
+
+        // Act & Assert
+        BookDTO renamed = book(1L, "New Title");
+        assertTrue(json(cache.get(SerializedResponseCache.BOOKS, 1L, "W/\"1\"", () -> renamed)).contains("New Title"));
+        assertTrue(json(cache.get(SerializedResponseCache.BOOKS, 1L, "W/\"1\"", () -> book)).contains("New Title"));
+
+        cache.onBookChanged(new BookChangedEvent(ChangeType.UPDATED, renamed, "Author"));
+        assertTrue(json(cache.get(SerializedResponseCache.BOOKS, 1L, "W/\"1\"", () -> book)).contains("Original Title"));
+
+        // The regions are independent
+        assertTrue(json(cache.get(SerializedResponseCache.AUTHORS, 1L, "W/\"1\"", () -> renamed)).contains("New Title"));
+    }
+
+    /**
+     * Tests that the cache stays within its size limit and does not store oversized responses.
+     */
+    @Test
+    void get_ManyResponses_StaysWithinMaxSize() {
+        // Arrange
+        SerializedResponseCache cache = cache(DataSize.ofKilobytes(2), DataSize.ofBytes(200));
+
+        // Act
+        for (long id = 1; id <= 100; id++) {
+            BookDTO book = book(id, "Book " + id);
+            cache.get(SerializedResponseCache.BOOKS, id, "W/\"0\"", () -> book);
+        }
+        ByteBuffer oversized = cache.get(SerializedResponseCache.BOOKS, 101L, "W/\"0\"",
+                () -> book(101L, "A".repeat(500)));
+
+        // Assert
+        assertTrue(cache.weightedSize() <= DataSize.ofKilobytes(2).toBytes());
+        assertTrue(cache.weightedSize() > 0);
+        assertFalse(oversized.isDirect());
+    }
+
+    private SerializedResponseCache cache(DataSize maxSize, DataSize maxEntrySize) {
+        return new SerializedResponseCache(objectMapper, new SimpleMeterRegistry(), true, maxSize, maxEntrySize);
+    }
+
+    private static BookDTO book(Long id, String title) {
+        return new BookDTO(id, title, "Fiction", new BigDecimal("12.50"), 7L);
+    }
+
+    private static String json(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.library.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the TimingWheel class.
+ * Tests expiry of timers across ticks, revolutions and cancellations.
+ */
+class TimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    /**
+     * Tests that timers expire once their deadline tick has passed, not earlier.
+     */
+    @Test
+    void advance_ExpiresTimersAtTheirDeadline() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(8, TICK, 0);
+        wheel.schedule(1, 2500, "first");
+        wheel.schedule(2, 4000, "second");
+
+        // Act & Assert
+        assertEquals(List.of(), wheel.advance(2999));
+        assertEquals(List.of("first"), wheel.advance(3000));
+        assertEquals(List.of("second"), wheel.advance(4000));
+        assertEquals(0, wheel.size());
+    }
+
+    /**
+     * Tests that a timer more than one revolution ahead is skipped while its slot comes round earlier.
+     */
+    @Test
+    void advance_KeepsTimersOfLaterRevolutions() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(4, TICK, 0);
+        wheel.schedule(1, 2000, "near");
+        wheel.schedule(2, 6000, "far");
+
+        // Act & Assert
+        assertEquals(List.of("near"), wheel.advance(2000));
+        assertEquals(List.of(), wheel.advance(5999));
+        assertEquals(List.of("far"), wheel.advance(6000));
+    }
+
+    /**
+     * Tests that a pause of several revolutions expires all due timers and keeps the others.
+     */
+    @Test
+    void advance_AfterLongPause_VisitsEverySlot() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(4, TICK, 0);
+        wheel.schedule(1, 1000, "one");
+        wheel.schedule(2, 3000, "three");
+        wheel.schedule(3, 20_000, "twenty");
+
+        // Act
+        List<String> expired = wheel.advance(10_000);
+
+        // Assert
+        assertEquals(2, expired.size());
+        assertTrue(expired.containsAll(List.of("one", "three")));
+        assertEquals(1, wheel.size());
+    }
+
+    /**
+     * Tests that cancelled timers and deadlines in the past are handled.
+     */
+    @Test
+    void scheduleAndCancel_HandlePastDeadlinesAndCancellations() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(8, TICK, 5000);
+        wheel.schedule(1, 1000, "past");
+        wheel.schedule(2, 6000, "cancelled");
+
+        // Act
+        boolean cancelled = wheel.cancel(2);
+
+        // Assert
+        assertTrue(cancelled);
+        assertFalse(wheel.cancel(2));
+        assertEquals(List.of("past"), wheel.advance(5000));
+        assertEquals(List.of(), wheel.advance(7000));
+    }
+
+    /**
+     * Tests that the slot count must be a power of two.
+     */
+    @Test
+    void constructor_WhenSlotCountNotPowerOfTwo_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(10, TICK, 0));
+    }
+}